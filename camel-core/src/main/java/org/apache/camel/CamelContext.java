@@ -51,6 +51,7 @@ import org.apache.camel.spi.DataType;
 import org.apache.camel.spi.Debugger;
 import org.apache.camel.spi.EndpointRegistry;
 import org.apache.camel.spi.EndpointStrategy;
+import org.apache.camel.spi.ExchangeFactory;
 import org.apache.camel.spi.ExecutorServiceManager;
 import org.apache.camel.spi.FactoryFinder;
 import org.apache.camel.spi.FactoryFinderResolver;
@@ -2064,6 +2065,17 @@ public interface CamelContext extends SuspendableService, RuntimeConfiguration {
      */
     void setHeadersMapFactory(HeadersMapFactory factory);
 
+    /**
+     * Gets the {@link ExchangeFactory} used by endpoints to create new exchanges.
+     */
+    ExchangeFactory getExchangeFactory();
+
+    /**
+     * Sets a custom {@link ExchangeFactory} to be used, such as {@link org.apache.camel.impl.PooledExchangeFactory}
+     * to pool and reuse exchanges.
+     */
+    void setExchangeFactory(ExchangeFactory exchangeFactory);
+
     /**
      * Returns an optional {@link HealthCheckRegistry}, by default no registry is
      * present and it must be explicit activated. Components can register/unregister
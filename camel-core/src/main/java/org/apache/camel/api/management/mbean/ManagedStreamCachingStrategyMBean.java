@@ -31,6 +31,9 @@ public interface ManagedStreamCachingStrategyMBean extends ManagedServiceMBean {
     @ManagedAttribute(description = "Chiper used if writing with encryption")
     String getSpoolChiper();
 
+    @ManagedAttribute(description = "Whether spooled files are memory mapped when read")
+    boolean isSpoolMemoryMapped();
+
     @ManagedAttribute(description = "Threshold in bytes when overflow and spooling to disk instead of keeping in memory")
     void setSpoolThreshold(long threshold);
 
@@ -85,6 +88,9 @@ public interface ManagedStreamCachingStrategyMBean extends ManagedServiceMBean {
     @ManagedAttribute(description = "Average number of bytes per cached stream for spooled (not in-memory) stream caches.")
     long getCacheSpoolAverageSize();
 
+    @ManagedAttribute(description = "Total accumulated number of memory mapped regions for spooled StreamCache")
+    long getCacheSpoolMappedRegions();
+
     @ManagedAttribute(description = "Whether utilization statistics is enabled")
     boolean isStatisticsEnabled();
 
@@ -41,6 +41,7 @@ public class FileConsumer extends GenericFileConsumer<File> {
 
     private String endpointPath;
     private Set<String> extendedAttributes;
+    private FileDirectoryIndex index;
 
     public FileConsumer(FileEndpoint endpoint, Processor processor, GenericFileOperations<File> operations, GenericFileProcessStrategy<File> processStrategy) {
         super(endpoint, processor, operations, processStrategy);
@@ -71,7 +72,7 @@ public class FileConsumer extends GenericFileConsumer<File> {
         }
 
         log.trace("Polling directory: {}", directory.getPath());
-        File[] dirFiles = directory.listFiles();
+        File[] dirFiles = index != null ? index.listFiles(directory) : directory.listFiles();
         if (dirFiles == null || dirFiles.length == 0) {
             // no files in this directory to poll
             if (log.isTraceEnabled()) {
@@ -95,6 +96,11 @@ public class FileConsumer extends GenericFileConsumer<File> {
                 return false;
             }
 
+            // skip files which were rejected before and have not been modified since
+            if (index != null && index.isRejected(file)) {
+                continue;
+            }
+
             // trace log as Windows/Unix can have different views what the file is?
             if (log.isTraceEnabled()) {
                 log.trace("Found file: {} [isAbsolute: {}, isDirectory: {}, isFile: {}, isHidden: {}]",
@@ -153,6 +159,8 @@ public class FileConsumer extends GenericFileConsumer<File> {
                     }
 
                     fileList.add(gf);
+                } else if (index != null && isRejectedCacheable(gf)) {
+                    index.rejected(file);
                 }
 
             }
@@ -161,6 +169,16 @@ public class FileConsumer extends GenericFileConsumer<File> {
         return true;
     }
 
+    /**
+     * Whether the rejected file can be remembered by the incremental scan, so its not evaluated again until its modified.
+     * <p/>
+     * Files which are in progress must be evaluated again, and so must files when using done files, as the
+     * done file may be written later.
+     */
+    private boolean isRejectedCacheable(GenericFile<File> file) {
+        return getEndpoint().getDoneFileName() == null && !getEndpoint().getInProgressRepository().contains(file.getAbsoluteFilePath());
+    }
+
     @Override
     protected boolean isMatched(GenericFile<File> file, String doneFileName, List<File> files) {
         String onlyName = FileUtil.stripPath(doneFileName);
@@ -253,6 +271,23 @@ public class FileConsumer extends GenericFileConsumer<File> {
         }
     }
 
+    @Override
+    protected void doStart() throws Exception {
+        if (getEndpoint().isIncrementalScan()) {
+            index = new FileDirectoryIndex(getEndpoint().getIncrementalScanFullRescanInterval());
+        }
+        super.doStart();
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        super.doStop();
+        if (index != null) {
+            index.close();
+            index = null;
+        }
+    }
+
     @Override
     public FileEndpoint getEndpoint() {
         return (FileEndpoint) super.getEndpoint();
@@ -0,0 +1,207 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.file;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import org.apache.camel.util.IOHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An in-memory index of the directories polled by the {@link FileConsumer} when using incremental scanning.
+ * <p/>
+ * The index is kept up to date from {@link WatchService} events so a poll does not have to list the directory
+ * from the file system, and files which were rejected by the consumer are remembered so they are not evaluated
+ * again until they are modified. As a safety net each directory is fully rescanned at the given interval, and also
+ * when the watch service reports an overflow.
+ * <p/>
+ * This class is not thread safe, as its only accessed by the consumer during polling.
+ */
+class FileDirectoryIndex implements Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FileDirectoryIndex.class);
+    private static final File[] EMPTY = new File[0];
+
+    private final Map<String, Entry> directories = new HashMap<>();
+    private final Map<WatchKey, Entry> keys = new HashMap<>();
+    private final long fullRescanInterval;
+    private WatchService watcher;
+
+    FileDirectoryIndex(long fullRescanInterval) {
+        this.fullRescanInterval = fullRescanInterval;
+    }
+
+    /**
+     * Lists the files in the given directory, using the index if the directory has been listed before.
+     *
+     * @param directory the directory
+     * @return the files in the directory, or <tt>null</tt> if the directory could not be listed
+     */
+    File[] listFiles(File directory) {
+        drainEvents();
+
+        String path = directory.getPath();
+        Entry entry = directories.get(path);
+        if (entry == null) {
+            entry = new Entry(directory);
+            register(entry);
+            directories.put(path, entry);
+            entry.rescan = true;
+        } else if (entry.key == null || (fullRescanInterval > 0 && System.currentTimeMillis() - entry.lastFullScan >= fullRescanInterval)) {
+            entry.rescan = true;
+        }
+
+        if (entry.rescan && !fullScan(entry)) {
+            remove(entry);
+            return null;
+        }
+
+        return entry.files.isEmpty() ? EMPTY : entry.files.values().toArray(EMPTY);
+    }
+
+    /**
+     * Whether the file was previously rejected by the consumer and has not been modified since.
+     */
+    boolean isRejected(File file) {
+        Entry entry = directories.get(file.getParent());
+        return entry != null && entry.rejected.contains(file.getName());
+    }
+
+    /**
+     * Remembers the file was rejected by the consumer, so its not evaluated again until its modified.
+     */
+    void rejected(File file) {
+        Entry entry = directories.get(file.getParent());
+        if (entry != null) {
+            entry.rejected.add(file.getName());
+        }
+    }
+
+    @Override
+    public void close() {
+        directories.clear();
+        keys.clear();
+        if (watcher != null) {
+            IOHelper.close(watcher);
+            watcher = null;
+        }
+    }
+
+    private void register(Entry entry) {
+        try {
+            Path path = entry.directory.toPath();
+            if (watcher == null) {
+                watcher = path.getFileSystem().newWatchService();
+            }
+            entry.key = path.register(watcher, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY);
+            keys.put(entry.key, entry);
+        } catch (IOException | UnsupportedOperationException e) {
+            // then we fallback to list the directory on every poll
+            LOG.debug("Cannot watch directory: {} due {}. The directory will be fully scanned on every poll.", entry.directory, e.getMessage());
+        }
+    }
+
+    private boolean fullScan(Entry entry) {
+        String[] names = entry.directory.list();
+        if (names == null) {
+            return false;
+        }
+
+        LOG.trace("Full scan of directory: {} found {} files", entry.directory, names.length);
+        entry.files.clear();
+        entry.rejected.clear();
+        for (String name : names) {
+            entry.files.put(name, new File(entry.directory, name));
+        }
+        entry.lastFullScan = System.currentTimeMillis();
+        entry.rescan = false;
+        return true;
+    }
+
+    private void remove(Entry entry) {
+        directories.remove(entry.directory.getPath());
+        if (entry.key != null) {
+            keys.remove(entry.key);
+            entry.key.cancel();
+        }
+    }
+
+    private void drainEvents() {
+        if (watcher == null) {
+            return;
+        }
+
+        WatchKey key;
+        while ((key = watcher.poll()) != null) {
+            Entry entry = keys.get(key);
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (entry == null) {
+                    continue;
+                }
+                if (event.kind() == OVERFLOW) {
+                    entry.rescan = true;
+                    continue;
+                }
+
+                String name = event.context().toString();
+                if (event.kind() == ENTRY_DELETE) {
+                    entry.files.remove(name);
+                } else {
+                    // created or modified so the file must be evaluated again
+                    entry.files.put(name, new File(entry.directory, name));
+                }
+                entry.rejected.remove(name);
+            }
+
+            if (!key.reset() && entry != null) {
+                // the directory is no longer accessible
+                LOG.trace("Directory: {} is no longer watched", entry.directory);
+                remove(entry);
+            }
+        }
+    }
+
+    private static final class Entry {
+        private final File directory;
+        private final Map<String, File> files = new LinkedHashMap<>();
+        private final Set<String> rejected = new HashSet<>();
+        private WatchKey key;
+        private long lastFullScan;
+        private boolean rescan;
+
+        private Entry(File directory) {
+            this.directory = directory;
+        }
+    }
+}
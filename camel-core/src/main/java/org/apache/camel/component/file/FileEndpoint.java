@@ -61,6 +61,10 @@ public class FileEndpoint extends GenericFileEndpoint<File> {
     private boolean probeContentType;
     @UriParam(label = "consumer,advanced")
     private String extendedAttributes;
+    @UriParam(label = "consumer,advanced")
+    private boolean incrementalScan;
+    @UriParam(label = "consumer,advanced", defaultValue = "60000")
+    private long incrementalScanFullRescanInterval = 60000;
     @UriParam(label = "producer,advanced")
     private String chmod;
     @UriParam(label = "producer,advanced")
@@ -276,6 +280,33 @@ public class FileEndpoint extends GenericFileEndpoint<File> {
         this.extendedAttributes = extendedAttributes;
     }
 
+    public boolean isIncrementalScan() {
+        return incrementalScan;
+    }
+
+    /**
+     * Whether to use incremental scanning of the directories. The consumer keeps an in-memory index of the files
+     * which is updated using the JDK {@link java.nio.file.WatchService}, so each poll does not have to list the directory
+     * and only new or modified files are evaluated. Files which were rejected, for example by filters or by the idempotent
+     * repository, are not evaluated again until they are modified or the directory is fully rescanned.
+     * This can be beneficial for directories which holds a very large number of files.
+     */
+    public void setIncrementalScan(boolean incrementalScan) {
+        this.incrementalScan = incrementalScan;
+    }
+
+    public long getIncrementalScanFullRescanInterval() {
+        return incrementalScanFullRescanInterval;
+    }
+
+    /**
+     * When using incremental scanning, the interval in millis for fully rescanning the directories, as a safety net
+     * in case file system events were missed. Use zero or a negative value to only rescan when the watch service overflows.
+     */
+    public void setIncrementalScanFullRescanInterval(long incrementalScanFullRescanInterval) {
+        this.incrementalScanFullRescanInterval = incrementalScanFullRescanInterval;
+    }
+
     /**
      * Chmod value must be between 000 and 777; If there is a leading digit like in 0755 we will ignore it.
      */
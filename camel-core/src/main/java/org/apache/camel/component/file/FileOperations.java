@@ -17,16 +17,17 @@
 package org.apache.camel.component.file;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.Writer;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.channels.SeekableByteChannel;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
-import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
 import java.nio.file.attribute.PosixFilePermission;
 import java.nio.file.attribute.PosixFilePermissions;
@@ -247,7 +248,7 @@ public class FileOperations implements GenericFileOperations<File> {
         }
 
         // we can write the file by 3 different techniques
-        // 1. write file to file
+        // 1. write file to file (zero copy using file channels)
         // 2. rename a file from a local work path
         // 3. write stream to file
         try {
@@ -276,8 +277,10 @@ public class FileOperations implements GenericFileOperations<File> {
                 // so try to see if we can optimize by renaming the local work path file instead of doing
                 // a full file to file copy, as the local work copy is to be deleted afterwards anyway
                 // local work path
+                // (but not when appending as renaming would replace the existing file)
                 File local = exchange.getIn().getHeader(Exchange.FILE_LOCAL_WORK_PATH, File.class);
-                if (local != null && local.exists()) {
+                boolean append = endpoint.getFileExist() == GenericFileExist.Append;
+                if (local != null && local.exists() && !append) {
                     boolean renamed = writeFileByLocalWorkPath(local, file);
                     if (renamed) {
                         // try to keep last modified timestamp if configured to do so
@@ -430,12 +433,26 @@ public class FileOperations implements GenericFileOperations<File> {
     }
 
     private void writeFileByFile(File source, File target) throws IOException {
-        Files.copy(source.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        if (target.exists() && Files.isSameFile(source.toPath(), target.toPath())) {
+            LOG.trace("Source and target is the same file: {}, nothing to write", target);
+            return;
+        }
+        try (FileChannel in = FileChannel.open(source.toPath(), StandardOpenOption.READ);
+             FileChannel out = prepareOutputFileChannel(target)) {
+            LOG.debug("Using FileChannel to transfer file: {} to file: {}", source, target);
+            transferFileChannel(in, out);
+        }
     }
 
     private void writeFileByStream(InputStream in, File target) throws IOException {
-        try (SeekableByteChannel out = prepareOutputFileChannel(target)) {
-            
+        try (FileChannel out = prepareOutputFileChannel(target)) {
+            if (in instanceof FileInputStream) {
+                // the stream is from a file so we can transfer using file channels
+                LOG.debug("Using FileChannel from FileInputStream to transfer file: {}", target);
+                transferFileChannel(((FileInputStream) in).getChannel(), out);
+                return;
+            }
+
             LOG.debug("Using InputStream to write file: {}", target);
             int size = endpoint.getBufferSize();
             byte[] buffer = new byte[size];
@@ -483,15 +500,34 @@ public class FileOperations implements GenericFileOperations<File> {
         }
     }
 
+    /**
+     * Transfers the remaining content from the input channel to the output channel.
+     * <p/>
+     * The content is transferred by the file system, without copying into the JVM (zero copy),
+     * when supported by the operating system (such as <tt>sendfile</tt> on Linux).
+     */
+    private static void transferFileChannel(FileChannel in, FileChannel out) throws IOException {
+        long position = in.position();
+        long size = in.size();
+        while (position < size) {
+            long transferred = in.transferTo(position, size - position, out);
+            if (transferred <= 0) {
+                // the file has been truncated while transferring
+                break;
+            }
+            position += transferred;
+        }
+    }
+
     /**
      * Creates and prepares the output file channel. Will position itself in correct position if the file is writable
      * eg. it should append or override any existing content.
      */
-    private SeekableByteChannel prepareOutputFileChannel(File target) throws IOException {
+    private FileChannel prepareOutputFileChannel(File target) throws IOException {
         if (endpoint.getFileExist() == GenericFileExist.Append) {
-            SeekableByteChannel out = Files.newByteChannel(target.toPath(), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            FileChannel out = FileChannel.open(target.toPath(), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
             return out.position(out.size());
         }
-        return Files.newByteChannel(target.toPath(), StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.CREATE);
+        return FileChannel.open(target.toPath(), StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.CREATE);
     }
 }
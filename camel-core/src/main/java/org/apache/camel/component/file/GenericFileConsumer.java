@@ -19,9 +19,15 @@ package org.apache.camel.component.file;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Deque;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
 
 import org.apache.camel.CamelContextAware;
@@ -56,6 +62,10 @@ public abstract class GenericFileConsumer<T> extends ScheduledBatchPollingConsum
     protected volatile boolean prepareOnStartup;
     private final Pattern includePattern;
     private final Pattern excludePattern;
+    private ExecutorService parallelExecutorService;
+    private final Deque<ParallelTask> parallelPending = new LinkedList<>();
+    private final BlockingQueue<ParallelTask> parallelCompleted = new LinkedBlockingQueue<>();
+    private int parallelInflight;
 
     public GenericFileConsumer(GenericFileEndpoint<T> endpoint, Processor processor, GenericFileOperations<T> operations, GenericFileProcessStrategy<T> processStrategy) {
         super(endpoint, processor);
@@ -229,6 +239,11 @@ public abstract class GenericFileConsumer<T> extends ScheduledBatchPollingConsum
             }
         }
 
+        if (parallelExecutorService != null) {
+            // wait for the files being processed in parallel so they are committed before the next poll
+            awaitParallelTasks();
+        }
+
         // drain any in progress files as we are done with this batch
         removeExcessiveInProgressFiles(CastUtils.cast((Deque<?>) exchanges, Exchange.class), 0);
 
@@ -438,9 +453,20 @@ public abstract class GenericFileConsumer<T> extends ScheduledBatchPollingConsum
                 exchange.getIn().setBody(null);
             }
 
-            // register on completion callback that does the completion strategies
+            // the on completion callback that does the completion strategies
             // (for instance to move the file after we have processed it)
-            exchange.addOnCompletion(new GenericFileOnCompletion<>(endpoint, operations, processStrategy, target, absoluteFileName));
+            GenericFileOnCompletion<T> onCompletion = new GenericFileOnCompletion<>(endpoint, operations, processStrategy, target, absoluteFileName);
+
+            if (parallelExecutorService != null) {
+                // process using the thread pool, and let this consumer thread do the completion
+                // as the operations may not be thread safe (such as a ftp connection)
+                log.debug("About to process file: {} using exchange: {} in parallel", target, exchange);
+                processParallel(exchange, onCompletion);
+                return true;
+            }
+
+            // register the on completion callback on the exchange
+            exchange.addOnCompletion(onCompletion);
 
             log.debug("About to process file: {} using exchange: {}", target, exchange);
 
@@ -468,6 +494,123 @@ public abstract class GenericFileConsumer<T> extends ScheduledBatchPollingConsum
         return true;
     }
 
+    /**
+     * Submits the exchange to be processed by the thread pool, waiting if all the threads are busy.
+     */
+    private void processParallel(Exchange exchange, GenericFileOnCompletion<T> onCompletion) {
+        while (parallelInflight >= endpoint.getPoolSize()) {
+            if (!awaitParallelTask()) {
+                // we are stopping so do not process the file, but roll it back so its no longer in progress
+                exchange.setException(new RejectedExecutionException("Consumer is stopping so the file is not processed"));
+                onCompletion.onFailure(exchange);
+                return;
+            }
+            commitParallelTasks();
+        }
+
+        ParallelTask task = new ParallelTask(exchange, onCompletion);
+        parallelExecutorService.execute(task);
+        parallelInflight++;
+        parallelPending.add(task);
+
+        commitParallelTasks();
+    }
+
+    /**
+     * Waits for all the exchanges being processed in parallel to complete, and commits their files.
+     * <p/>
+     * If the consumer is stopping or the thread is interrupted then we stop waiting, and the files
+     * which are still being processed are left in progress, and rolled back when the consumer is stopped.
+     */
+    private void awaitParallelTasks() {
+        commitParallelTasks();
+        while (!parallelPending.isEmpty()) {
+            if (!awaitParallelTask()) {
+                log.debug("Stopped waiting for {} files being processed in parallel", parallelPending.size());
+                return;
+            }
+            commitParallelTasks();
+        }
+    }
+
+    /**
+     * Waits for the next exchange being processed in parallel to complete.
+     *
+     * @return <tt>true</tt> if an exchange completed, or <tt>false</tt> if the consumer is stopping
+     *          or the thread was interrupted while waiting
+     */
+    private boolean awaitParallelTask() {
+        while (isRunAllowed()) {
+            ParallelTask task;
+            try {
+                task = parallelCompleted.poll(1000, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+            if (task != null) {
+                task.done = true;
+                parallelInflight--;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Commits (or rollback) the files of the exchanges which has been processed in parallel.
+     * When using ordered commit, then the files are committed in the same order as they were polled.
+     */
+    private void commitParallelTasks() {
+        ParallelTask completed;
+        while ((completed = parallelCompleted.poll()) != null) {
+            completed.done = true;
+            parallelInflight--;
+        }
+
+        Iterator<ParallelTask> it = parallelPending.iterator();
+        while (it.hasNext()) {
+            ParallelTask task = it.next();
+            if (!task.done) {
+                if (endpoint.isOrderedCommit()) {
+                    break;
+                }
+                continue;
+            }
+            it.remove();
+            if (task.exchange.isFailed()) {
+                task.onCompletion.onFailure(task.exchange);
+            } else {
+                task.onCompletion.onComplete(task.exchange);
+            }
+        }
+    }
+
+    /**
+     * Rollback the files of the exchanges which were still being processed in parallel when we stopped
+     * waiting for them, so the files are no longer in progress and can be picked up again.
+     * The files of the exchanges which did complete meanwhile are committed (or rolled back) as usual.
+     */
+    private void rollbackParallelTasks() {
+        ParallelTask completed;
+        while ((completed = parallelCompleted.poll()) != null) {
+            completed.done = true;
+        }
+
+        ParallelTask task;
+        while ((task = parallelPending.poll()) != null) {
+            if (!task.done) {
+                task.exchange.setException(new RejectedExecutionException("Consumer stopped before the file was processed"));
+            }
+            if (task.exchange.isFailed()) {
+                task.onCompletion.onFailure(task.exchange);
+            } else {
+                task.onCompletion.onComplete(task.exchange);
+            }
+        }
+        parallelInflight = 0;
+    }
+
     /**
      * Updates the information on {@link Message} after we have acquired read-lock and
      * can begin process the file.
@@ -719,6 +862,12 @@ public abstract class GenericFileConsumer<T> extends ScheduledBatchPollingConsum
             ((CamelContextAware) processStrategy).setCamelContext(getEndpoint().getCamelContext());
         }
         ServiceHelper.startService(processStrategy);
+        if (endpoint.isParallelProcessing() && parallelExecutorService == null) {
+            if (endpoint.getPoolSize() <= 0) {
+                throw new IllegalArgumentException("PoolSize must be a positive number when using parallelProcessing, was: " + endpoint.getPoolSize());
+            }
+            parallelExecutorService = endpoint.getCamelContext().getExecutorServiceManager().newFixedThreadPool(this, "GenericFileConsumer", endpoint.getPoolSize());
+        }
         super.doStart();
     }
 
@@ -726,6 +875,11 @@ public abstract class GenericFileConsumer<T> extends ScheduledBatchPollingConsum
     protected void doStop() throws Exception {
         prepareOnStartup = false;
         super.doStop();
+        if (parallelExecutorService != null) {
+            endpoint.getCamelContext().getExecutorServiceManager().shutdownGraceful(parallelExecutorService);
+            parallelExecutorService = null;
+            rollbackParallelTasks();
+        }
         ServiceHelper.stopService(processStrategy);
     }
 
@@ -745,4 +899,29 @@ public abstract class GenericFileConsumer<T> extends ScheduledBatchPollingConsum
         // noop as we do a manual on-demand poll with GenericFilePolllingConsumer
     }
 
+    /**
+     * Processes an exchange using the thread pool, and signals the consumer thread when done.
+     */
+    private final class ParallelTask implements Runnable {
+        private final Exchange exchange;
+        private final GenericFileOnCompletion<T> onCompletion;
+        // only accessed by the consumer thread
+        private boolean done;
+
+        private ParallelTask(Exchange exchange, GenericFileOnCompletion<T> onCompletion) {
+            this.exchange = exchange;
+            this.onCompletion = onCompletion;
+        }
+
+        @Override
+        public void run() {
+            try {
+                getProcessor().process(exchange);
+            } catch (Throwable e) {
+                exchange.setException(e);
+            } finally {
+                parallelCompleted.add(this);
+            }
+        }
+    }
 }
@@ -107,6 +107,12 @@ public abstract class GenericFileEndpoint<T> extends ScheduledPollEndpoint imple
     protected boolean startingDirectoryMustExist;
     @UriParam(label = "consumer,advanced")
     protected boolean directoryMustExist;
+    @UriParam(label = "consumer,advanced")
+    protected boolean parallelProcessing;
+    @UriParam(label = "consumer,advanced", defaultValue = "10")
+    protected int poolSize = 10;
+    @UriParam(label = "consumer,advanced")
+    protected boolean orderedCommit;
     @UriParam(label = "consumer")
     protected boolean noop;
     @UriParam(label = "consumer")
@@ -1116,6 +1122,45 @@ public abstract class GenericFileEndpoint<T> extends ScheduledPollEndpoint imple
         this.directoryMustExist = directoryMustExist;
     }
 
+    public boolean isParallelProcessing() {
+        return parallelProcessing;
+    }
+
+    /**
+     * Whether the files from each poll should be processed concurrently using a thread pool (see the poolSize option).
+     * The files are still retrieved by the consumer thread, and the commit or rollback of the files (such as moving or
+     * deleting the files) is also done by the consumer thread, which makes this usable with ftp and sftp as well.
+     * <p/>
+     * Notice the commit or rollback is done after the exchange has been processed by the route, and will not be handed over
+     * to other exchanges, such as when using the aggregator.
+     */
+    public void setParallelProcessing(boolean parallelProcessing) {
+        this.parallelProcessing = parallelProcessing;
+    }
+
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    /**
+     * The number of threads used to process the files concurrently when parallelProcessing is enabled.
+     */
+    public void setPoolSize(int poolSize) {
+        this.poolSize = poolSize;
+    }
+
+    public boolean isOrderedCommit() {
+        return orderedCommit;
+    }
+
+    /**
+     * When parallelProcessing is enabled, whether the files should be committed (or rolled back) in the same order
+     * they were polled, regardless of the order in which the files completed processing.
+     */
+    public void setOrderedCommit(boolean orderedCommit) {
+        this.orderedCommit = orderedCommit;
+    }
+
     public GenericFileProcessStrategy<T> getProcessStrategy() {
         return processStrategy;
     }
@@ -16,6 +16,7 @@
  */
 package org.apache.camel.component.seda;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CountDownLatch;
@@ -65,11 +66,13 @@ public class SedaConsumer extends ServiceSupport implements Consumer, Runnable,
     private ExecutorService executor;
     private ExceptionHandler exceptionHandler;
     private final int pollTimeout;
+    private final int batchSize;
 
     public SedaConsumer(SedaEndpoint endpoint, Processor processor) {
         this.endpoint = endpoint;
         this.processor = AsyncProcessorConverterHelper.convert(processor);
         this.pollTimeout = endpoint.getPollTimeout();
+        this.batchSize = endpoint.getBatchSize();
         this.exceptionHandler = new LoggingExceptionHandler(endpoint.getCamelContext(), getClass());
     }
 
@@ -162,6 +165,8 @@ public class SedaConsumer extends ServiceSupport implements Consumer, Runnable,
 
     protected void doRun() {
         BlockingQueue<Exchange> queue = endpoint.getQueue();
+        // only drain the queue in batches if enabled
+        List<Exchange> batch = batchSize > 1 ? new ArrayList<Exchange>(batchSize - 1) : null;
         // loop while we are allowed, or if we are stopping loop until the queue is empty
         while (queue != null && isRunAllowed()) {
 
@@ -203,24 +208,26 @@ public class SedaConsumer extends ServiceSupport implements Consumer, Runnable,
                     LOG.trace("Polled queue {} with timeout {} ms. -> {}", new Object[]{ObjectHelper.getIdentityHashCode(queue), pollTimeout, exchange});
                 }
                 if (exchange != null) {
-                    try {
-                        // send a new copied exchange with new camel context
-                        Exchange newExchange = prepareExchange(exchange);
-                        // process the exchange
-                        sendToConsumers(newExchange);
-                        // copy the message back
-                        if (newExchange.hasOut()) {
-                            exchange.setOut(newExchange.getOut().copy());
-                        } else {
-                            exchange.setIn(newExchange.getIn());
+                    processPolledExchange(exchange);
+                    if (batch != null) {
+                        // drain the exchanges which are already waiting on the queue and process them
+                        // back to back, so the consumer thread is not parked again between each exchange
+                        exchange = null;
+                        queue.drainTo(batch, batchSize - 1);
+                        if (LOG.isTraceEnabled() && !batch.isEmpty()) {
+                            LOG.trace("Drained {} exchanges from queue {}", batch.size(), ObjectHelper.getIdentityHashCode(queue));
                         }
-                        // log exception if an exception occurred and was not handled
-                        if (newExchange.getException() != null) {
-                            exchange.setException(newExchange.getException());
-                            getExceptionHandler().handleException("Error processing exchange", exchange, exchange.getException());
+                        try {
+                            for (Exchange drained : batch) {
+                                try {
+                                    processPolledExchange(drained);
+                                } catch (Throwable e) {
+                                    getExceptionHandler().handleException("Error processing exchange", drained, e);
+                                }
+                            }
+                        } finally {
+                            batch.clear();
                         }
-                    } catch (Exception e) {
-                        getExceptionHandler().handleException("Error processing exchange", exchange, e);
                     }
                 } else if (shutdownPending && queue.isEmpty()) {
                     LOG.trace("Shutdown is pending, so this consumer thread is breaking out because the task queue is empty.");
@@ -240,6 +247,33 @@ public class SedaConsumer extends ServiceSupport implements Consumer, Runnable,
         }
     }
 
+    /**
+     * Processes the exchange which was taken from the queue, and copies the result back to the original exchange.
+     *
+     * @param exchange the exchange taken from the queue
+     */
+    protected void processPolledExchange(Exchange exchange) {
+        try {
+            // send a new copied exchange with new camel context
+            Exchange newExchange = prepareExchange(exchange);
+            // process the exchange
+            sendToConsumers(newExchange);
+            // copy the message back
+            if (newExchange.hasOut()) {
+                exchange.setOut(newExchange.getOut().copy());
+            } else {
+                exchange.setIn(newExchange.getIn());
+            }
+            // log exception if an exception occurred and was not handled
+            if (newExchange.getException() != null) {
+                exchange.setException(newExchange.getException());
+                getExceptionHandler().handleException("Error processing exchange", exchange, exchange.getException());
+            }
+        } catch (Exception e) {
+            getExceptionHandler().handleException("Error processing exchange", exchange, e);
+        }
+    }
+
     /**
      * Strategy to prepare exchange for being processed by this consumer
      *
@@ -354,7 +388,7 @@ public class SedaConsumer extends ServiceSupport implements Consumer, Runnable,
 
         // submit needed number of tasks
         int tasks = poolSize - taskCount.get();
-        LOG.debug("Creating {} consumer tasks with poll timeout {} ms.", tasks, pollTimeout);
+        LOG.debug("Creating {} consumer tasks with poll timeout {} ms and batch size {}.", new Object[]{tasks, pollTimeout, batchSize});
         for (int i = 0; i < tasks; i++) {
             executor.execute(this);
         }
@@ -201,6 +201,8 @@ public class TimerConsumer extends DefaultConsumer implements StartupListener, S
                     if (exchange.getException() != null) {
                         getExceptionHandler().handleException("Error processing exchange", exchange, exchange.getException());
                     }
+                    // we are done with the exchange so release it (if pooled)
+                    releaseExchange(exchange);
                 }
             });
         } else {
@@ -214,6 +216,8 @@ public class TimerConsumer extends DefaultConsumer implements StartupListener, S
             if (exchange.getException() != null) {
                 getExceptionHandler().handleException("Error processing exchange", exchange, exchange.getException());
             }
+            // we are done with the exchange so release it (if pooled)
+            releaseExchange(exchange);
         }
     }
 }
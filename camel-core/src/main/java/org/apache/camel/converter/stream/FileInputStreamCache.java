@@ -23,10 +23,18 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.StandardOpenOption;
 import java.security.GeneralSecurityException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -48,13 +56,22 @@ import org.slf4j.LoggerFactory;
 
 /**
  * A {@link StreamCache} for {@link File}s
+ * <p/>
+ * If the spooled file is memory mapped (see {@link StreamCachingStrategy#isSpoolMemoryMapped()}) then
+ * the cache is read directly from the memory mapped regions of the file, which are shared by all the
+ * copies of the cache. The regions are unmapped when the temporary file is deleted, after which the cache
+ * can no longer be read.
  */
 public final class FileInputStreamCache extends InputStream implements StreamCache {
+    // the maximum size of a memory mapped region
+    private static final long MAX_REGION_SIZE = Integer.MAX_VALUE;
+
     private InputStream stream;
     private final long length;
     private final FileInputStreamCache.TempFileManager tempFileManager;
     private final File file;
     private final CipherPair ciphers;
+    private final ByteBuffer[] regions;
 
     /** Only for testing purposes.*/
     public FileInputStreamCache(File file) throws FileNotFoundException {
@@ -62,10 +79,15 @@ public final class FileInputStreamCache extends InputStream implements StreamCac
     }
     
     FileInputStreamCache(TempFileManager closer) throws FileNotFoundException {
+        this(closer, null);
+    }
+
+    FileInputStreamCache(TempFileManager closer, ByteBuffer[] regions) throws FileNotFoundException {
         this.file = closer.getTempFile();
         this.stream = null;
         this.ciphers = closer.getCiphers();
-        this.length = file.length();
+        this.regions = regions;
+        this.length = regions != null ? regionsLength(regions) : file.length();
         this.tempFileManager = closer;
         this.tempFileManager.add(this);
     }
@@ -99,7 +121,7 @@ public final class FileInputStreamCache extends InputStream implements StreamCac
 
     public StreamCache copy(Exchange exchange) throws IOException {
         tempFileManager.addExchange(exchange);
-        FileInputStreamCache copy = new FileInputStreamCache(tempFileManager);
+        FileInputStreamCache copy = tempFileManager.newStreamCache();
         return copy;
     }
 
@@ -111,6 +133,13 @@ public final class FileInputStreamCache extends InputStream implements StreamCac
         return length;
     }
 
+    /**
+     * Gets the number of memory mapped regions this cache is reading from, or <tt>0</tt> if not memory mapped.
+     */
+    public int getMappedRegions() {
+        return regions != null ? regions.length : 0;
+    }
+
     @Override
     public int available() throws IOException {
         return getInputStream().available();
@@ -129,6 +158,10 @@ public final class FileInputStreamCache extends InputStream implements StreamCac
     }
 
     private InputStream createInputStream(File file) throws IOException {
+        if (regions != null) {
+            // read from the memory mapped regions, which is zero copy
+            return createMappedInputStream();
+        }
         InputStream in = new BufferedInputStream(Files.newInputStream(file.toPath(), StandardOpenOption.READ));
         if (ciphers != null) {
             in = new CipherInputStream(in, ciphers.getDecryptor()) {
@@ -144,6 +177,99 @@ public final class FileInputStreamCache extends InputStream implements StreamCac
         return in;
     }
 
+    private InputStream createMappedInputStream() throws IOException {
+        if (tempFileManager.isUnmapped()) {
+            // the regions are unmapped so they must not be read anymore
+            throw new FileNotFoundException("Cached file " + file + " not found");
+        }
+        return new MappedInputStream(regions);
+    }
+
+    private static long regionsLength(ByteBuffer[] regions) {
+        long answer = 0;
+        for (ByteBuffer region : regions) {
+            answer += region.limit();
+        }
+        return answer;
+    }
+
+    /**
+     * Input stream which reads from memory mapped regions of the spooled file.
+     */
+    private static final class MappedInputStream extends InputStream {
+        private ByteBuffer[] buffers;
+        private int index;
+
+        MappedInputStream(ByteBuffer[] regions) {
+            // use duplicates so each stream has its own position, but shares the mapped memory
+            this.buffers = new ByteBuffer[regions.length];
+            for (int i = 0; i < regions.length; i++) {
+                buffers[i] = regions[i].duplicate();
+            }
+        }
+
+        private ByteBuffer current() throws IOException {
+            if (buffers == null) {
+                throw new IOException("Stream closed");
+            }
+            while (index < buffers.length && !buffers[index].hasRemaining()) {
+                index++;
+            }
+            return index < buffers.length ? buffers[index] : null;
+        }
+
+        @Override
+        public int read() throws IOException {
+            ByteBuffer buffer = current();
+            return buffer != null ? buffer.get() & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            ByteBuffer buffer = current();
+            if (buffer == null) {
+                return -1;
+            }
+            int n = Math.min(len, buffer.remaining());
+            buffer.get(b, off, n);
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = 0;
+            ByteBuffer buffer = current();
+            while (buffer != null && skipped < n) {
+                int step = (int) Math.min(n - skipped, buffer.remaining());
+                buffer.position(buffer.position() + step);
+                skipped += step;
+                buffer = current();
+            }
+            return skipped;
+        }
+
+        @Override
+        public int available() throws IOException {
+            if (buffers == null) {
+                throw new IOException("Stream closed");
+            }
+            long answer = 0;
+            for (int i = index; i < buffers.length; i++) {
+                answer += buffers[i].remaining();
+            }
+            return (int) Math.min(answer, Integer.MAX_VALUE);
+        }
+
+        @Override
+        public void close() {
+            // do not access the mapped memory anymore, as it is unmapped when the temporary file is deleted
+            buffers = null;
+        }
+    }
+
     /** 
      * Manages the temporary file for the file input stream caches.
      * 
@@ -156,12 +282,20 @@ public final class FileInputStreamCache extends InputStream implements StreamCac
     static class TempFileManager {
         
         private static final Logger LOG = LoggerFactory.getLogger(TempFileManager.class);
+        // used to unmap the memory mapped regions explicitly, or null if not possible on this JVM
+        private static final MethodHandle UNMAPPER = createUnmapper();
         /** Indicator whether the file input stream caches are closed on completion of the exchanges. */
         private final boolean closedOnCompletion;
         private AtomicInteger exchangeCounter = new AtomicInteger();
         private File tempFile;
         private OutputStream outputStream; // file output stream
         private CipherPair ciphers;
+        private boolean memoryMapped;
+        // the memory mapped regions of the temporary file (if memory mapped)
+        private ByteBuffer[] regions;
+        // all the regions which has been mapped, as the file may be mapped again if it has grown
+        private List<ByteBuffer> mappedRegions;
+        private volatile boolean unmapped;
         
         // there can be several input streams, for example in the multi-cast, or wiretap parallel processing
         private List<FileInputStreamCache> fileInputStreamCaches;
@@ -259,17 +393,106 @@ public final class FileInputStreamCache extends InputStream implements StreamCac
                     }
                 };
             }
+            // encrypted files must be read through the chiper, so they cannot be memory mapped
+            memoryMapped = strategy.isSpoolMemoryMapped() && ciphers == null;
             outputStream = out;
             return out;
         }
         
         FileInputStreamCache newStreamCache() throws IOException {
             try {
+                if (memoryMapped) {
+                    return new FileInputStreamCache(this, getOrMapRegions());
+                }
                 return new FileInputStreamCache(this);
             } catch (FileNotFoundException e) {
                 throw new IOException("Cached file " + tempFile + " not found", e);
             }
         }
+
+        /**
+         * Maps the temporary file into memory, in regions of at most 2gb. The regions are shared by all the stream caches,
+         * and only mapped again if the file has grown since it was mapped.
+         */
+        synchronized ByteBuffer[] getOrMapRegions() throws IOException {
+            if (tempFile == null || !tempFile.exists()) {
+                throw new FileNotFoundException("Cached file " + tempFile + " not found");
+            }
+            long length = tempFile.length();
+            if (regions != null && regionsLength(regions) == length) {
+                return regions;
+            }
+
+            int count = (int) ((length + MAX_REGION_SIZE - 1) / MAX_REGION_SIZE);
+            ByteBuffer[] answer = new ByteBuffer[count];
+            LOG.trace("Memory mapping temporary stream cache file: {} with {} regions", tempFile, count);
+            try (FileChannel channel = FileChannel.open(tempFile.toPath(), StandardOpenOption.READ)) {
+                for (int i = 0; i < count; i++) {
+                    long position = i * MAX_REGION_SIZE;
+                    long size = Math.min(MAX_REGION_SIZE, length - position);
+                    answer[i] = channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+                }
+            }
+            if (mappedRegions == null) {
+                mappedRegions = new ArrayList<>(count);
+            }
+            Collections.addAll(mappedRegions, answer);
+            regions = answer;
+            return answer;
+        }
+
+        boolean isUnmapped() {
+            return unmapped;
+        }
+
+        /**
+         * Unmaps the memory mapped regions, which must only be done when the stream caches have been closed,
+         * as reading from an unmapped region can crash the JVM. If the regions cannot be unmapped explicitly
+         * on this JVM then they are unmapped when garbage collected.
+         */
+        synchronized void unmapRegions() {
+            regions = null;
+            if (mappedRegions == null) {
+                return;
+            }
+            unmapped = true;
+            if (UNMAPPER != null) {
+                LOG.trace("Unmapping {} memory mapped regions of temporary stream cache file: {}", mappedRegions.size(), tempFile);
+                for (ByteBuffer region : mappedRegions) {
+                    try {
+                        UNMAPPER.invokeExact(region);
+                    } catch (Throwable e) {
+                        LOG.debug("Error unmapping memory mapped region of temporary cache file: " + tempFile + ". This exception will be ignored.", e);
+                    }
+                }
+            }
+            mappedRegions = null;
+        }
+
+        private static MethodHandle createUnmapper() {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            try {
+                // java 9 onwards
+                Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+                Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+                Field field = unsafeClass.getDeclaredField("theUnsafe");
+                field.setAccessible(true);
+                return lookup.unreflect(invokeCleaner).bindTo(field.get(null));
+            } catch (Exception e) {
+                // not java 9 onwards
+            }
+            try {
+                // java 8
+                Class<?> directBufferClass = Class.forName("sun.nio.ch.DirectBuffer");
+                Method cleaner = directBufferClass.getMethod("cleaner");
+                Method clean = cleaner.getReturnType().getMethod("clean");
+                return MethodHandles.filterReturnValue(lookup.unreflect(cleaner), lookup.unreflect(clean))
+                        .asType(MethodType.methodType(void.class, ByteBuffer.class));
+            } catch (Exception e) {
+                LOG.debug("Cannot unmap memory mapped regions explicitly on this JVM, they are unmapped when garbage collected.", e);
+                return null;
+            }
+        }
         
         void closeFileInputStreams() {
             if (fileInputStreamCaches != null) {
@@ -283,6 +506,8 @@ public final class FileInputStreamCache extends InputStream implements StreamCac
         void cleanUpTempFile() {
             // cleanup temporary file
             try {
+                // the regions must be unmapped before the file can be deleted on some platforms
+                unmapRegions();
                 if (tempFile != null) {
                     FileUtil.deleteFile(tempFile);
                     tempFile = null;
@@ -0,0 +1,399 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.spi.ExchangeHolderCodec;
+import org.apache.camel.util.CamelObjectInputStream;
+
+/**
+ * A compact binary {@link ExchangeHolderCodec} which encodes the common value types (strings, numbers, booleans,
+ * dates, byte arrays) used in message bodies, headers and exchange properties with type tags, instead of using
+ * Java serialization for the entire {@link DefaultExchangeHolder}.
+ * <p/>
+ * Any other value is written using Java serialization, so the codec supports the same values as
+ * {@link DefaultExchangeHolder} itself. The encoded data starts with a magic header which allows to tell it apart
+ * from data written using Java serialization, see {@link #canDecode(byte[])}.
+ */
+public class BinaryExchangeHolderCodec implements ExchangeHolderCodec {
+
+    private static final byte MAGIC1 = (byte) 0xCA;
+    private static final byte MAGIC2 = (byte) 0x3E;
+    private static final byte VERSION = 1;
+
+    private static final int FLAG_IN_FAULT = 1;
+    private static final int FLAG_OUT_FAULT = 2;
+
+    private static final byte TYPE_NULL = 0;
+    private static final byte TYPE_STRING = 1;
+    private static final byte TYPE_BYTES = 2;
+    private static final byte TYPE_INTEGER = 3;
+    private static final byte TYPE_LONG = 4;
+    private static final byte TYPE_TRUE = 5;
+    private static final byte TYPE_FALSE = 6;
+    private static final byte TYPE_DOUBLE = 7;
+    private static final byte TYPE_FLOAT = 8;
+    private static final byte TYPE_SHORT = 9;
+    private static final byte TYPE_BYTE = 10;
+    private static final byte TYPE_CHARACTER = 11;
+    private static final byte TYPE_DATE = 12;
+    private static final byte TYPE_BIG_DECIMAL = 13;
+    private static final byte TYPE_BIG_INTEGER = 14;
+    private static final byte TYPE_SERIALIZED = 15;
+
+    @Override
+    public byte[] encode(DefaultExchangeHolder holder) throws IOException {
+        Output out = new Output();
+        out.write(MAGIC1);
+        out.write(MAGIC2);
+        out.write(VERSION);
+
+        int flags = 0;
+        if (Boolean.TRUE.equals(holder.getInFaultFlag())) {
+            flags |= FLAG_IN_FAULT;
+        }
+        if (Boolean.TRUE.equals(holder.getOutFaultFlag())) {
+            flags |= FLAG_OUT_FAULT;
+        }
+        out.write(flags);
+
+        out.writeString(holder.getExchangeId());
+        writeValue(out, holder.getInBody());
+        writeValue(out, holder.getOutBody());
+        writeMap(out, holder.getInHeaders());
+        writeMap(out, holder.getOutHeaders());
+        writeMap(out, holder.getProperties());
+        writeValue(out, holder.getException());
+        return out.toByteArray();
+    }
+
+    @Override
+    public boolean canDecode(byte[] data) {
+        return data != null && data.length > 3 && data[0] == MAGIC1 && data[1] == MAGIC2 && data[2] == VERSION;
+    }
+
+    @Override
+    public DefaultExchangeHolder decode(CamelContext camelContext, byte[] data) throws IOException, ClassNotFoundException {
+        if (!canDecode(data)) {
+            throw new IOException("Data is not encoded using " + getClass().getSimpleName());
+        }
+
+        Input in = new Input(data, 3);
+        DefaultExchangeHolder holder = new DefaultExchangeHolder();
+        int flags = in.read();
+        holder.setInFaultFlag((flags & FLAG_IN_FAULT) != 0);
+        holder.setOutFaultFlag((flags & FLAG_OUT_FAULT) != 0);
+
+        holder.setExchangeId(in.readString());
+        holder.setInBody(readValue(camelContext, in));
+        holder.setOutBody(readValue(camelContext, in));
+        holder.setInHeaders(readMap(camelContext, in));
+        holder.setOutHeaders(readMap(camelContext, in));
+        holder.setProperties(readMap(camelContext, in));
+        holder.setException((Exception) readValue(camelContext, in));
+        return holder;
+    }
+
+    private void writeMap(Output out, Map<String, Object> map) throws IOException {
+        if (map == null) {
+            out.writeVarInt(0);
+            return;
+        }
+        out.writeVarInt(map.size() + 1);
+        for (Map.Entry<String, Object> entry : map.entrySet()) {
+            out.writeString(entry.getKey());
+            writeValue(out, entry.getValue());
+        }
+    }
+
+    private Map<String, Object> readMap(CamelContext camelContext, Input in) throws IOException, ClassNotFoundException {
+        int size = in.readVarInt() - 1;
+        if (size < 0) {
+            return null;
+        }
+        Map<String, Object> map = new LinkedHashMap<>(Math.max(16, size * 4 / 3 + 1));
+        for (int i = 0; i < size; i++) {
+            String key = in.readString();
+            map.put(key, readValue(camelContext, in));
+        }
+        return map;
+    }
+
+    private void writeValue(Output out, Object value) throws IOException {
+        // only use the compact encoding for the exact types, as subclasses may carry additional state
+        Class<?> type = value != null ? value.getClass() : null;
+        if (value == null) {
+            out.write(TYPE_NULL);
+        } else if (type == String.class) {
+            out.write(TYPE_STRING);
+            out.writeString((String) value);
+        } else if (type == byte[].class) {
+            byte[] bytes = (byte[]) value;
+            out.write(TYPE_BYTES);
+            out.writeVarInt(bytes.length);
+            out.write(bytes, 0, bytes.length);
+        } else if (type == Integer.class) {
+            out.write(TYPE_INTEGER);
+            out.writeVarLong(zigZag((Integer) value));
+        } else if (type == Long.class) {
+            out.write(TYPE_LONG);
+            out.writeVarLong(zigZag((Long) value));
+        } else if (type == Boolean.class) {
+            out.write((Boolean) value ? TYPE_TRUE : TYPE_FALSE);
+        } else if (type == Double.class) {
+            out.write(TYPE_DOUBLE);
+            out.writeLong(Double.doubleToLongBits((Double) value));
+        } else if (type == Float.class) {
+            out.write(TYPE_FLOAT);
+            out.writeInt(Float.floatToIntBits((Float) value));
+        } else if (type == Short.class) {
+            out.write(TYPE_SHORT);
+            out.writeVarLong(zigZag((Short) value));
+        } else if (type == Byte.class) {
+            out.write(TYPE_BYTE);
+            out.write((Byte) value);
+        } else if (type == Character.class) {
+            out.write(TYPE_CHARACTER);
+            out.writeVarInt((Character) value);
+        } else if (type == Date.class) {
+            out.write(TYPE_DATE);
+            out.writeVarLong(zigZag(((Date) value).getTime()));
+        } else if (type == BigDecimal.class) {
+            out.write(TYPE_BIG_DECIMAL);
+            out.writeString(value.toString());
+        } else if (type == BigInteger.class) {
+            byte[] bytes = ((BigInteger) value).toByteArray();
+            out.write(TYPE_BIG_INTEGER);
+            out.writeVarInt(bytes.length);
+            out.write(bytes, 0, bytes.length);
+        } else {
+            ByteArrayOutputStream bos = new ByteArrayOutputStream();
+            try (ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+                oos.writeObject(value);
+            }
+            byte[] bytes = bos.toByteArray();
+            out.write(TYPE_SERIALIZED);
+            out.writeVarInt(bytes.length);
+            out.write(bytes, 0, bytes.length);
+        }
+    }
+
+    private Object readValue(CamelContext camelContext, Input in) throws IOException, ClassNotFoundException {
+        int type = in.read();
+        switch (type) {
+        case TYPE_NULL:
+            return null;
+        case TYPE_STRING:
+            return in.readString();
+        case TYPE_BYTES:
+            return in.readBytes(in.readVarInt());
+        case TYPE_INTEGER:
+            return (int) unZigZag(in.readVarLong());
+        case TYPE_LONG:
+            return unZigZag(in.readVarLong());
+        case TYPE_TRUE:
+            return Boolean.TRUE;
+        case TYPE_FALSE:
+            return Boolean.FALSE;
+        case TYPE_DOUBLE:
+            return Double.longBitsToDouble(in.readLong());
+        case TYPE_FLOAT:
+            return Float.intBitsToFloat(in.readInt());
+        case TYPE_SHORT:
+            return (short) unZigZag(in.readVarLong());
+        case TYPE_BYTE:
+            return (byte) in.read();
+        case TYPE_CHARACTER:
+            return (char) in.readVarInt();
+        case TYPE_DATE:
+            return new Date(unZigZag(in.readVarLong()));
+        case TYPE_BIG_DECIMAL:
+            return new BigDecimal(in.readString());
+        case TYPE_BIG_INTEGER:
+            return new BigInteger(in.readBytes(in.readVarInt()));
+        case TYPE_SERIALIZED:
+            byte[] bytes = in.readBytes(in.readVarInt());
+            try (ObjectInputStream ois = new CamelObjectInputStream(new ByteArrayInputStream(bytes), camelContext)) {
+                return ois.readObject();
+            }
+        default:
+            throw new IOException("Unknown value type: " + type);
+        }
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Output which grows a byte array, without the synchronization of {@link ByteArrayOutputStream}.
+     */
+    private static final class Output {
+        private byte[] buf = new byte[256];
+        private int count;
+
+        void write(int b) {
+            ensureCapacity(1);
+            buf[count++] = (byte) b;
+        }
+
+        void write(byte[] bytes, int offset, int length) {
+            ensureCapacity(length);
+            System.arraycopy(bytes, offset, buf, count, length);
+            count += length;
+        }
+
+        void writeVarInt(int value) {
+            writeVarLong(value & 0xFFFFFFFFL);
+        }
+
+        void writeVarLong(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                buf[count++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buf[count++] = (byte) value;
+        }
+
+        void writeInt(int value) {
+            ensureCapacity(4);
+            for (int shift = 24; shift >= 0; shift -= 8) {
+                buf[count++] = (byte) (value >>> shift);
+            }
+        }
+
+        void writeLong(long value) {
+            ensureCapacity(8);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                buf[count++] = (byte) (value >>> shift);
+            }
+        }
+
+        void writeString(String value) {
+            if (value == null) {
+                writeVarInt(0);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(bytes.length + 1);
+            write(bytes, 0, bytes.length);
+        }
+
+        byte[] toByteArray() {
+            byte[] answer = new byte[count];
+            System.arraycopy(buf, 0, answer, 0, count);
+            return answer;
+        }
+
+        private void ensureCapacity(int length) {
+            if (count + length > buf.length) {
+                byte[] newBuf = new byte[Math.max(buf.length << 1, count + length)];
+                System.arraycopy(buf, 0, newBuf, 0, count);
+                buf = newBuf;
+            }
+        }
+    }
+
+    private static final class Input {
+        private final byte[] buf;
+        private int pos;
+
+        Input(byte[] buf, int pos) {
+            this.buf = buf;
+            this.pos = pos;
+        }
+
+        int read() throws IOException {
+            if (pos >= buf.length) {
+                throw new IOException("Unexpected end of data at position " + pos);
+            }
+            return buf[pos++] & 0xFF;
+        }
+
+        int readVarInt() throws IOException {
+            return (int) readVarLong();
+        }
+
+        long readVarLong() throws IOException {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = read();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IOException("Malformed variable length number at position " + pos);
+        }
+
+        int readInt() throws IOException {
+            int value = 0;
+            for (int i = 0; i < 4; i++) {
+                value = (value << 8) | read();
+            }
+            return value;
+        }
+
+        long readLong() throws IOException {
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = (value << 8) | read();
+            }
+            return value;
+        }
+
+        byte[] readBytes(int length) throws IOException {
+            if (length < 0 || pos + length > buf.length) {
+                throw new IOException("Unexpected end of data at position " + pos);
+            }
+            byte[] answer = new byte[length];
+            System.arraycopy(buf, pos, answer, 0, length);
+            pos += length;
+            return answer;
+        }
+
+        String readString() throws IOException {
+            int length = readVarInt() - 1;
+            if (length < 0) {
+                return null;
+            }
+            if (pos + length > buf.length) {
+                throw new IOException("Unexpected end of data at position " + pos);
+            }
+            String answer = new String(buf, pos, length, StandardCharsets.UTF_8);
+            pos += length;
+            return answer;
+        }
+    }
+}
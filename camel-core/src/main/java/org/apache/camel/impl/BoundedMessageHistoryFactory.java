@@ -0,0 +1,64 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl;
+
+import java.util.List;
+
+import org.apache.camel.MessageHistory;
+
+/**
+ * A {@link org.apache.camel.spi.MessageHistoryFactory} which keeps the message history of each exchange
+ * in a fixed capacity {@link BoundedMessageHistoryList}, so only the latest entries are kept.
+ * <p/>
+ * This keeps the overhead of message history low, which allows to have message history enabled in production
+ * for diagnostics, also for exchanges that are routed through long routes or loops.
+ */
+public class BoundedMessageHistoryFactory extends DefaultMessageHistoryFactory {
+
+    private int maximumSize = 100;
+
+    public BoundedMessageHistoryFactory() {
+    }
+
+    public BoundedMessageHistoryFactory(int maximumSize) {
+        setMaximumSize(maximumSize);
+    }
+
+    @Override
+    public List<MessageHistory> newMessageHistoryList() {
+        return new BoundedMessageHistoryList(maximumSize);
+    }
+
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * Sets the maximum number of message history entries to keep per exchange. The default is 100.
+     */
+    public void setMaximumSize(int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("MaximumSize must be a positive number, was: " + maximumSize);
+        }
+        this.maximumSize = maximumSize;
+    }
+
+    @Override
+    public String toString() {
+        return "BoundedMessageHistoryFactory[maximumSize=" + maximumSize + "]";
+    }
+}
@@ -0,0 +1,227 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Date;
+
+import org.apache.camel.MessageHistory;
+import org.apache.camel.NamedNode;
+
+/**
+ * A fixed capacity ring buffer of {@link MessageHistory} entries.
+ * <p/>
+ * The route id, node, timestamp and elapsed time of each entry are stored in arrays, so recording
+ * the history of a node does not create any objects. When the buffer is full the oldest entries
+ * are overwritten, which keeps the memory used per exchange bounded for long routes and loops.
+ * The {@link MessageHistory} instances returned by {@link #get(int)} are lightweight views
+ * created on demand.
+ * <p/>
+ * This list is not thread-safe, as it is only used by the exchange it is stored on.
+ *
+ * @see BoundedMessageHistoryFactory
+ */
+public class BoundedMessageHistoryList extends AbstractList<MessageHistory> {
+
+    private static final long IN_PROGRESS = -1;
+
+    private final String[] routeIds;
+    private final NamedNode[] nodes;
+    private final long[] times;
+    private final long[] elapsed;
+    // total number of entries added, including the ones which has been overwritten
+    private long count;
+
+    public BoundedMessageHistoryList(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be a positive number, was: " + capacity);
+        }
+        this.routeIds = new String[capacity];
+        this.nodes = new NamedNode[capacity];
+        this.times = new long[capacity];
+        this.elapsed = new long[capacity];
+    }
+
+    /**
+     * Creates a copy of the given list.
+     */
+    public BoundedMessageHistoryList(BoundedMessageHistoryList source) {
+        this.routeIds = source.routeIds.clone();
+        this.nodes = source.nodes.clone();
+        this.times = source.times.clone();
+        this.elapsed = source.elapsed.clone();
+        this.count = source.count;
+    }
+
+    /**
+     * Records that the node is being processed.
+     *
+     * @param routeId   the route id
+     * @param node      the node in the route
+     * @param timestamp the time the message processed at this node.
+     */
+    public void addNode(String routeId, NamedNode node, long timestamp) {
+        add(routeId, node, timestamp, IN_PROGRESS);
+    }
+
+    /**
+     * Records that processing of the node is done, by calculating the elapsed time of the latest
+     * entry of the node which is still in progress.
+     *
+     * @param node the node in the route
+     */
+    public void nodeProcessingDone(NamedNode node) {
+        int size = size();
+        for (int i = 1; i <= size; i++) {
+            int index = index(count - i);
+            if (nodes[index] == node && elapsed[index] == IN_PROGRESS) {
+                elapsed[index] = calculateElapsed(times[index]);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Gets the maximum number of entries kept.
+     */
+    public int getCapacity() {
+        return nodes.length;
+    }
+
+    /**
+     * Gets the number of entries which has been overwritten as the capacity was exceeded.
+     */
+    public long getDroppedCount() {
+        return count - size();
+    }
+
+    @Override
+    public boolean add(MessageHistory history) {
+        add(history.getRouteId(), history.getNode(), history.getTime(), history.getElapsed());
+        return true;
+    }
+
+    @Override
+    public MessageHistory get(int index) {
+        int size = size();
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return new Entry(count - size + index);
+    }
+
+    @Override
+    public int size() {
+        return (int) Math.min(count, nodes.length);
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(routeIds, null);
+        Arrays.fill(nodes, null);
+        count = 0;
+        modCount++;
+    }
+
+    private void add(String routeId, NamedNode node, long timestamp, long elapsedTime) {
+        int index = index(count);
+        routeIds[index] = routeId;
+        nodes[index] = node;
+        times[index] = timestamp;
+        elapsed[index] = elapsedTime;
+        count++;
+        modCount++;
+    }
+
+    private int index(long sequence) {
+        return (int) (sequence % nodes.length);
+    }
+
+    private boolean isAvailable(long sequence) {
+        return sequence < count && count - sequence <= nodes.length;
+    }
+
+    private static long calculateElapsed(long timestamp) {
+        return timestamp > 0 ? System.currentTimeMillis() - timestamp : 0;
+    }
+
+    /**
+     * A view of an entry in the ring buffer, which keeps a copy of the entry in case it is overwritten.
+     */
+    private final class Entry implements MessageHistory {
+
+        private final long sequence;
+        private final String routeId;
+        private final NamedNode node;
+        private final long timestamp;
+        private final long elapsedTime;
+
+        private Entry(long sequence) {
+            int index = index(sequence);
+            this.sequence = sequence;
+            this.routeId = routeIds[index];
+            this.node = nodes[index];
+            this.timestamp = times[index];
+            this.elapsedTime = elapsed[index];
+        }
+
+        @Override
+        public String getRouteId() {
+            return routeId;
+        }
+
+        @Override
+        public NamedNode getNode() {
+            return node;
+        }
+
+        @Override
+        public Date getTimestamp() {
+            return new Date(timestamp);
+        }
+
+        @Override
+        public long getTime() {
+            return timestamp;
+        }
+
+        @Override
+        public long getElapsed() {
+            long answer = isAvailable(sequence) ? elapsed[index(sequence)] : elapsedTime;
+            return answer == IN_PROGRESS ? 0 : answer;
+        }
+
+        @Override
+        public void nodeProcessingDone() {
+            if (isAvailable(sequence)) {
+                int index = index(sequence);
+                if (elapsed[index] == IN_PROGRESS) {
+                    elapsed[index] = calculateElapsed(timestamp);
+                }
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "BoundedMessageHistory["
+                    + "routeId=" + routeId
+                    + ", node=" + (node != null ? node.getId() : null)
+                    + ']';
+        }
+    }
+}
@@ -136,6 +136,7 @@ import org.apache.camel.spi.Debugger;
 import org.apache.camel.spi.EndpointRegistry;
 import org.apache.camel.spi.EndpointStrategy;
 import org.apache.camel.spi.EventNotifier;
+import org.apache.camel.spi.ExchangeFactory;
 import org.apache.camel.spi.ExecutorServiceManager;
 import org.apache.camel.spi.FactoryFinder;
 import org.apache.camel.spi.FactoryFinderResolver;
@@ -243,6 +244,7 @@ public class DefaultCamelContext extends ServiceSupport implements ModelCamelCon
     private List<RoutePolicyFactory> routePolicyFactories = new ArrayList<>();
     private Set<LogListener> logListeners = new LinkedHashSet<>();
     private HeadersMapFactory headersMapFactory = new DefaultHeadersMapFactory();
+    private ExchangeFactory exchangeFactory = new DefaultExchangeFactory();
 
     // special flags to control the first startup which can are special
     private volatile boolean firstStartDone;
@@ -3485,6 +3487,12 @@ public class DefaultCamelContext extends ServiceSupport implements ModelCamelCon
             log.info("HeadersMapFactory: {} is case-sensitive which can cause problems for protocols such as HTTP based, which rely on case-insensitive headers.", getHeadersMapFactory());
         }
 
+        if (exchangeFactory.isPooled()) {
+            log.info("Using pooled ExchangeFactory: {}", exchangeFactory);
+        }
+        // start the exchange factory if its a service (eg pooled)
+        addService(exchangeFactory, true, true);
+
         // start routes
         if (doNotStartRoutesOnFirstStart) {
             log.debug("Skip starting routes as CamelContext has been configured with autoStartup=false");
@@ -4704,6 +4712,16 @@ public class DefaultCamelContext extends ServiceSupport implements ModelCamelCon
         this.headersMapFactory = headersMapFactory;
     }
 
+    @Override
+    public ExchangeFactory getExchangeFactory() {
+        return exchangeFactory;
+    }
+
+    @Override
+    public void setExchangeFactory(ExchangeFactory exchangeFactory) {
+        this.exchangeFactory = exchangeFactory;
+    }
+
     protected Map<String, RouteService> getRouteServices() {
         return routeServices;
     }
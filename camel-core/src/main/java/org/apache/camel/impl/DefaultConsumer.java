@@ -107,6 +107,18 @@ public class DefaultConsumer extends ServiceSupport implements Consumer, RouteAw
         UnitOfWorkHelper.doneUow(exchange.getUnitOfWork(), exchange);
     }
 
+    /**
+     * Releases the {@link Exchange} back to the {@link org.apache.camel.spi.ExchangeFactory} when the consumer
+     * is completely done with the exchange, allowing the exchange to be reused when pooling is in use.
+     * <p/>
+     * <b>Important:</b> The exchange must not be accessed after it has been released.
+     *
+     * @param exchange the exchange
+     */
+    public void releaseExchange(Exchange exchange) {
+        endpoint.getCamelContext().getExchangeFactory().release(exchange);
+    }
+
     public Endpoint getEndpoint() {
         return endpoint;
     }
@@ -21,7 +21,6 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.EventObject;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CopyOnWriteArrayList;
@@ -317,9 +316,9 @@ public class DefaultDebugger implements Debugger, CamelContextAware {
         ProcessorDefinition<?> definition = null;
 
         // try to get the last known definition
-        LinkedList<MessageHistory> list = exchange.getProperty(Exchange.MESSAGE_HISTORY, LinkedList.class);
+        List<MessageHistory> list = exchange.getProperty(Exchange.MESSAGE_HISTORY, List.class);
         if (list != null && !list.isEmpty())  {
-            NamedNode node = list.getLast().getNode();
+            NamedNode node = list.get(list.size() - 1).getNode();
             if (node instanceof ProcessorDefinition) {
                 definition = (ProcessorDefinition<?>) node;
             }
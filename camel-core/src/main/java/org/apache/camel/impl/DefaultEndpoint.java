@@ -30,6 +30,7 @@ import org.apache.camel.ExchangePattern;
 import org.apache.camel.PollingConsumer;
 import org.apache.camel.ResolveEndpointFailedException;
 import org.apache.camel.spi.ExceptionHandler;
+import org.apache.camel.spi.ExchangeFactory;
 import org.apache.camel.spi.HasId;
 import org.apache.camel.spi.UriParam;
 import org.apache.camel.support.ServiceSupport;
@@ -266,6 +267,11 @@ public abstract class DefaultEndpoint extends ServiceSupport implements Endpoint
     }
 
     public Exchange createExchange(ExchangePattern pattern) {
+        CamelContext context = getCamelContext();
+        ExchangeFactory factory = context != null ? context.getExchangeFactory() : null;
+        if (factory != null) {
+            return factory.create(this, pattern);
+        }
         return new DefaultExchange(this, pattern);
     }
 
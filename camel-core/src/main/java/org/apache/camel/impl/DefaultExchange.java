@@ -158,7 +158,11 @@ public final class DefaultExchange implements Exchange {
         // safe copy message history using a defensive copy
         List<MessageHistory> history = (List<MessageHistory>) answer.remove(Exchange.MESSAGE_HISTORY);
         if (history != null) {
-            answer.put(Exchange.MESSAGE_HISTORY, new LinkedList<>(history));
+            if (history instanceof BoundedMessageHistoryList) {
+                answer.put(Exchange.MESSAGE_HISTORY, new BoundedMessageHistoryList((BoundedMessageHistoryList) history));
+            } else {
+                answer.put(Exchange.MESSAGE_HISTORY, new LinkedList<>(history));
+            }
         }
 
         return answer;
@@ -536,6 +540,23 @@ public final class DefaultExchange implements Exchange {
         return answer;
     }
 
+    /**
+     * Resets this exchange so it can be reused by the {@link PooledExchangeFactory}.
+     * <p/>
+     * The properties map and the messages are not cleared but dropped, as they may be shared with other exchanges
+     * (such as via {@link #setIn(Message)}), and are created again when needed.
+     */
+    void reset() {
+        properties = null;
+        in = null;
+        out = null;
+        exception = null;
+        exchangeId = null;
+        unitOfWork = null;
+        fromRouteId = null;
+        onCompletions = null;
+    }
+
     /**
      * Configures the message after it has been set on the exchange
      */
@@ -0,0 +1,44 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl;
+
+import org.apache.camel.Endpoint;
+import org.apache.camel.Exchange;
+import org.apache.camel.ExchangePattern;
+import org.apache.camel.spi.ExchangeFactory;
+
+/**
+ * Default {@link ExchangeFactory} which creates a new {@link DefaultExchange} every time, and does not pool.
+ */
+public class DefaultExchangeFactory implements ExchangeFactory {
+
+    @Override
+    public Exchange create(Endpoint fromEndpoint, ExchangePattern pattern) {
+        return new DefaultExchange(fromEndpoint, pattern);
+    }
+
+    @Override
+    public boolean release(Exchange exchange) {
+        // not pooled
+        return false;
+    }
+
+    @Override
+    public boolean isPooled() {
+        return false;
+    }
+}
@@ -20,11 +20,10 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Date;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -38,6 +37,11 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Default {@link org.apache.camel.spi.InflightRepository}.
+ * <p/>
+ * The number of inflight exchanges, in total and per route, is always tracked using striped counters.
+ * The inflight exchanges are only tracked individually if inflight browsing is enabled (default),
+ * which is needed by the browse and oldest operations. Browsing can be disabled to reduce
+ * the overhead of routing exchanges, and be enabled again on demand such as via JMX.
  *
  * @version 
  */
@@ -45,32 +49,41 @@ public class DefaultInflightRepository extends ServiceSupport implements Infligh
 
     private static final Logger LOG = LoggerFactory.getLogger(DefaultInflightRepository.class);
     private final ConcurrentMap<String, Exchange> inflight = new ConcurrentHashMap<>();
-    private final ConcurrentMap<String, AtomicInteger> routeCount = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, LongAdder> routeCount = new ConcurrentHashMap<>();
+    private final LongAdder size = new LongAdder();
+    private volatile boolean inflightBrowseEnabled = true;
 
     public void add(Exchange exchange) {
-        inflight.put(exchange.getExchangeId(), exchange);
+        size.increment();
+        if (inflightBrowseEnabled) {
+            inflight.put(exchange.getExchangeId(), exchange);
+        }
     }
 
     public void remove(Exchange exchange) {
-        inflight.remove(exchange.getExchangeId());
+        size.decrement();
+        // always remove as browsing may have been disabled while the exchange was inflight
+        if (!inflight.isEmpty()) {
+            inflight.remove(exchange.getExchangeId());
+        }
     }
 
     public void add(Exchange exchange, String routeId) {
-        AtomicInteger existing = routeCount.get(routeId);
+        LongAdder existing = routeCount.get(routeId);
         if (existing != null) {
-            existing.incrementAndGet();
+            existing.increment();
         }
     }
 
     public void remove(Exchange exchange, String routeId) {
-        AtomicInteger existing = routeCount.get(routeId);
+        LongAdder existing = routeCount.get(routeId);
         if (existing != null) {
-            existing.decrementAndGet();
+            existing.decrement();
         }
     }
 
     public int size() {
-        return inflight.size();
+        return (int) size.sum();
     }
 
     @Deprecated
@@ -80,7 +93,7 @@ public class DefaultInflightRepository extends ServiceSupport implements Infligh
 
     @Override
     public void addRoute(String routeId) {
-        routeCount.putIfAbsent(routeId, new AtomicInteger(0));
+        routeCount.putIfAbsent(routeId, new LongAdder());
     }
 
     @Override
@@ -90,8 +103,21 @@ public class DefaultInflightRepository extends ServiceSupport implements Infligh
 
     @Override
     public int size(String routeId) {
-        AtomicInteger existing = routeCount.get(routeId);
-        return existing != null ? existing.get() : 0;
+        LongAdder existing = routeCount.get(routeId);
+        return existing != null ? (int) existing.sum() : 0;
+    }
+
+    @Override
+    public boolean isInflightBrowseEnabled() {
+        return inflightBrowseEnabled;
+    }
+
+    @Override
+    public void setInflightBrowseEnabled(boolean inflightBrowseEnabled) {
+        this.inflightBrowseEnabled = inflightBrowseEnabled;
+        if (!inflightBrowseEnabled) {
+            inflight.clear();
+        }
     }
 
     @Override
@@ -215,13 +241,13 @@ public class DefaultInflightRepository extends ServiceSupport implements Infligh
         @Override
         @SuppressWarnings("unchecked")
         public long getElapsed() {
-            LinkedList<MessageHistory> list = exchange.getProperty(Exchange.MESSAGE_HISTORY, LinkedList.class);
+            List<MessageHistory> list = exchange.getProperty(Exchange.MESSAGE_HISTORY, List.class);
             if (list == null || list.isEmpty()) {
                 return 0;
             }
 
             // get latest entry
-            MessageHistory history = list.getLast();
+            MessageHistory history = list.get(list.size() - 1);
             if (history != null) {
                 return history.getElapsed();
             } else {
@@ -232,13 +258,13 @@ public class DefaultInflightRepository extends ServiceSupport implements Infligh
         @Override
         @SuppressWarnings("unchecked")
         public String getNodeId() {
-            LinkedList<MessageHistory> list = exchange.getProperty(Exchange.MESSAGE_HISTORY, LinkedList.class);
+            List<MessageHistory> list = exchange.getProperty(Exchange.MESSAGE_HISTORY, List.class);
             if (list == null || list.isEmpty()) {
                 return null;
             }
 
             // get latest entry
-            MessageHistory history = list.getLast();
+            MessageHistory history = list.get(list.size() - 1);
             if (history != null) {
                 return history.getNode().getId();
             } else {
@@ -259,13 +285,13 @@ public class DefaultInflightRepository extends ServiceSupport implements Infligh
         @Override
         @SuppressWarnings("unchecked")
         public String getAtRouteId() {
-            LinkedList<MessageHistory> list = exchange.getProperty(Exchange.MESSAGE_HISTORY, LinkedList.class);
+            List<MessageHistory> list = exchange.getProperty(Exchange.MESSAGE_HISTORY, List.class);
             if (list == null || list.isEmpty()) {
                 return null;
             }
 
             // get latest entry
-            MessageHistory history = list.getLast();
+            MessageHistory history = list.get(list.size() - 1);
             if (history != null) {
                 return history.getRouteId();
             } else {
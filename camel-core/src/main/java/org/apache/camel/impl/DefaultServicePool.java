@@ -18,10 +18,10 @@ package org.apache.camel.impl;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.LinkedBlockingQueue;
 
 import org.apache.camel.spi.ServicePool;
 import org.apache.camel.support.ServiceSupport;
@@ -55,7 +55,7 @@ public abstract class DefaultServicePool<Key, Service> extends ServiceSupport im
         this.capacity = capacity;
     }
 
-    public synchronized int size() {
+    public int size() {
         int size = 0;
         for (BlockingQueue<Service> entry : pool.values()) {
             size += entry.size();
@@ -63,12 +63,10 @@ public abstract class DefaultServicePool<Key, Service> extends ServiceSupport im
         return size;
     }
 
-    public synchronized Service addAndAcquire(Key key, Service service) {
-        BlockingQueue<Service> entry = pool.get(key);
-        if (entry == null) {
-            entry = new ArrayBlockingQueue<>(capacity);
-            pool.put(key, entry);
-        }
+    public Service addAndAcquire(Key key, Service service) {
+        // use a linked queue which does not allocate the full capacity up front,
+        // as there can be many keys when using dynamic endpoints
+        BlockingQueue<Service> entry = pool.computeIfAbsent(key, k -> new LinkedBlockingQueue<>(capacity));
         log.trace("AddAndAcquire key: {} service: {}", key, service);
 
         // test if queue will be full
@@ -78,19 +76,19 @@ public abstract class DefaultServicePool<Key, Service> extends ServiceSupport im
         return service;
     }
 
-    public synchronized Service acquire(Key key) {
+    public Service acquire(Key key) {
         BlockingQueue<Service> services = pool.get(key);
-        if (services == null || services.isEmpty()) {
+        Service answer = services != null ? services.poll() : null;
+        if (answer == null) {
             log.trace("No free services in pool to acquire for key: {}", key);
             return null;
         }
 
-        Service answer = services.poll();
         log.trace("Acquire: {} service: {}", key, answer);
         return answer;
     }
 
-    public synchronized void release(Key key, Service service) {
+    public void release(Key key, Service service) {
         log.trace("Release: {} service: {}", key, service);
         BlockingQueue<Service> services = pool.get(key);
         if (services != null) {
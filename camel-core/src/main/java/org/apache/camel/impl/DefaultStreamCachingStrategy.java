@@ -28,6 +28,7 @@ import org.apache.camel.CamelContextAware;
 import org.apache.camel.Exchange;
 import org.apache.camel.Message;
 import org.apache.camel.StreamCache;
+import org.apache.camel.converter.stream.FileInputStreamCache;
 import org.apache.camel.spi.StreamCachingStrategy;
 import org.apache.camel.util.FilePathResolver;
 import org.apache.camel.util.FileUtil;
@@ -59,6 +60,7 @@ public class DefaultStreamCachingStrategy extends org.apache.camel.support.Servi
     private int spoolUsedHeapMemoryThreshold;
     private SpoolUsedHeapMemoryLimit spoolUsedHeapMemoryLimit;
     private String spoolChiper;
+    private boolean spoolMemoryMapped;
     private int bufferSize = IOHelper.DEFAULT_BUFFER_SIZE;
     private boolean removeSpoolDirectoryWhenStopping = true;
     private final UtilizationStatistics statistics = new UtilizationStatistics();
@@ -125,6 +127,14 @@ public class DefaultStreamCachingStrategy extends org.apache.camel.support.Servi
         this.spoolChiper = spoolChiper;
     }
 
+    public boolean isSpoolMemoryMapped() {
+        return spoolMemoryMapped;
+    }
+
+    public void setSpoolMemoryMapped(boolean spoolMemoryMapped) {
+        this.spoolMemoryMapped = spoolMemoryMapped;
+    }
+
     public int getBufferSize() {
         return bufferSize;
     }
@@ -199,6 +209,9 @@ public class DefaultStreamCachingStrategy extends org.apache.camel.support.Servi
                         statistics.updateMemory(cache.length());
                     } else {
                         statistics.updateSpool(cache.length());
+                        if (cache instanceof FileInputStreamCache) {
+                            statistics.updateSpoolMappedRegions(((FileInputStreamCache) cache).getMappedRegions());
+                        }
                     }
                 } catch (Exception e) {
                     LOG.debug("Error updating cache statistics. This exception is ignored.", e);
@@ -338,6 +351,7 @@ public class DefaultStreamCachingStrategy extends org.apache.camel.support.Servi
         return "DefaultStreamCachingStrategy["
             + "spoolDirectory=" + spoolDirectory
             + ", spoolChiper=" + spoolChiper
+            + ", spoolMemoryMapped=" + spoolMemoryMapped
             + ", spoolThreshold=" + spoolThreshold
             + ", spoolUsedHeapMemoryThreshold=" + spoolUsedHeapMemoryThreshold
             + ", bufferSize=" + bufferSize
@@ -414,6 +428,7 @@ public class DefaultStreamCachingStrategy extends org.apache.camel.support.Servi
         private volatile long spoolCounter;
         private volatile long spoolSize;
         private volatile long spoolAverageSize;
+        private volatile long spoolMappedRegions;
 
         synchronized void updateMemory(long size) {
             memoryCounter++;
@@ -427,6 +442,10 @@ public class DefaultStreamCachingStrategy extends org.apache.camel.support.Servi
             spoolAverageSize = spoolSize / spoolCounter;
         }
 
+        synchronized void updateSpoolMappedRegions(int regions) {
+            spoolMappedRegions += regions;
+        }
+
         public long getCacheMemoryCounter() {
             return memoryCounter;
         }
@@ -451,6 +470,10 @@ public class DefaultStreamCachingStrategy extends org.apache.camel.support.Servi
             return spoolAverageSize;
         }
 
+        public long getCacheSpoolMappedRegions() {
+            return spoolMappedRegions;
+        }
+
         public synchronized void reset() {
             memoryCounter = 0;
             memorySize = 0;
@@ -458,6 +481,7 @@ public class DefaultStreamCachingStrategy extends org.apache.camel.support.Servi
             spoolCounter = 0;
             spoolSize = 0;
             spoolAverageSize = 0;
+            spoolMappedRegions = 0;
         }
 
         public boolean isStatisticsEnabled() {
@@ -469,8 +493,8 @@ public class DefaultStreamCachingStrategy extends org.apache.camel.support.Servi
         }
 
         public String toString() {
-            return String.format("[memoryCounter=%s, memorySize=%s, memoryAverageSize=%s, spoolCounter=%s, spoolSize=%s, spoolAverageSize=%s]",
-                    memoryCounter, memorySize, memoryAverageSize, spoolCounter, spoolSize, spoolAverageSize);
+            return String.format("[memoryCounter=%s, memorySize=%s, memoryAverageSize=%s, spoolCounter=%s, spoolSize=%s, spoolAverageSize=%s, spoolMappedRegions=%s]",
+                    memoryCounter, memorySize, memoryAverageSize, spoolCounter, spoolSize, spoolAverageSize, spoolMappedRegions);
         }
     }
 
@@ -0,0 +1,220 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.camel.Endpoint;
+import org.apache.camel.Exchange;
+import org.apache.camel.ExchangePattern;
+import org.apache.camel.spi.ExchangeFactory;
+import org.apache.camel.support.ServiceSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link ExchangeFactory} which pools and reuses {@link DefaultExchange} instances.
+ * <p/>
+ * Exchanges are reused when they are released back via {@link #release(Exchange)}, where the exchange
+ * is reset. The properties map and the messages are not reused, as they may be shared with other exchanges,
+ * and are created again when needed. The pool is bounded by the capacity, and exchanges released when
+ * the pool is full are discarded.
+ * <p/>
+ * When leak detection is enabled then the exchanges handed out are tracked until they are released,
+ * and a WARN is logged for exchanges which are released twice, or which have not been released when this
+ * factory is stopped. This has a cost and is intended to be used during development and testing.
+ * <p/>
+ * <b>Important:</b> Only consumers which explicit release the exchanges, when they are done, take advantage
+ * of the pool, which currently is only the timer consumer. Any other exchanges are created as usual and garbage collected.
+ */
+public class PooledExchangeFactory extends ServiceSupport implements ExchangeFactory {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PooledExchangeFactory.class);
+
+    private final LongAdder created = new LongAdder();
+    private final LongAdder acquired = new LongAdder();
+    private final LongAdder released = new LongAdder();
+    private final LongAdder discarded = new LongAdder();
+    private final Map<Exchange, Long> inUse = new ConcurrentHashMap<>();
+    private volatile BlockingQueue<DefaultExchange> pool;
+    private int capacity = 100;
+    private boolean leakDetection;
+
+    public PooledExchangeFactory() {
+    }
+
+    public PooledExchangeFactory(int capacity) {
+        this.capacity = capacity;
+    }
+
+    @Override
+    public Exchange create(Endpoint fromEndpoint, ExchangePattern pattern) {
+        DefaultExchange answer = null;
+        BlockingQueue<DefaultExchange> queue = pool;
+        if (queue != null) {
+            answer = queue.poll();
+        }
+        if (answer != null && answer.getContext() == fromEndpoint.getCamelContext()) {
+            acquired.increment();
+            answer.setFromEndpoint(fromEndpoint);
+            answer.setPattern(pattern);
+        } else {
+            created.increment();
+            answer = new DefaultExchange(fromEndpoint, pattern);
+        }
+        if (leakDetection) {
+            inUse.put(answer, System.currentTimeMillis());
+        }
+        return answer;
+    }
+
+    @Override
+    public boolean release(Exchange exchange) {
+        if (leakDetection && inUse.remove(exchange) == null) {
+            LOG.warn("Exchange: {} is released but was not in use. It may have been released more than once, or not created by this factory.", exchange);
+            discarded.increment();
+            return false;
+        }
+
+        BlockingQueue<DefaultExchange> queue = pool;
+        if (queue == null || !(exchange instanceof DefaultExchange)) {
+            discarded.increment();
+            return false;
+        }
+
+        DefaultExchange de = (DefaultExchange) exchange;
+        de.reset();
+        if (queue.offer(de)) {
+            released.increment();
+            return true;
+        } else {
+            // the pool is full
+            discarded.increment();
+            return false;
+        }
+    }
+
+    @Override
+    public boolean isPooled() {
+        return true;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * The maximum number of exchanges to keep in the pool.
+     */
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public boolean isLeakDetection() {
+        return leakDetection;
+    }
+
+    /**
+     * Whether to track the exchanges in use, to detect exchanges which are not released, or released more than once.
+     */
+    public void setLeakDetection(boolean leakDetection) {
+        this.leakDetection = leakDetection;
+    }
+
+    /**
+     * Number of exchanges currently in the pool
+     */
+    public int getSize() {
+        BlockingQueue<DefaultExchange> queue = pool;
+        return queue != null ? queue.size() : 0;
+    }
+
+    /**
+     * Number of new exchanges created
+     */
+    public long getCreatedCounter() {
+        return created.sum();
+    }
+
+    /**
+     * Number of exchanges reused from the pool
+     */
+    public long getAcquiredCounter() {
+        return acquired.sum();
+    }
+
+    /**
+     * Number of exchanges released back to the pool
+     */
+    public long getReleasedCounter() {
+        return released.sum();
+    }
+
+    /**
+     * Number of exchanges which could not be released back to the pool
+     */
+    public long getDiscardedCounter() {
+        return discarded.sum();
+    }
+
+    /**
+     * Number of exchanges in use which has not been released (only tracked if leak detection is enabled)
+     */
+    public int getInUseCount() {
+        return inUse.size();
+    }
+
+    /**
+     * Resets the statistics
+     */
+    public void resetStatistics() {
+        created.reset();
+        acquired.reset();
+        released.reset();
+        discarded.reset();
+    }
+
+    @Override
+    public String toString() {
+        return "PooledExchangeFactory[capacity=" + capacity + ", leakDetection=" + leakDetection + "]";
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        pool = new ArrayBlockingQueue<>(capacity);
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        pool = null;
+
+        if (leakDetection && !inUse.isEmpty()) {
+            long now = System.currentTimeMillis();
+            for (Map.Entry<Exchange, Long> entry : inUse.entrySet()) {
+                LOG.warn("Leak detected: Exchange: {} has been in use for {} millis and was not released.", entry.getKey(), now - entry.getValue());
+            }
+        }
+        inUse.clear();
+
+        LOG.debug("Stopped PooledExchangeFactory with created: {}, acquired: {}, released: {}, discarded: {}",
+                created.sum(), acquired.sum(), released.sum(), discarded.sum());
+    }
+}
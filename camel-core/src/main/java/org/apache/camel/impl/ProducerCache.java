@@ -18,6 +18,10 @@ package org.apache.camel.impl;
 
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.apache.camel.AsyncCallback;
 import org.apache.camel.AsyncProcessor;
@@ -53,10 +57,15 @@ import org.slf4j.LoggerFactory;
  */
 public class ProducerCache extends ServiceSupport {
     private static final Logger LOG = LoggerFactory.getLogger(ProducerCache.class);
+    private static final int LOCK_STRIPES = 32;
 
     private final CamelContext camelContext;
     private final ServicePool<Endpoint, Producer> pool;
     private final Map<String, Producer> producers;
+    private final boolean concurrentCache;
+    private final Lock[] locks;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
     private final Object source;
     private final SharedCamelInternalProcessor internalProcessor;
 
@@ -93,6 +102,12 @@ public class ProducerCache extends ServiceSupport {
         if (producers instanceof LRUCache) {
             maxCacheSize = ((LRUCache) producers).getMaxCacheSize();
         }
+        // the cache can be looked up without locking if its thread safe
+        this.concurrentCache = producers instanceof LRUCache || producers instanceof ConcurrentMap;
+        this.locks = new Lock[LOCK_STRIPES];
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new ReentrantLock();
+        }
 
         // only if JMX is enabled
         if (camelContext.getManagementStrategy().getManagementAgent() != null) {
@@ -559,38 +574,27 @@ public class ProducerCache extends ServiceSupport {
         return AsyncProcessorConverterHelper.convert(producer);
     }
 
-    protected synchronized Producer doGetProducer(Endpoint endpoint, boolean pooled) {
+    protected Producer doGetProducer(Endpoint endpoint, boolean pooled) {
         String key = endpoint.getEndpointUri();
-        Producer answer = producers.get(key);
-        if (pooled && answer == null) {
-            // try acquire from connection pool
-            answer = pool.acquire(endpoint);
-        }
-
-        if (answer == null) {
-            // create a new producer
-            try {
-                answer = endpoint.createProducer();
-                // add as service to CamelContext so its managed via JMX
-                boolean add = answer.isSingleton() || answer instanceof ServicePoolAware;
-                if (add) {
-                    // (false => we and handling the lifecycle of the producer in this cache)
-                    getCamelContext().addService(answer, false);
-                } else {
-                    // fallback and start producer manually
-                    ServiceHelper.startService(answer);
+        Producer answer;
+        if (concurrentCache) {
+            // fast path without locking as the cache is thread safe
+            answer = producers.get(key);
+            if (answer == null) {
+                // only lock the stripe of the key so producers for other endpoints can be acquired concurrently
+                Lock lock = getLock(key);
+                lock.lock();
+                try {
+                    answer = doAcquireOrCreateProducer(endpoint, key, pooled);
+                } finally {
+                    lock.unlock();
                 }
-            } catch (Throwable e) {
-                throw new FailedToCreateProducerException(endpoint, e);
+            } else {
+                hits.increment();
             }
-
-            // add producer to cache or pool if applicable
-            if (pooled && answer instanceof ServicePoolAware) {
-                LOG.debug("Adding to producer service pool with key: {} for producer: {}", endpoint, answer);
-                answer = pool.addAndAcquire(endpoint, answer);
-            } else if (answer.isSingleton()) {
-                LOG.debug("Adding to producer cache with key: {} for producer: {}", endpoint, answer);
-                producers.put(key, answer);
+        } else {
+            synchronized (this) {
+                answer = doAcquireOrCreateProducer(endpoint, key, pooled);
             }
         }
 
@@ -604,6 +608,55 @@ public class ProducerCache extends ServiceSupport {
         return answer;
     }
 
+    private Producer doAcquireOrCreateProducer(Endpoint endpoint, String key, boolean pooled) {
+        // check the cache again as another thread may have created the producer
+        Producer answer = producers.get(key);
+        if (pooled && answer == null) {
+            // try acquire from connection pool
+            answer = pool.acquire(endpoint);
+        }
+
+        if (answer != null) {
+            hits.increment();
+            return answer;
+        }
+        misses.increment();
+
+        // create a new producer
+        try {
+            answer = endpoint.createProducer();
+            // add as service to CamelContext so its managed via JMX
+            boolean add = answer.isSingleton() || answer instanceof ServicePoolAware;
+            if (add) {
+                // (false => we and handling the lifecycle of the producer in this cache)
+                getCamelContext().addService(answer, false);
+            } else {
+                // fallback and start producer manually
+                ServiceHelper.startService(answer);
+            }
+        } catch (Throwable e) {
+            throw new FailedToCreateProducerException(endpoint, e);
+        }
+
+        // add producer to cache or pool if applicable
+        if (pooled && answer instanceof ServicePoolAware) {
+            LOG.debug("Adding to producer service pool with key: {} for producer: {}", endpoint, answer);
+            answer = pool.addAndAcquire(endpoint, answer);
+        } else if (answer.isSingleton()) {
+            LOG.debug("Adding to producer cache with key: {} for producer: {}", endpoint, answer);
+            producers.put(key, answer);
+        }
+
+        return answer;
+    }
+
+    private Lock getLock(String key) {
+        int h = key.hashCode();
+        // spread the hash as the endpoint uris often only differ at the end
+        h ^= h >>> 16;
+        return locks[h & (locks.length - 1)];
+    }
+
     protected void doStart() throws Exception {
         if (extendedStatistics) {
             int max = maxCacheSize == 0 ? CamelContextHelper.getMaximumCachePoolSize(camelContext) : maxCacheSize;
@@ -664,35 +717,22 @@ public class ProducerCache extends ServiceSupport {
     }
 
     /**
-     * Gets the cache hits statistic
-     * <p/>
-     * Will return <tt>-1</tt> if it cannot determine this if a custom cache was used.
+     * Gets the cache hits statistic, which is the number of times an existing producer was
+     * acquired from the cache or the producer service pool.
      *
      * @return the hits
      */
     public long getHits() {
-        long hits = -1;
-        if (producers instanceof LRUCache) {
-            LRUCache<String, Producer> cache = (LRUCache<String, Producer>) producers;
-            hits = cache.getHits();
-        }
-        return hits;
+        return hits.longValue();
     }
 
     /**
-     * Gets the cache misses statistic
-     * <p/>
-     * Will return <tt>-1</tt> if it cannot determine this if a custom cache was used.
+     * Gets the cache misses statistic, which is the number of times a new producer had to be created.
      *
      * @return the misses
      */
     public long getMisses() {
-        long misses = -1;
-        if (producers instanceof LRUCache) {
-            LRUCache<String, Producer> cache = (LRUCache<String, Producer>) producers;
-            misses = cache.getMisses();
-        }
-        return misses;
+        return misses.longValue();
     }
 
     /**
@@ -715,6 +755,8 @@ public class ProducerCache extends ServiceSupport {
      * Resets the cache statistics
      */
     public void resetCacheStatistics() {
+        hits.reset();
+        misses.reset();
         if (producers instanceof LRUCache) {
             LRUCache<String, Producer> cache = (LRUCache<String, Producer>) producers;
             cache.resetStatistics();
@@ -730,6 +772,8 @@ public class ProducerCache extends ServiceSupport {
     public synchronized void purge() {
         producers.clear();
         pool.purge();
+        hits.reset();
+        misses.reset();
         if (statistics != null) {
             statistics.clear();
         }
@@ -70,6 +70,8 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
     // for misses use a soft reference cache map, as the classes may be un-deployed at runtime
     @SuppressWarnings("unchecked")
     protected final LRUSoftCache<TypeMapping, TypeMapping> misses = LRUCacheFactory.newLRUSoftCache(1000);
+    // cache of the resolved type converters (and misses) which does not create a key per lookup
+    private final TypeConverterLookupCache lookupCache = new TypeConverterLookupCache();
     protected final List<TypeConverterLoader> typeConverterLoaders = new ArrayList<>();
     protected final List<FallbackTypeConverter> fallbackConverters = new CopyOnWriteArrayList<>();
     protected final PackageScanClassResolver resolver;
@@ -308,17 +310,34 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
             return result;
         }
 
-        // check if we have tried it before and if its a miss
-        TypeMapping key = new TypeMapping(type, value.getClass());
-        if (misses.containsKey(key)) {
+        // use the lookup cache first as it does not need to create a key
+        final Class<?> fromType = value.getClass();
+        TypeConverter converter = lookupCache.get(type, fromType);
+        if (converter == TypeConverterLookupCache.MISS) {
             // we have tried before but we cannot convert this one
             return Void.TYPE;
         }
-        
-        // try to find a suitable type converter
-        TypeConverter converter = getOrFindTypeConverter(key);
+
+        if (converter == null) {
+            // check if we have tried it before and if its a miss
+            TypeMapping key = new TypeMapping(type, fromType);
+            if (misses.containsKey(key)) {
+                lookupCache.put(type, fromType, TypeConverterLookupCache.MISS);
+                // we have tried before but we cannot convert this one
+                return Void.TYPE;
+            }
+
+            // try to find a suitable type converter
+            converter = getOrFindTypeConverter(key);
+            if (converter != null) {
+                lookupCache.put(type, fromType, converter);
+            }
+        }
+
         if (converter != null) {
-            log.trace("Using converter: {} to convert {}", converter, key);
+            if (log.isTraceEnabled()) {
+                log.trace("Using converter: {} to convert {} -> {}", new Object[]{converter, fromType, type});
+            }
             Object rc;
             if (tryConvert) {
                 rc = converter.tryConvertTo(type, exchange, value);
@@ -336,7 +355,6 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
         if (type.isPrimitive()) {
             Class<?> primitiveType = ObjectHelper.convertPrimitiveTypeToWrapperType(type);
             if (primitiveType != type) {
-                Class<?> fromType = value.getClass();
                 TypeConverter tc = getOrFindTypeConverter(new TypeMapping(primitiveType, fromType));
                 if (tc != null) {
                     // add the type as a known type converter as we can convert from primitive to object converter
@@ -399,6 +417,7 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
         if (!tryConvert) {
             // Could not find suitable conversion, so remember it
             // do not register misses for try conversions
+            TypeMapping key = new TypeMapping(type, fromType);
             misses.put(key, key);
         }
 
@@ -438,6 +457,8 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
                 typeMappings.put(key, typeConverter);
                 // remove any previous misses, as we added the new type converter
                 misses.remove(key);
+                // and clear the lookup cache as the new type converter may be used for sub types as well
+                lookupCache.clear();
             }
         }
     }
@@ -462,6 +483,7 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
         if (converter != null) {
             typeMappings.remove(key);
             misses.remove(key);
+            lookupCache.clear();
         }
         return converter != null;
     }
@@ -473,6 +495,7 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
         // add in top of fallback as the toString() fallback will nearly always be able to convert
         // the last one which is add to the FallbackTypeConverter will be called at the first place
         fallbackConverters.add(0, new FallbackTypeConverter(typeConverter, canPromote));
+        lookupCache.clear();
         if (typeConverter instanceof TypeConverterAware) {
             TypeConverterAware typeConverterAware = (TypeConverterAware) typeConverter;
             typeConverterAware.setTypeConverter(this);
@@ -709,6 +732,7 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
 
         typeMappings.clear();
         misses.clear();
+        lookupCache.clear();
         statistics.reset();
     }
 
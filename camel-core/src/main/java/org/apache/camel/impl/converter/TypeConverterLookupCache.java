@@ -0,0 +1,138 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl.converter;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.TypeConverter;
+import org.apache.camel.support.TypeConverterSupport;
+
+/**
+ * A lookup cache of the type converters which has been resolved by the {@link BaseTypeConverterRegistry}.
+ * <p/>
+ * The cache is keyed by the (from type, to type) pair of classes, and is organised as a small array
+ * of entries per from type, which is held in a map keyed by the from type. This allows to lookup a type converter
+ * without creating a new key object, as the from type is hashed by identity and the to type is compared by identity.
+ * The cache also remembers the conversions which cannot be done (misses).
+ * <p/>
+ * The cache is owned by the registry (and not held in the classes as a {@link ClassValue} would) so the cached
+ * type converters, which may refer back to the registry, can be garbage collected together with the registry.
+ * The cache only holds a limited number of from types, so only a bounded number of classes is referenced.
+ * <p/>
+ * The cache must be cleared when type converters are added or removed from the registry.
+ */
+final class TypeConverterLookupCache {
+
+    /**
+     * Marker for a conversion which is known to not be possible
+     */
+    static final TypeConverter MISS = new TypeConverterSupport() {
+        @Override
+        public <T> T convertTo(Class<T> type, Exchange exchange, Object value) {
+            return null;
+        }
+
+        @Override
+        public String toString() {
+            return "TypeConverterLookupCache.MISS";
+        }
+    };
+
+    // the number of to types to cache per from type, as a type is usually only converted to a few other types
+    private static final int MAX_ENTRIES = 8;
+    // the number of from types to cache
+    private static final int MAX_SLOTS = 1000;
+    private static final Entry[] EMPTY = new Entry[0];
+
+    private final ConcurrentMap<Class<?>, Slot> slots = new ConcurrentHashMap<>();
+
+    /**
+     * Gets the cached type converter
+     *
+     * @param toType   the type to convert to
+     * @param fromType the type to convert from
+     * @return the type converter, {@link #MISS} if the conversion is not possible, or <tt>null</tt> if not in the cache
+     */
+    TypeConverter get(Class<?> toType, Class<?> fromType) {
+        Slot slot = slots.get(fromType);
+        if (slot == null) {
+            return null;
+        }
+        Entry[] entries = slot.entries;
+        for (int i = 0; i < entries.length; i++) {
+            Entry entry = entries[i];
+            if (entry.toType == toType) {
+                return entry.converter;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Adds the type converter to the cache (if there is room for it).
+     *
+     * @param toType    the type to convert to
+     * @param fromType  the type to convert from
+     * @param converter the type converter, or {@link #MISS} if the conversion is not possible
+     */
+    void put(Class<?> toType, Class<?> fromType, TypeConverter converter) {
+        Slot slot = slots.get(fromType);
+        if (slot == null) {
+            if (slots.size() >= MAX_SLOTS) {
+                return;
+            }
+            slot = slots.computeIfAbsent(fromType, k -> new Slot());
+        }
+        Entry[] entries = slot.entries;
+        if (entries.length >= MAX_ENTRIES) {
+            return;
+        }
+        for (Entry entry : entries) {
+            if (entry.toType == toType) {
+                return;
+            }
+        }
+        // copy on write, if we race with another thread then an entry may be lost, which is okay for a cache
+        Entry[] copy = new Entry[entries.length + 1];
+        System.arraycopy(entries, 0, copy, 0, entries.length);
+        copy[entries.length] = new Entry(toType, converter);
+        slot.entries = copy;
+    }
+
+    /**
+     * Clears the cache
+     */
+    void clear() {
+        slots.clear();
+    }
+
+    private static final class Slot {
+        private volatile Entry[] entries = EMPTY;
+    }
+
+    private static final class Entry {
+        private final Class<?> toType;
+        private final TypeConverter converter;
+
+        Entry(Class<?> toType, TypeConverter converter) {
+            this.toType = toType;
+            this.converter = converter;
+        }
+    }
+}
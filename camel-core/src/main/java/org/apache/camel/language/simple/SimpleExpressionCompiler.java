@@ -0,0 +1,265 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.language.simple;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.Expression;
+import org.apache.camel.language.bean.RuntimeBeanExpressionException;
+import org.apache.camel.support.ExpressionAdapter;
+import org.apache.camel.util.StringHelper;
+
+/**
+ * Compiles the most common functions of the <a href="http://camel.apache.org/simple.html">simple language</a>
+ * into specialized {@link Expression}s, which is used when the simple language is in compiled mode.
+ * <p/>
+ * The interpreted expressions resolves the header or property name on every evaluation, and invokes
+ * OGNL methods using the bean component which introspects the bean and binds the method parameters.
+ * The compiled expressions have the name resolved up front, and invokes OGNL getter chains using
+ * {@link MethodHandle}s which are resolved once per body class, using the return types of the methods
+ * in the OGNL path.
+ * <p/>
+ * Only the common happy path is compiled. If the OGNL path cannot be resolved for the body class,
+ * such as a method which is not a no-arg method, then the interpreted expression is always used
+ * for that body class. An intermediate <tt>null</tt> value which is not null safe, or an exception thrown
+ * by a method, fails with the same exception as the interpreted expression.
+ */
+public final class SimpleExpressionCompiler {
+
+    // matches an OGNL path which only invokes no-arg methods, such as .address?.zip or .getName()
+    private static final Pattern OGNL_PATH = Pattern.compile("((\\?)?\\.[A-Za-z_$][A-Za-z0-9_$]*(\\(\\))?)+");
+    private static final Pattern OGNL_METHOD = Pattern.compile("(\\?)?\\.([A-Za-z_$][A-Za-z0-9_$]*)(\\(\\))?");
+    private static final Pattern NAME = Pattern.compile("[A-Za-z0-9_\\-]+");
+
+    private static final Object MISSING = new Object();
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private SimpleExpressionCompiler() {
+    }
+
+    /**
+     * Compiles the header function with the given name.
+     *
+     * @param name        the header name
+     * @param interpreted the interpreted expression
+     * @return the compiled expression, or the interpreted if not possible to compile
+     */
+    public static Expression compileHeader(final String name, final Expression interpreted) {
+        if (!NAME.matcher(name).matches()) {
+            return interpreted;
+        }
+        return new ExpressionAdapter() {
+            public Object evaluate(Exchange exchange) {
+                Object header = exchange.getIn().getHeader(name);
+                if (header == null) {
+                    // fall back on a property
+                    header = exchange.getProperty(name);
+                }
+                return header;
+            }
+
+            @Override
+            public String toString() {
+                return interpreted.toString();
+            }
+        };
+    }
+
+    /**
+     * Compiles the exchange property function with the given name.
+     *
+     * @param name        the exchange property name
+     * @param interpreted the interpreted expression
+     * @return the compiled expression, or the interpreted if not possible to compile
+     */
+    public static Expression compileExchangeProperty(final String name, final Expression interpreted) {
+        if (!NAME.matcher(name).matches()) {
+            return interpreted;
+        }
+        return new ExpressionAdapter() {
+            public Object evaluate(Exchange exchange) {
+                return exchange.getProperty(name);
+            }
+
+            @Override
+            public String toString() {
+                return interpreted.toString();
+            }
+        };
+    }
+
+    /**
+     * Compiles the body OGNL function with the given OGNL path.
+     *
+     * @param ognl        the OGNL path, such as <tt>.address.zip</tt>
+     * @param interpreted the interpreted expression
+     * @return the compiled expression, or the interpreted if not possible to compile
+     */
+    public static Expression compileBodyOgnl(final String ognl, final Expression interpreted) {
+        if (!OGNL_PATH.matcher(ognl).matches()) {
+            return interpreted;
+        }
+
+        List<OgnlMethod> list = new ArrayList<>();
+        Matcher matcher = OGNL_METHOD.matcher(ognl);
+        while (matcher.find()) {
+            list.add(new OgnlMethod(matcher.group(), matcher.group(2), matcher.group(1) != null, matcher.group(3) != null));
+        }
+        final OgnlMethod[] methods = list.toArray(new OgnlMethod[list.size()]);
+        final OgnlChain chain = new OgnlChain(methods);
+
+        return new ExpressionAdapter() {
+            public Object evaluate(Exchange exchange) {
+                Object body = exchange.getIn().getBody();
+                if (body == null) {
+                    return null;
+                }
+                Object handles = chain.get(body.getClass());
+                if (handles == MISSING) {
+                    return interpreted.evaluate(exchange, Object.class);
+                }
+
+                Object result = body;
+                for (int i = 0; i < methods.length; i++) {
+                    OgnlMethod method = methods[i];
+                    if (result == null) {
+                        // fail the same way as the interpreted expression
+                        throw new RuntimeBeanExpressionException(exchange, body.getClass().getCanonicalName(), ognl,
+                                "last method returned null and therefore cannot continue to invoke method " + method.path + " on a null instance");
+                    }
+                    try {
+                        result = ((MethodHandle[]) handles)[i].invokeExact(result);
+                    } catch (Throwable e) {
+                        throw new RuntimeBeanExpressionException(exchange, null, method.getMethodName(), e);
+                    }
+                    if (result == null && method.nullSafe) {
+                        return null;
+                    }
+                }
+                return result;
+            }
+
+            @Override
+            public String toString() {
+                return interpreted.toString();
+            }
+        };
+    }
+
+    /**
+     * The OGNL path which resolves and caches the {@link MethodHandle}s to invoke per body class.
+     */
+    private static final class OgnlChain extends ClassValue<Object> {
+
+        private final OgnlMethod[] methods;
+
+        private OgnlChain(OgnlMethod[] methods) {
+            this.methods = methods;
+        }
+
+        @Override
+        protected Object computeValue(Class<?> type) {
+            MethodHandle[] handles = new MethodHandle[methods.length];
+            Class<?> current = type;
+            for (int i = 0; i < methods.length; i++) {
+                if (current.isPrimitive()) {
+                    return MISSING;
+                }
+                Method method = methods[i].findMethod(current);
+                if (method == null) {
+                    return MISSING;
+                }
+                try {
+                    method.setAccessible(true);
+                    handles[i] = MethodHandles.lookup().unreflect(method).asType(GETTER_TYPE);
+                } catch (Exception e) {
+                    // not possible to access the method so use the interpreted instead
+                    return MISSING;
+                }
+                current = method.getReturnType();
+            }
+            return handles;
+        }
+    }
+
+    /**
+     * A method in the OGNL path.
+     */
+    private static final class OgnlMethod {
+
+        private final String path;
+        private final String name;
+        private final boolean nullSafe;
+        private final boolean explicit;
+
+        private OgnlMethod(String path, String name, boolean nullSafe, boolean explicit) {
+            this.path = path;
+            this.name = name;
+            this.nullSafe = nullSafe;
+            this.explicit = explicit;
+        }
+
+        private String getMethodName() {
+            return explicit ? name + "()" : name;
+        }
+
+        private Method findMethod(Class<?> type) {
+            Method answer = null;
+            for (Method method : type.getMethods()) {
+                if (Modifier.isStatic(method.getModifiers())) {
+                    continue;
+                }
+                if (method.getName().equals(name)) {
+                    if (method.getParameterCount() > 0) {
+                        // the bean component may bind parameters to this method, so we cannot compile
+                        return null;
+                    }
+                    answer = method;
+                }
+            }
+            if (answer == null && !explicit) {
+                // shorthand for getters
+                String suffix = StringHelper.capitalize(name);
+                answer = findNoArgMethod(type, "get" + suffix);
+                if (answer == null) {
+                    answer = findNoArgMethod(type, "is" + suffix);
+                }
+            }
+            if (answer != null && answer.getReturnType() == void.class) {
+                return null;
+            }
+            return answer;
+        }
+
+        private static Method findNoArgMethod(Class<?> type, String name) {
+            try {
+                return type.getMethod(name);
+            } catch (NoSuchMethodException e) {
+                return null;
+            }
+        }
+    }
+}
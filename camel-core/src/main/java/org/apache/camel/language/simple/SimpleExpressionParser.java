@@ -41,6 +41,7 @@ public class SimpleExpressionParser extends BaseSimpleParser {
 
     // use caches to avoid re-parsing the same expressions over and over again
     private LRUCache<String, Expression> cacheExpression;
+    private boolean compiled;
 
     @Deprecated
     public SimpleExpressionParser(String expression) {
@@ -58,6 +59,13 @@ public class SimpleExpressionParser extends BaseSimpleParser {
         this.cacheExpression = cacheExpression;
     }
 
+    public SimpleExpressionParser(String expression, boolean allowEscape,
+                                  LRUCache<String, Expression> cacheExpression, boolean compiled) {
+        super(expression, allowEscape);
+        this.cacheExpression = cacheExpression;
+        this.compiled = compiled;
+    }
+
     public Expression parseExpression() {
         clear();
         try {
@@ -152,7 +160,7 @@ public class SimpleExpressionParser extends BaseSimpleParser {
         if (token.getType().isFunctionStart()) {
             // starting a new function
             functions.incrementAndGet();
-            return new SimpleFunctionStart(token, cacheExpression);
+            return new SimpleFunctionStart(token, cacheExpression, compiled);
         } else if (functions.get() > 0 && token.getType().isFunctionEnd()) {
             // there must be a start function already, to let this be a end function
             functions.decrementAndGet();
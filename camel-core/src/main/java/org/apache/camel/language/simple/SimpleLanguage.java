@@ -16,6 +16,7 @@
  */
 package org.apache.camel.language.simple;
 
+import org.apache.camel.Exchange;
 import org.apache.camel.Expression;
 import org.apache.camel.Predicate;
 import org.apache.camel.StaticService;
@@ -102,6 +103,7 @@ public class SimpleLanguage extends LanguageSupport implements StaticService {
     private static final SimpleLanguage SIMPLE = new SimpleLanguage();
 
     boolean allowEscape = true;
+    private boolean compiled;
 
     // use caches to avoid re-parsing the same expressions over and over again
     private LRUCache<String, Expression> cacheExpression;
@@ -127,6 +129,15 @@ public class SimpleLanguage extends LanguageSupport implements StaticService {
                 LOG.debug("Simple language disabled predicate/expression cache");
             }
         }
+        if (getCamelContext() != null) {
+            String s = getCamelContext().getGlobalOption(Exchange.SIMPLE_COMPILED);
+            if (s != null) {
+                compiled = Boolean.parseBoolean(s);
+            }
+            if (compiled) {
+                LOG.debug("Simple language compiled mode enabled");
+            }
+        }
     }
 
     @Override
@@ -158,7 +169,7 @@ public class SimpleLanguage extends LanguageSupport implements StaticService {
             answer = SimpleBackwardsCompatibleParser.parsePredicate(expression, allowEscape);
             if (answer == null) {
                 // use the new parser
-                SimplePredicateParser parser = new SimplePredicateParser(expression, allowEscape, cacheExpression);
+                SimplePredicateParser parser = new SimplePredicateParser(expression, allowEscape, cacheExpression, compiled);
                 answer = parser.parsePredicate();
             }
             if (cachePredicate != null && answer != null) {
@@ -182,7 +193,7 @@ public class SimpleLanguage extends LanguageSupport implements StaticService {
             answer = SimpleBackwardsCompatibleParser.parseExpression(expression, allowEscape);
             if (answer == null) {
                 // use the new parser
-                SimpleExpressionParser parser = new SimpleExpressionParser(expression, allowEscape, cacheExpression);
+                SimpleExpressionParser parser = new SimpleExpressionParser(expression, allowEscape, cacheExpression, compiled);
                 answer = parser.parseExpression();
             }
             if (cacheExpression != null && answer != null) {
@@ -193,6 +204,20 @@ public class SimpleLanguage extends LanguageSupport implements StaticService {
         return answer;
     }
 
+    public boolean isCompiled() {
+        return compiled;
+    }
+
+    /**
+     * Whether to compile the most common functions, such as headers, exchange properties and body OGNL getter chains,
+     * into specialized expressions which are faster to evaluate than the interpreted expressions.
+     * <p/>
+     * This can also be enabled using the global option {@link Exchange#SIMPLE_COMPILED} on the {@link org.apache.camel.CamelContext}.
+     */
+    public void setCompiled(boolean compiled) {
+        this.compiled = compiled;
+    }
+
     /**
      * Creates a new {@link Expression}.
      * <p/>
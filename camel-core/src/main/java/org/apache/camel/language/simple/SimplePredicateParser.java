@@ -56,6 +56,7 @@ public class SimplePredicateParser extends BaseSimpleParser {
 
     // use caches to avoid re-parsing the same expressions over and over again
     private LRUCache<String, Expression> cacheExpression;
+    private boolean compiled;
 
     @Deprecated
     public SimplePredicateParser(String expression) {
@@ -72,6 +73,12 @@ public class SimplePredicateParser extends BaseSimpleParser {
         this.cacheExpression = cacheExpression;
     }
 
+    public SimplePredicateParser(String expression, boolean allowEscape, LRUCache<String, Expression> cacheExpression, boolean compiled) {
+        super(expression, allowEscape);
+        this.cacheExpression = cacheExpression;
+        this.compiled = compiled;
+    }
+
     public Predicate parsePredicate() {
         clear();
         try {
@@ -233,7 +240,7 @@ public class SimplePredicateParser extends BaseSimpleParser {
                                   AtomicBoolean startFunction) {
         if (token.getType().isFunctionStart()) {
             startFunction.set(true);
-            return new SimpleFunctionStart(token, cacheExpression);
+            return new SimpleFunctionStart(token, cacheExpression, compiled);
         } else if (token.getType().isFunctionEnd()) {
             startFunction.set(false);
             return new SimpleFunctionEnd(token);
@@ -18,6 +18,7 @@ package org.apache.camel.language.simple.ast;
 
 import org.apache.camel.Expression;
 import org.apache.camel.builder.ExpressionBuilder;
+import org.apache.camel.language.simple.SimpleExpressionCompiler;
 import org.apache.camel.language.simple.types.SimpleParserException;
 import org.apache.camel.language.simple.types.SimpleToken;
 import org.apache.camel.util.LRUCache;
@@ -33,6 +34,7 @@ public class SimpleFunctionExpression extends LiteralExpression {
 
     // use caches to avoid re-parsing the same expressions over and over again
     private LRUCache<String, Expression> cacheExpression;
+    private boolean compiled;
 
     @Deprecated
     public SimpleFunctionExpression(SimpleToken token) {
@@ -44,6 +46,12 @@ public class SimpleFunctionExpression extends LiteralExpression {
         this.cacheExpression = cacheExpression;
     }
 
+    public SimpleFunctionExpression(SimpleToken token, LRUCache<String, Expression> cacheExpression, boolean compiled) {
+        super(token);
+        this.cacheExpression = cacheExpression;
+        this.compiled = compiled;
+    }
+
     /**
      * Creates a Camel {@link Expression} based on this model.
      *
@@ -145,7 +153,8 @@ public class SimpleFunctionExpression extends LiteralExpression {
                 return ExpressionBuilder.propertyOgnlExpression(remainder);
             } else {
                 // regular property
-                return ExpressionBuilder.exchangePropertyExpression(remainder);
+                Expression property = ExpressionBuilder.exchangePropertyExpression(remainder);
+                return compiled ? SimpleExpressionCompiler.compileExchangeProperty(remainder, property) : property;
             }
         }
 
@@ -312,7 +321,8 @@ public class SimpleFunctionExpression extends LiteralExpression {
             if (invalid) {
                 throw new SimpleParserException("Valid syntax: ${body.OGNL} was: " + function, token.getIndex());
             }
-            return ExpressionBuilder.bodyOgnlExpression(remainder);
+            Expression answer = ExpressionBuilder.bodyOgnlExpression(remainder);
+            return compiled ? SimpleExpressionCompiler.compileBodyOgnl(remainder, answer) : answer;
         }
 
         // headerAs
@@ -373,7 +383,8 @@ public class SimpleFunctionExpression extends LiteralExpression {
                 return ExpressionBuilder.headersOgnlExpression(key);
             } else {
                 // regular header
-                return ExpressionBuilder.headerExpression(key);
+                Expression answer = ExpressionBuilder.headerExpression(key);
+                return compiled ? SimpleExpressionCompiler.compileHeader(key, answer) : answer;
             }
         }
 
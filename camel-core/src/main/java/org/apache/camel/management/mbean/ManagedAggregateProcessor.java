@@ -138,6 +138,10 @@ public class ManagedAggregateProcessor extends ManagedProcessor implements Manag
         return processor.isOptimisticLocking();
     }
 
+    public boolean isStripedLocking() {
+        return processor.isStripedLocking();
+    }
+
     public boolean isEagerCheckCompletion() {
         return processor.isEagerCheckCompletion();
     }
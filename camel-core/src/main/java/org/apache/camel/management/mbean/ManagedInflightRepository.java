@@ -57,6 +57,16 @@ public class ManagedInflightRepository extends ManagedService implements Managed
         return inflightRepository.size(routeId);
     }
 
+    @Override
+    public boolean isInflightBrowseEnabled() {
+        return inflightRepository.isInflightBrowseEnabled();
+    }
+
+    @Override
+    public void setInflightBrowseEnabled(boolean inflightBrowseEnabled) {
+        inflightRepository.setInflightBrowseEnabled(inflightBrowseEnabled);
+    }
+
     @Override
     public TabularData browse() {
         return browse(null, -1, false);
@@ -42,7 +42,8 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter implement
     private Statistic totalProcessingTime;
     private Statistic lastProcessingTime;
     private Statistic deltaProcessingTime;
-    private Statistic meanProcessingTime;
+    // only when using extended statistics, as the histogram takes up a few kb per mbean
+    private StatisticHistogram processingTimeHistogram;
     private Statistic firstExchangeCompletedTimestamp;
     private String firstExchangeCompletedExchangeId;
     private Statistic firstExchangeFailureTimestamp;
@@ -68,7 +69,9 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter implement
         this.totalProcessingTime = new StatisticCounter();
         this.lastProcessingTime = new StatisticValue();
         this.deltaProcessingTime = new StatisticDelta();
-        this.meanProcessingTime = new StatisticValue();
+        if (strategy.getManagementAgent() != null && strategy.getManagementAgent().getStatisticsLevel().isExtended()) {
+            this.processingTimeHistogram = new StatisticHistogram();
+        }
 
         this.firstExchangeCompletedTimestamp = new StatisticValue();
         this.firstExchangeFailureTimestamp = new StatisticValue();
@@ -90,7 +93,9 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter implement
         totalProcessingTime.reset();
         lastProcessingTime.reset();
         deltaProcessingTime.reset();
-        meanProcessingTime.reset();
+        if (processingTimeHistogram != null) {
+            processingTimeHistogram.reset();
+        }
         firstExchangeCompletedTimestamp.reset();
         firstExchangeCompletedExchangeId = null;
         firstExchangeFailureTimestamp.reset();
@@ -130,7 +135,7 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter implement
     }
 
     public long getMeanProcessingTime() throws Exception {
-        return meanProcessingTime.getValue();
+        return calculateMeanProcessingTime();
     }
 
     public long getMaxProcessingTime() throws Exception {
@@ -149,6 +154,26 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter implement
         return deltaProcessingTime.getValue();
     }
 
+    public long getP50ProcessingTime() throws Exception {
+        return getPercentileProcessingTime(50);
+    }
+
+    public long getP95ProcessingTime() throws Exception {
+        return getPercentileProcessingTime(95);
+    }
+
+    public long getP99ProcessingTime() throws Exception {
+        return getPercentileProcessingTime(99);
+    }
+
+    public long getP999ProcessingTime() throws Exception {
+        return getPercentileProcessingTime(99.9);
+    }
+
+    private long getPercentileProcessingTime(double percentile) {
+        return processingTimeHistogram != null ? processingTimeHistogram.getPercentile(percentile) : 0;
+    }
+
     public Date getLastExchangeCompletedTimestamp() {
         long value = lastExchangeCompletedTimestamp.getValue();
         return value > 0 ? new Date(value) : null;
@@ -215,6 +240,9 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter implement
         totalProcessingTime.updateValue(time);
         lastProcessingTime.updateValue(time);
         deltaProcessingTime.updateValue(time);
+        if (processingTimeHistogram != null) {
+            processingTimeHistogram.updateValue(time);
+        }
 
         long now = System.currentTimeMillis();
         if (!firstExchangeCompletedTimestamp.isUpdated()) {
@@ -226,14 +254,6 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter implement
             firstExchangeCompletedExchangeId = exchange.getExchangeId();
         }
         lastExchangeCompletedExchangeId = exchange.getExchangeId();
-
-        // update mean
-        long mean = 0;
-        long completed = exchangesCompleted.getValue();
-        if (completed > 0) {
-            mean = totalProcessingTime.getValue() / completed;
-        }
-        meanProcessingTime.updateValue(mean);
     }
 
     public void failedExchange(Exchange exchange) {
@@ -274,7 +294,11 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter implement
         sb.append(String.format(" totalProcessingTime=\"%s\"", totalProcessingTime.getValue()));
         sb.append(String.format(" lastProcessingTime=\"%s\"", lastProcessingTime.getValue()));
         sb.append(String.format(" deltaProcessingTime=\"%s\"", deltaProcessingTime.getValue()));
-        sb.append(String.format(" meanProcessingTime=\"%s\"", meanProcessingTime.getValue()));
+        sb.append(String.format(" meanProcessingTime=\"%s\"", calculateMeanProcessingTime()));
+        sb.append(String.format(" p50ProcessingTime=\"%s\"", getPercentileProcessingTime(50)));
+        sb.append(String.format(" p95ProcessingTime=\"%s\"", getPercentileProcessingTime(95)));
+        sb.append(String.format(" p99ProcessingTime=\"%s\"", getPercentileProcessingTime(99)));
+        sb.append(String.format(" p999ProcessingTime=\"%s\"", getPercentileProcessingTime(99.9)));
 
         if (fullStats) {
             sb.append(String.format(" startTimestamp=\"%s\"", dateAsString(startTimestamp.getTime())));
@@ -292,6 +316,17 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter implement
         return sb.toString();
     }
 
+    private long calculateMeanProcessingTime() {
+        // the mean is calculated on demand, instead of on every completed exchange,
+        // as reading the counters requires summing their cells
+        long completed = exchangesCompleted.getValue();
+        if (completed > 0) {
+            return totalProcessingTime.getValue() / completed;
+        }
+        // no exchanges completed yet
+        return -1;
+    }
+
     private static String dateAsString(long value) {
         if (value == 0) {
             return "";
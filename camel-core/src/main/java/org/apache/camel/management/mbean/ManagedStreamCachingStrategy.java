@@ -53,6 +53,10 @@ public class ManagedStreamCachingStrategy extends ManagedService implements Mana
         return streamCachingStrategy.getSpoolChiper();
     }
 
+    public boolean isSpoolMemoryMapped() {
+        return streamCachingStrategy.isSpoolMemoryMapped();
+    }
+
     public void setSpoolThreshold(long threshold) {
         streamCachingStrategy.setSpoolThreshold(threshold);
     }
@@ -125,6 +129,10 @@ public class ManagedStreamCachingStrategy extends ManagedService implements Mana
         return streamCachingStrategy.getStatistics().getCacheSpoolAverageSize();
     }
 
+    public long getCacheSpoolMappedRegions() {
+        return streamCachingStrategy.getStatistics().getCacheSpoolMappedRegions();
+    }
+
     public boolean isStatisticsEnabled() {
         return streamCachingStrategy.getStatistics().isStatisticsEnabled();
     }
@@ -0,0 +1,146 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management.mbean;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A histogram which records the distribution of the updated values, so percentiles can be calculated.
+ * <p/>
+ * The values are recorded in buckets in the same style as a HDR histogram, where the values are bucketed
+ * in powers of two, and each power of two is divided into a number of linear sub buckets. This gives a fixed
+ * memory footprint and a relative error of at most 6.25% for the calculated percentiles,
+ * where small values (below 16) are recorded exactly.
+ * <p/>
+ * The buckets are striped by thread, so concurrent updates from many threads are not contending on the same
+ * atomic values. The stripes are summed when calculating percentiles, which is only done on demand.
+ * Negative values are recorded as zero, and large values (above 2^32) are recorded in the last bucket.
+ */
+public class StatisticHistogram extends Statistic {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int EXACT = SUB_BUCKETS << 1;
+    private static final int MAX_EXPONENT = 31;
+    private static final int BUCKETS = EXACT + (MAX_EXPONENT - SUB_BUCKET_BITS) * SUB_BUCKETS;
+    private static final int STRIPES = stripes();
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS * STRIPES);
+
+    public void updateValue(long newValue) {
+        int stripe = (int) Thread.currentThread().getId() & (STRIPES - 1);
+        counts.incrementAndGet(stripe * BUCKETS + bucketIndex(newValue));
+    }
+
+    /**
+     * The number of recorded values
+     */
+    public long getValue() {
+        long total = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            total += counts.get(i);
+        }
+        return total;
+    }
+
+    /**
+     * Calculates the value at the given percentile of the recorded values.
+     *
+     * @param percentile the percentile, such as <tt>99.9</tt>
+     * @return the value at the percentile, or <tt>0</tt> if no values has been recorded
+     */
+    public long getPercentile(double percentile) {
+        long[] buckets = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            long count = counts.get(i);
+            buckets[i % BUCKETS] += count;
+            total += count;
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        long rank = (long) Math.ceil(Math.min(100d, Math.max(0d, percentile)) / 100d * total);
+        rank = Math.max(1, rank);
+        long sum = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            sum += buckets[i];
+            if (sum >= rank) {
+                return bucketValue(i);
+            }
+        }
+        return bucketValue(BUCKETS - 1);
+    }
+
+    @Override
+    public boolean isUpdated() {
+        for (int i = 0; i < counts.length(); i++) {
+            if (counts.get(i) > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void reset() {
+        for (int i = 0; i < counts.length(); i++) {
+            counts.set(i, 0);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "" + getPercentile(50);
+    }
+
+    static int bucketIndex(long value) {
+        if (value < EXACT) {
+            return value < 0 ? 0 : (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKETS - 1;
+        }
+        int sub = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return EXACT + (exponent - SUB_BUCKET_BITS - 1) * SUB_BUCKETS + sub;
+    }
+
+    /**
+     * The value which represents the bucket, which is the middle of the range of values in the bucket.
+     */
+    static long bucketValue(int index) {
+        if (index < EXACT) {
+            return index;
+        }
+        int exponent = (index - EXACT) / SUB_BUCKETS + SUB_BUCKET_BITS + 1;
+        int sub = (index - EXACT) % SUB_BUCKETS;
+        long width = 1L << (exponent - SUB_BUCKET_BITS);
+        long lower = (1L << exponent) + sub * width;
+        return lower + width / 2;
+    }
+
+    private static int stripes() {
+        // use a power of two number of stripes up to 8, depending on the number of processors
+        int processors = Math.min(8, Runtime.getRuntime().availableProcessors());
+        int answer = 1;
+        while (answer < processors) {
+            answer <<= 1;
+        }
+        return answer;
+    }
+}
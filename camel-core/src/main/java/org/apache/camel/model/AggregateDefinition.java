@@ -86,6 +86,8 @@ public class AggregateDefinition extends ProcessorDefinition<AggregateDefinition
     @XmlAttribute
     private Boolean optimisticLocking;
     @XmlAttribute
+    private Boolean stripedLocking;
+    @XmlAttribute
     private String executorServiceRef;
     @XmlAttribute
     private String timeoutCheckerExecutorServiceRef;
@@ -231,6 +233,9 @@ public class AggregateDefinition extends ProcessorDefinition<AggregateDefinition
         if (getOptimisticLocking() != null) {
             answer.setOptimisticLocking(getOptimisticLocking());
         }
+        if (getStripedLocking() != null) {
+            answer.setStripedLocking(getStripedLocking());
+        }
         if (getCompletionPredicate() != null) {
             Predicate predicate = getCompletionPredicate().createPredicate(routeContext);
             answer.setCompletionPredicate(predicate);
@@ -570,6 +575,14 @@ public class AggregateDefinition extends ProcessorDefinition<AggregateDefinition
         this.optimisticLocking = optimisticLocking;
     }
 
+    public Boolean getStripedLocking() {
+        return stripedLocking;
+    }
+
+    public void setStripedLocking(boolean stripedLocking) {
+        this.stripedLocking = stripedLocking;
+    }
+
     public Boolean getParallelProcessing() {
         return parallelProcessing;
     }
@@ -1059,6 +1072,30 @@ public class AggregateDefinition extends ProcessorDefinition<AggregateDefinition
         return this;
     }
 
+    /**
+     * Turns on using striped locking, where exchanges with different correlation keys are aggregated concurrently,
+     * as only correlation keys in the same lock stripe share the same lock. By default a single lock is used for all the correlation keys.
+     * The aggregationRepository being used must support concurrent access for different correlation keys,
+     * such as the default memory based repository.
+     * Striped locking cannot be used together with optimisticLocking, completionFromBatchConsumer or completionOnNewCorrelationGroup.
+     */
+    public AggregateDefinition stripedLocking() {
+        setStripedLocking(true);
+        return this;
+    }
+
+    /**
+     * Turns on using striped locking, where exchanges with different correlation keys are aggregated concurrently,
+     * as only correlation keys in the same lock stripe share the same lock. By default a single lock is used for all the correlation keys.
+     * The aggregationRepository being used must support concurrent access for different correlation keys,
+     * such as the default memory based repository.
+     * Striped locking cannot be used together with optimisticLocking, completionFromBatchConsumer or completionOnNewCorrelationGroup.
+     */
+    public AggregateDefinition stripedLocking(boolean stripedLocking) {
+        setStripedLocking(stripedLocking);
+        return this;
+    }
+
     /**
      * Allows to configure retry settings when using optimistic locking.
      */
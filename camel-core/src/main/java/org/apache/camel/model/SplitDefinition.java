@@ -74,6 +74,8 @@ public class SplitDefinition extends ExpressionNode implements ExecutorServiceAw
     private Boolean parallelAggregate;
     @XmlAttribute
     private Boolean stopOnAggregateException;
+    @XmlAttribute @Metadata(defaultValue = "0")
+    private Integer maxInflight;
 
     public SplitDefinition() {
     }
@@ -113,6 +115,10 @@ public class SplitDefinition extends ExpressionNode implements ExecutorServiceAw
         if (timeout > 0 && !isParallelProcessing) {
             throw new IllegalArgumentException("Timeout is used but ParallelProcessing has not been enabled.");
         }
+        int maxInflight = getMaxInflight() != null ? getMaxInflight() : 0;
+        if (maxInflight > 0 && !isParallelProcessing) {
+            throw new IllegalArgumentException("MaxInflight is used but ParallelProcessing has not been enabled.");
+        }
         if (onPrepareRef != null) {
             onPrepare = CamelContextHelper.mandatoryLookup(routeContext.getCamelContext(), onPrepareRef, Processor.class);
         }
@@ -122,6 +128,7 @@ public class SplitDefinition extends ExpressionNode implements ExecutorServiceAw
         Splitter answer = new Splitter(routeContext.getCamelContext(), exp, childProcessor, aggregationStrategy,
                             isParallelProcessing, threadPool, shutdownThreadPool, isStreaming, isStopOnException(),
                             timeout, onPrepare, isShareUnitOfWork, isParallelAggregate, isStopOnAggregateException);
+        answer.setMaxInflight(maxInflight);
         return answer;
     }
 
@@ -347,6 +354,22 @@ public class SplitDefinition extends ExpressionNode implements ExecutorServiceAw
         return this;
     }
 
+    /**
+     * Sets the maximum number of splitted messages which can be in-flight at the same time when using parallel processing.
+     * A splitted message is in-flight from when it is submitted to the thread pool until its reply has been aggregated.
+     * The splitter does not split the next message until a slot is free, so when combined with streaming
+     * the memory usage stays flat regardless of the size of the incoming message.
+     * <p/>
+     * The default value is 0 which means no limit.
+     *
+     * @param maxInflight the maximum number of in-flight splitted messages
+     * @return the builder
+     */
+    public SplitDefinition maxInflight(int maxInflight) {
+        setMaxInflight(maxInflight);
+        return this;
+    }
+
     /**
      * Shares the {@link org.apache.camel.spi.UnitOfWork} with the parent and each of the sub messages.
      * Splitter will by default not share unit of work between the parent exchange and each splitted exchange.
@@ -503,6 +526,14 @@ public class SplitDefinition extends ExpressionNode implements ExecutorServiceAw
         this.onPrepare = onPrepare;
     }
 
+    public Integer getMaxInflight() {
+        return maxInflight;
+    }
+
+    public void setMaxInflight(Integer maxInflight) {
+        this.maxInflight = maxInflight;
+    }
+
     public Boolean getShareUnitOfWork() {
         return shareUnitOfWork;
     }
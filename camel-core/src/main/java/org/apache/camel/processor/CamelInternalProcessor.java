@@ -18,7 +18,6 @@ package org.apache.camel.processor;
 
 import java.util.ArrayList;
 import java.util.Date;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.concurrent.RejectedExecutionException;
 
@@ -32,6 +31,7 @@ import org.apache.camel.Route;
 import org.apache.camel.StatefulService;
 import org.apache.camel.StreamCache;
 import org.apache.camel.api.management.PerformanceCounter;
+import org.apache.camel.impl.BoundedMessageHistoryList;
 import org.apache.camel.management.DelegatePerformanceCounter;
 import org.apache.camel.management.mbean.ManagedPerformanceCounter;
 import org.apache.camel.model.ProcessorDefinition;
@@ -83,7 +83,12 @@ import org.slf4j.LoggerFactory;
 public class CamelInternalProcessor extends DelegateAsyncProcessor {
 
     private static final Logger LOG = LoggerFactory.getLogger(CamelInternalProcessor.class);
+    private static final CamelInternalProcessorAdvice[] EMPTY_ADVICES = new CamelInternalProcessorAdvice[0];
     private final List<CamelInternalProcessorAdvice> advices = new ArrayList<>();
+    // precomputed from the list of advices, to avoid per exchange overhead during routing
+    private CamelInternalProcessorAdvice[] adviceArray = EMPTY_ADVICES;
+    private int statefulAdvices;
+    private int statefulIndex = -1;
 
     public CamelInternalProcessor() {
     }
@@ -101,6 +106,16 @@ public class CamelInternalProcessor extends DelegateAsyncProcessor {
         advices.add(advice);
         // ensure advices are sorted so they are in the order we want
         advices.sort(OrderedComparator.get());
+
+        adviceArray = advices.toArray(new CamelInternalProcessorAdvice[advices.size()]);
+        statefulAdvices = 0;
+        statefulIndex = -1;
+        for (int i = 0; i < adviceArray.length; i++) {
+            if (adviceArray[i].hasState()) {
+                statefulAdvices++;
+                statefulIndex = i;
+            }
+        }
     }
 
     /**
@@ -140,23 +155,30 @@ public class CamelInternalProcessor extends DelegateAsyncProcessor {
             return true;
         }
 
-        // optimise to use object array for states
-        final Object[] states = new Object[advices.size()];
-        // optimise for loop using index access to avoid creating iterator object
-        for (int i = 0; i < advices.size(); i++) {
-            CamelInternalProcessorAdvice task = advices.get(i);
-            try {
-                Object state = task.before(exchange);
-                states[i] = state;
-            } catch (Throwable e) {
-                exchange.setException(e);
-                callback.done(true);
-                return true;
+        final CamelInternalProcessorAdvice[] tasks = adviceArray;
+        if (tasks.length > 0) {
+            // optimise to only use an object array for states when there is more than one advice with state
+            final int index = statefulIndex;
+            final Object[] states = statefulAdvices > 1 ? new Object[tasks.length] : null;
+            Object state = null;
+            for (int i = 0; i < tasks.length; i++) {
+                try {
+                    Object answer = tasks[i].before(exchange);
+                    if (states != null) {
+                        states[i] = answer;
+                    } else if (i == index) {
+                        state = answer;
+                    }
+                } catch (Throwable e) {
+                    exchange.setException(e);
+                    callback.done(true);
+                    return true;
+                }
             }
-        }
 
-        // create internal callback which will execute the advices in reverse order when done
-        callback = new InternalCallback(states, exchange, callback);
+            // create internal callback which will execute the advices in reverse order when done
+            callback = new InternalCallback(tasks, states, index, state, exchange, callback);
+        }
 
         // UNIT_OF_WORK_PROCESS_SYNC is @deprecated and we should remove it from Camel 3.0
         Object synchronous = exchange.removeProperty(Exchange.UNIT_OF_WORK_PROCESS_SYNC);
@@ -224,14 +246,21 @@ public class CamelInternalProcessor extends DelegateAsyncProcessor {
     /**
      * Internal callback that executes the after advices.
      */
-    private final class InternalCallback implements AsyncCallback {
+    private static final class InternalCallback implements AsyncCallback {
 
+        private final CamelInternalProcessorAdvice[] tasks;
         private final Object[] states;
+        private final int index;
+        private final Object state;
         private final Exchange exchange;
         private final AsyncCallback callback;
 
-        private InternalCallback(Object[] states, Exchange exchange, AsyncCallback callback) {
+        private InternalCallback(CamelInternalProcessorAdvice[] tasks, Object[] states, int index, Object state,
+                                 Exchange exchange, AsyncCallback callback) {
+            this.tasks = tasks;
             this.states = states;
+            this.index = index;
+            this.state = state;
             this.exchange = exchange;
             this.callback = callback;
         }
@@ -244,11 +273,12 @@ public class CamelInternalProcessor extends DelegateAsyncProcessor {
 
             // we should call after in reverse order
             try {
-                for (int i = advices.size() - 1; i >= 0; i--) {
-                    CamelInternalProcessorAdvice task = advices.get(i);
-                    Object state = states[i];
+                for (int i = tasks.length - 1; i >= 0; i--) {
+                    CamelInternalProcessorAdvice task = tasks[i];
+                    // without the states array there is at most one advice with state
+                    Object data = states != null ? states[i] : (i == index ? state : null);
                     try {
-                        task.after(exchange, state);
+                        task.after(exchange, data);
                     } catch (Throwable e) {
                         exchange.setException(e);
                         // allow all advices to complete even if there was an exception
@@ -322,6 +352,11 @@ public class CamelInternalProcessor extends DelegateAsyncProcessor {
                 uow.afterRoute(exchange, route);
             }
         }
+
+        @Override
+        public boolean hasState() {
+            return false;
+        }
     }
 
     /**
@@ -454,6 +489,11 @@ public class CamelInternalProcessor extends DelegateAsyncProcessor {
         public void after(Exchange exchange, Object state) throws Exception {
             inflightRepository.remove(exchange, id);
         }
+
+        @Override
+        public boolean hasState() {
+            return false;
+        }
     }
 
     /**
@@ -522,6 +562,11 @@ public class CamelInternalProcessor extends DelegateAsyncProcessor {
             }
         }
 
+        @Override
+        public boolean hasState() {
+            return false;
+        }
+
         private static boolean isCamelStopping(CamelContext context) {
             if (context instanceof StatefulService) {
                 StatefulService ss = (StatefulService) context;
@@ -577,6 +622,11 @@ public class CamelInternalProcessor extends DelegateAsyncProcessor {
             // noop
         }
 
+        @Override
+        public boolean hasState() {
+            return false;
+        }
+
         @Override
         public int getOrder() {
             // we want tracer just before calling the processor
@@ -740,7 +790,7 @@ public class CamelInternalProcessor extends DelegateAsyncProcessor {
      * Advice when Message History has been enabled.
      */
     @SuppressWarnings("unchecked")
-    public static class MessageHistoryAdvice implements CamelInternalProcessorAdvice<MessageHistory> {
+    public static class MessageHistoryAdvice implements CamelInternalProcessorAdvice<Object> {
 
         private final MessageHistoryFactory factory;
         private final ProcessorDefinition<?> definition;
@@ -753,10 +803,10 @@ public class CamelInternalProcessor extends DelegateAsyncProcessor {
         }
 
         @Override
-        public MessageHistory before(Exchange exchange) throws Exception {
+        public Object before(Exchange exchange) throws Exception {
             List<MessageHistory> list = exchange.getProperty(Exchange.MESSAGE_HISTORY, List.class);
             if (list == null) {
-                list = new LinkedList<>();
+                list = factory.newMessageHistoryList();
                 exchange.setProperty(Exchange.MESSAGE_HISTORY, list);
             }
 
@@ -770,15 +820,24 @@ public class CamelInternalProcessor extends DelegateAsyncProcessor {
                 }
             }
 
+            if (list instanceof BoundedMessageHistoryList) {
+                // record directly in the ring buffer to avoid creating a history object per node
+                BoundedMessageHistoryList bounded = (BoundedMessageHistoryList) list;
+                bounded.addNode(targetRouteId, definition, System.currentTimeMillis());
+                return bounded;
+            }
+
             MessageHistory history = factory.newMessageHistory(targetRouteId, definition, System.currentTimeMillis());
             list.add(history);
             return history;
         }
 
         @Override
-        public void after(Exchange exchange, MessageHistory history) throws Exception {
-            if (history != null) {
-                history.nodeProcessingDone();
+        public void after(Exchange exchange, Object history) throws Exception {
+            if (history instanceof BoundedMessageHistoryList) {
+                ((BoundedMessageHistoryList) history).nodeProcessingDone(definition);
+            } else if (history != null) {
+                ((MessageHistory) history).nodeProcessingDone();
             }
         }
     }
@@ -863,5 +922,10 @@ public class CamelInternalProcessor extends DelegateAsyncProcessor {
         public void after(Exchange exchange, Object data) throws Exception {
             // noop
         }
+
+        @Override
+        public boolean hasState() {
+            return false;
+        }
     }
 }
@@ -46,4 +46,16 @@ public interface CamelInternalProcessorAdvice<T> {
      * @throws Exception is thrown if error during the call.
      */
     void after(Exchange exchange, T data) throws Exception;
+
+    /**
+     * Whether this advice has state, which is returned from the {@link #before(org.apache.camel.Exchange)} method.
+     * <p/>
+     * Advices which always return <tt>null</tt> as state should return <tt>false</tt>, which allows the routing engine
+     * to avoid keeping track of the state for every exchange.
+     *
+     * @return <tt>true</tt> (default) if the advice has state, <tt>false</tt> if the state is always <tt>null</tt>.
+     */
+    default boolean hasState() {
+        return true;
+    }
 }
@@ -19,6 +19,7 @@ package org.apache.camel.processor;
 import java.io.Closeable;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -31,6 +32,7 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -49,6 +51,7 @@ import org.apache.camel.Producer;
 import org.apache.camel.StreamCache;
 import org.apache.camel.Traceable;
 import org.apache.camel.processor.aggregate.AggregationStrategy;
+import org.apache.camel.processor.aggregate.AssociativeAggregationStrategy;
 import org.apache.camel.processor.aggregate.CompletionAwareAggregationStrategy;
 import org.apache.camel.processor.aggregate.DelegateAggregationStrategy;
 import org.apache.camel.processor.aggregate.TimeoutAwareAggregationStrategy;
@@ -161,6 +164,7 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
     private final long timeout;
     private final ConcurrentMap<PreparedErrorHandler, Processor> errorHandlers = new ConcurrentHashMap<>();
     private final boolean shareUnitOfWork;
+    private int maxInflight;
 
     public MulticastProcessor(CamelContext camelContext, Collection<Processor> processors) {
         this(camelContext, processors, null);
@@ -285,6 +289,8 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
 
         final AtomicInteger total = new AtomicInteger(0);
         final Iterator<ProcessorExchangePair> it = pairs.iterator();
+        // bound the number of tasks which are in-flight (processing or awaiting aggregation)
+        final Semaphore inflight = maxInflight > 0 ? new Semaphore(maxInflight) : null;
 
         if (it.hasNext()) {
             // when parallel then aggregate on the fly
@@ -297,16 +303,23 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
             // while we submit new tasks, and those tasks complete concurrently
             // this allows us to optimize work and reduce memory consumption
             final AggregateOnTheFlyTask aggregateOnTheFlyTask = new AggregateOnTheFlyTask(result, original, total, completion, running,
-                    aggregationOnTheFlyDone, allTasksSubmitted, executionException);
+                    aggregationOnTheFlyDone, allTasksSubmitted, executionException, createTreeAggregator(original), inflight);
             final AtomicBoolean aggregationTaskSubmitted = new AtomicBoolean();
 
             LOG.trace("Starting to submit parallel tasks");
             
             try {
                 while (it.hasNext()) {
+                    if (inflight != null && !acquireInflight(inflight, aggregationOnTheFlyDone)) {
+                        // aggregation is done (eg stopped on exception) so do not pull any more from the iterator
+                        break;
+                    }
                     final ProcessorExchangePair pair = it.next();
                     // in case the iterator returns null then continue to next
                     if (pair == null) {
+                        if (inflight != null) {
+                            inflight.release();
+                        }
                         continue;
                     }
     
@@ -390,6 +403,21 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
         LOG.debug("Done parallel processing {} exchanges", total);
     }
 
+    /**
+     * Waits for a free slot in the in-flight window, so the next task can be submitted.
+     *
+     * @return <tt>true</tt> if a slot was acquired, <tt>false</tt> if the aggregation is already done
+     */
+    private boolean acquireInflight(Semaphore inflight, CountDownLatch aggregationOnTheFlyDone) throws InterruptedException {
+        while (!inflight.tryAcquire(1, TimeUnit.SECONDS)) {
+            if (aggregationOnTheFlyDone.getCount() == 0) {
+                return false;
+            }
+            LOG.trace("Waiting for a free slot as there are {} in-flight tasks", maxInflight);
+        }
+        return true;
+    }
+
     /**
      * Boss worker to control aggregate on-the-fly for completed tasks when using parallel processing.
      * <p/>
@@ -411,11 +439,13 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
         private final CountDownLatch aggregationOnTheFlyDone;
         private final AtomicBoolean allTasksSubmitted;
         private final AtomicException executionException;
+        private final ParallelTreeAggregator treeAggregator;
+        private final Semaphore inflight;
 
         private AggregateOnTheFlyTask(AtomicExchange result, Exchange original, AtomicInteger total,
                                       CompletionService<Exchange> completion, AtomicBoolean running,
                                       CountDownLatch aggregationOnTheFlyDone, AtomicBoolean allTasksSubmitted,
-                                      AtomicException executionException) {
+                                      AtomicException executionException, ParallelTreeAggregator treeAggregator, Semaphore inflight) {
             this.result = result;
             this.original = original;
             this.total = total;
@@ -424,6 +454,8 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
             this.aggregationOnTheFlyDone = aggregationOnTheFlyDone;
             this.allTasksSubmitted = allTasksSubmitted;
             this.executionException = executionException;
+            this.treeAggregator = treeAggregator;
+            this.inflight = inflight;
         }
 
         public void run() {
@@ -484,12 +516,20 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
 
                 if (future == null) {
                     ParallelAggregateTimeoutTask task = new ParallelAggregateTimeoutTask(original, result, completion, aggregated, total, timedOut);
-                    if (parallelAggregate) {
+                    if (treeAggregator != null) {
+                        // merge what we have so far so the strategy is notified with the current aggregated result
+                        treeAggregator.flush(result);
+                        task.run();
+                    } else if (parallelAggregate) {
                         aggregateExecutorService.submit(task);
                     } else {
                         // in non parallel mode then just run the task
                         task.run();
                     }
+                    if (inflight != null) {
+                        // the timed out task no longer counts as in-flight
+                        inflight.release();
+                    }
                 } else {
                     // there is a result to aggregate
                     Exchange subExchange = future.get();
@@ -507,7 +547,16 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
                     }
 
                     // we got a result so aggregate it
-                    ParallelAggregateTask task = new ParallelAggregateTask(result, subExchange, aggregated);
+                    if (treeAggregator != null) {
+                        // the strategy is associative so reduce it tree-style with its adjacent results
+                        treeAggregator.add(number, subExchange);
+                        aggregated.incrementAndGet();
+                        if (inflight != null) {
+                            inflight.release();
+                        }
+                        continue;
+                    }
+                    ParallelAggregateTask task = new ParallelAggregateTask(result, subExchange, aggregated, inflight);
                     if (parallelAggregate) {
                         aggregateExecutorService.submit(task);
                     } else {
@@ -517,6 +566,11 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
                 }
             }
 
+            if (treeAggregator != null && !stoppedOnException) {
+                // merge the partial results in order as the final result
+                treeAggregator.flush(result);
+            }
+
             if (timedOut.get() || stoppedOnException) {
                 if (timedOut.get()) {
                     LOG.debug("Cancelling tasks due timeout after {} millis.", timeout);
@@ -538,11 +592,13 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
         private final AtomicExchange result;
         private final Exchange subExchange;
         private final AtomicInteger aggregated;
+        private final Semaphore inflight;
 
-        private ParallelAggregateTask(AtomicExchange result, Exchange subExchange, AtomicInteger aggregated) {
+        private ParallelAggregateTask(AtomicExchange result, Exchange subExchange, AtomicInteger aggregated, Semaphore inflight) {
             this.result = result;
             this.subExchange = subExchange;
             this.aggregated = aggregated;
+            this.inflight = inflight;
         }
 
         @Override
@@ -564,6 +620,10 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
                 }
             } finally {
                 aggregated.incrementAndGet();
+                if (inflight != null) {
+                    // the task has been aggregated so free its slot
+                    inflight.release();
+                }
             }
         }
     }
@@ -622,6 +682,142 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
         }
     }
 
+    /**
+     * Creates the {@link ParallelTreeAggregator} to use if the aggregation strategy is an {@link AssociativeAggregationStrategy}.
+     *
+     * @param original the original exchange
+     * @return the tree aggregator, or <tt>null</tt> if the replies must be aggregated one at a time
+     */
+    private ParallelTreeAggregator createTreeAggregator(Exchange original) {
+        AggregationStrategy strategy = getAggregationStrategy(original);
+        AggregationStrategy target = strategy;
+        if (target instanceof DelegateAggregationStrategy) {
+            target = ((DelegateAggregationStrategy) target).getDelegate();
+        }
+        if (target instanceof AssociativeAggregationStrategy) {
+            LOG.trace("Using tree aggregation with associative aggregation strategy: {}", target);
+            return new ParallelTreeAggregator(strategy);
+        }
+        return null;
+    }
+
+    /**
+     * Reduces the completed tasks tree-style when using parallel processing with an {@link AssociativeAggregationStrategy}.
+     * <p/>
+     * Each completed task becomes a segment of the result identified by its index. When a segment has an adjacent
+     * segment then the two are aggregated (in index order) on the aggregate thread pool, which means independent pairs
+     * are aggregated concurrently without a single lock around the aggregation strategy. The segments which remain
+     * are merged in index order into the result when flushed, so the output is the same as when aggregating in sequence.
+     */
+    private final class ParallelTreeAggregator {
+
+        private final AggregationStrategy strategy;
+        private final Map<Integer, Segment> segmentsByFirst = new HashMap<>();
+        private final Map<Integer, Segment> segmentsByLast = new HashMap<>();
+        private int inflight;
+        private RuntimeException failure;
+
+        private ParallelTreeAggregator(AggregationStrategy strategy) {
+            this.strategy = strategy;
+        }
+
+        synchronized void add(int index, Exchange subExchange) {
+            merge(new Segment(index, index, subExchange));
+        }
+
+        /**
+         * Waits for the in-flight aggregations to complete and then merges the remaining segments in index order into the result.
+         */
+        synchronized void flush(AtomicExchange result) throws InterruptedException {
+            while (inflight > 0) {
+                wait();
+            }
+            if (failure != null) {
+                RuntimeException e = failure;
+                failure = null;
+                throw e;
+            }
+            if (segmentsByFirst.isEmpty()) {
+                return;
+            }
+            List<Segment> segments = new ArrayList<>(segmentsByFirst.values());
+            segments.sort((a, b) -> Integer.compare(a.first, b.first));
+            segmentsByFirst.clear();
+            segmentsByLast.clear();
+            for (Segment segment : segments) {
+                doAggregateInternal(strategy, result, segment.exchange);
+            }
+        }
+
+        // must be called while holding the lock
+        private void merge(Segment segment) {
+            Segment left = segmentsByLast.remove(segment.first - 1);
+            if (left != null) {
+                segmentsByFirst.remove(left.first);
+                submit(left, segment);
+                return;
+            }
+            Segment right = segmentsByFirst.remove(segment.last + 1);
+            if (right != null) {
+                segmentsByLast.remove(right.last);
+                submit(segment, right);
+                return;
+            }
+            // no neighbours yet so keep it until they complete
+            segmentsByFirst.put(segment.first, segment);
+            segmentsByLast.put(segment.last, segment);
+        }
+
+        private void submit(final Segment left, final Segment right) {
+            inflight++;
+            aggregateExecutorService.submit(new Runnable() {
+                public void run() {
+                    Exchange answer = aggregate(left.exchange, right.exchange);
+                    synchronized (ParallelTreeAggregator.this) {
+                        inflight--;
+                        merge(new Segment(left.first, right.last, answer));
+                        ParallelTreeAggregator.this.notifyAll();
+                    }
+                }
+            });
+        }
+
+        private Exchange aggregate(Exchange oldExchange, Exchange newExchange) {
+            try {
+                ExchangeHelper.prepareAggregation(oldExchange, newExchange);
+                Exchange answer = strategy.aggregate(oldExchange, newExchange);
+                return answer != null ? answer : oldExchange;
+            } catch (RuntimeException e) {
+                if (isStopOnAggregateException()) {
+                    synchronized (this) {
+                        if (failure == null) {
+                            failure = e;
+                        }
+                    }
+                } else {
+                    // wrap in exception to explain where it failed
+                    CamelExchangeException cex = new CamelExchangeException("Parallel processing failed for number " + getExchangeIndex(newExchange), newExchange, e);
+                    newExchange.setException(cex);
+                    LOG.debug(cex.getMessage(), cex);
+                }
+                // keep the left hand side so the aggregation can continue
+                return oldExchange;
+            }
+        }
+    }
+
+    private static final class Segment {
+        private final int first;
+        private final int last;
+        private final Exchange exchange;
+
+        private Segment(int first, int last, Exchange exchange) {
+            this.first = first;
+            this.last = last;
+            this.exchange = exchange;
+        }
+    }
+
     protected boolean doProcessSequential(Exchange original, AtomicExchange result, Iterable<ProcessorExchangePair> pairs, AsyncCallback callback) throws Exception {
         AtomicInteger total = new AtomicInteger();
         Iterator<ProcessorExchangePair> it = pairs.iterator();
@@ -1338,6 +1534,19 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
         return shareUnitOfWork;
     }
 
+    public int getMaxInflight() {
+        return maxInflight;
+    }
+
+    /**
+     * Sets the maximum number of tasks which can be in-flight when using parallel processing.
+     * A task is in-flight from when it is submitted until its reply has been aggregated, and the next
+     * message is not pulled from the iterator until a slot is free. Use 0 (default) for no limit.
+     */
+    public void setMaxInflight(int maxInflight) {
+        this.maxInflight = maxInflight;
+    }
+
     public List<Processor> next() {
         if (!hasNext()) {
             return null;
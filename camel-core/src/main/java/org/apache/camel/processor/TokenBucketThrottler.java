@@ -0,0 +1,237 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.Expression;
+import org.apache.camel.Processor;
+import org.apache.camel.RuntimeExchangeException;
+import org.apache.camel.util.ObjectHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A <a href="http://camel.apache.org/throttler.html">Throttler</a> which uses a lock-free
+ * token bucket instead of a {@link java.util.concurrent.DelayQueue} of permits.
+ * <p/>
+ * The bucket is represented by a single {@link AtomicLong} holding the theoretical time when the bucket
+ * is full again (also known as the generic cell rate algorithm). Each exchange reserves a slot by
+ * moving that time forward by <tt>timePeriodMillis / maxRequestsPerPeriod</tt>, which allows a burst of
+ * up to <tt>maxRequestsPerPeriod</tt> exchanges and then a steady rate afterwards.
+ * <p/>
+ * An exchange which is not eligible yet is never blocking the caller thread. Instead the remainder of the
+ * routing is scheduled on the scheduled thread pool to continue at the time the exchange becomes eligible.
+ * Only transacted exchanges (which must stay on the same thread) are delayed by the caller thread.
+ *
+ * @version
+ */
+public class TokenBucketThrottler extends Throttler {
+
+    private final Logger log = LoggerFactory.getLogger(TokenBucketThrottler.class);
+    private final ScheduledExecutorService scheduler;
+    // the theoretical time (System.nanoTime) when the bucket is full again
+    private final AtomicLong fullTime = new AtomicLong(System.nanoTime());
+    private volatile int throttleRate;
+
+    public TokenBucketThrottler(final CamelContext camelContext, final Processor processor, final Expression maxRequestsPerPeriodExpression, final long timePeriodMillis,
+                                final ScheduledExecutorService scheduler, final boolean shutdownScheduler, final boolean rejectExecution) {
+        super(camelContext, processor, maxRequestsPerPeriodExpression, timePeriodMillis, scheduler, shutdownScheduler, rejectExecution);
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public boolean process(final Exchange exchange, final AsyncCallback callback) {
+        try {
+            if (!isRunAllowed()) {
+                throw new RejectedExecutionException("Run is not allowed");
+            }
+
+            int rate = calculateMaxRequestsPerPeriod(exchange);
+            long delay = acquirePermit(rate);
+            if (delay < 0) {
+                throw new ThrottlerRejectedExecutionException("Exceeded the max throttle rate of "
+                        + rate + " within " + getTimePeriodMillis() + "ms");
+            }
+
+            if (delay == 0) {
+                log.trace("No throttling applied to exchangeId: {}", exchange.getExchangeId());
+                return continueProcessing(exchange, callback);
+            }
+
+            if (exchange.isTransacted()) {
+                // transacted exchanges must continue on the same thread
+                log.trace("Throttling transacted exchangeId: {} for {}ns in the current thread", exchange.getExchangeId(), delay);
+                TimeUnit.NANOSECONDS.sleep(delay);
+                return continueProcessing(exchange, callback);
+            }
+
+            return scheduleProcessing(exchange, callback, rate, delay);
+        } catch (final InterruptedException e) {
+            // determine if we can still run, or the camel context is forcing a shutdown
+            boolean forceShutdown = exchange.getContext().getShutdownStrategy().forceShutdown(this);
+            if (forceShutdown) {
+                String msg = "Run not allowed as ShutdownStrategy is forcing shutting down, will reject executing exchange: " + exchange;
+                log.debug(msg);
+                exchange.setException(new RejectedExecutionException(msg, e));
+            } else {
+                exchange.setException(e);
+            }
+            callback.done(true);
+            return true;
+        } catch (final Throwable t) {
+            exchange.setException(t);
+            callback.done(true);
+            return true;
+        }
+    }
+
+    /**
+     * Reserves a permit from the token bucket.
+     *
+     * @param rate the maximum number of requests per time period
+     * @return the delay in nanos before the exchange is eligible to continue, <tt>0</tt> to continue
+     *         immediately, or <tt>-1</tt> if the exchange was rejected as no permit was available
+     */
+    protected long acquirePermit(int rate) {
+        final long period = TimeUnit.MILLISECONDS.toNanos(getTimePeriodMillis());
+        if (rate == 0) {
+            // no permits so check again in the next time period (the rate may change in the meantime)
+            return isRejectExecution() ? -1 : period;
+        }
+
+        final long interval = Math.max(1, period / rate);
+        final long tolerance = period - interval;
+        while (true) {
+            final long now = System.nanoTime();
+            final long current = fullTime.get();
+            // if the bucket has been full for a while then start from now
+            final long start = current - now < 0 ? now : current;
+            final long delay = start - now - tolerance;
+            if (delay > 0 && isRejectExecution()) {
+                return -1;
+            }
+            if (fullTime.compareAndSet(current, start + interval)) {
+                return delay > 0 ? delay : 0;
+            }
+        }
+    }
+
+    /**
+     * Schedules the exchange to continue routing when it is eligible, without blocking the caller thread.
+     */
+    protected boolean scheduleProcessing(final Exchange exchange, final AsyncCallback callback, final int rate, final long delay) throws Exception {
+        log.trace("Throttling exchangeId: {} for {}ns", exchange.getExchangeId(), delay);
+        try {
+            scheduler.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        if (rate == 0) {
+                            // there was no permit, so go through the token bucket again
+                            process(exchange, new AsyncCallback() {
+                                @Override
+                                public void done(boolean doneSync) {
+                                    callback.done(false);
+                                }
+                            });
+                        } else {
+                            continueProcessing(exchange, new AsyncCallback() {
+                                @Override
+                                public void done(boolean doneSync) {
+                                    callback.done(false);
+                                }
+                            });
+                        }
+                    } catch (Throwable t) {
+                        exchange.setException(t);
+                        callback.done(false);
+                    }
+                }
+            }, delay, TimeUnit.NANOSECONDS);
+            return false;
+        } catch (final RejectedExecutionException e) {
+            if (isCallerRunsWhenRejected()) {
+                log.debug("Scheduler is full, rejected exchange will be throttled in the current thread, exchangeId: {}", exchange.getExchangeId());
+                TimeUnit.NANOSECONDS.sleep(delay);
+                if (rate == 0) {
+                    return process(exchange, callback);
+                }
+                return continueProcessing(exchange, callback);
+            }
+            throw e;
+        }
+    }
+
+    private boolean continueProcessing(final Exchange exchange, final AsyncCallback callback) {
+        if (processor != null) {
+            return processor.process(exchange, callback);
+        }
+        callback.done(true);
+        return true;
+    }
+
+    /**
+     * Evaluates the maxRequestsPerPeriodExpression and adjusts the throttle rate up or down.
+     */
+    protected int calculateMaxRequestsPerPeriod(final Exchange exchange) throws Exception {
+        Integer newThrottle = getMaximumRequestsPerPeriodExpression().evaluate(exchange, Integer.class);
+
+        if (newThrottle != null && newThrottle < 0) {
+            throw new IllegalStateException("The maximumRequestsPerPeriod must be a positive number, was: " + newThrottle);
+        }
+
+        if (newThrottle == null) {
+            if (throttleRate == 0) {
+                throw new RuntimeExchangeException("The maxRequestsPerPeriodExpression was evaluated as null: " + getMaximumRequestsPerPeriodExpression(), exchange);
+            }
+            return throttleRate;
+        }
+
+        if (newThrottle != throttleRate) {
+            log.debug("Throttle rate changed from {} to {}, triggered by ExchangeId: {}", throttleRate, newThrottle, exchange.getExchangeId());
+            throttleRate = newThrottle;
+        }
+        return newThrottle;
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        ObjectHelper.notNull(scheduler, "executorService", this);
+        super.doStart();
+    }
+
+    /**
+     * Gets the current maximum request per period value.
+     */
+    @Override
+    public int getCurrentMaximumRequestsPerPeriod() {
+        return throttleRate;
+    }
+
+    @Override
+    public String toString() {
+        return "TokenBucketThrottler[requests: " + getMaximumRequestsPerPeriodExpression() + " per: " + getTimePeriodMillis() + " (ms) to: "
+                + getProcessor() + "]";
+    }
+}
@@ -88,10 +88,12 @@ import org.slf4j.LoggerFactory;
 public class AggregateProcessor extends ServiceSupport implements AsyncProcessor, Navigate<Processor>, Traceable, ShutdownPrepared, ShutdownAware, IdAware {
 
     public static final String AGGREGATE_TIMEOUT_CHECKER = "AggregateTimeoutChecker";
+    public static final int DEFAULT_LOCK_STRIPES = 64;
 
     private static final Logger LOG = LoggerFactory.getLogger(AggregateProcessor.class);
 
     private final Lock lock = new ReentrantLock();
+    private Lock[] stripedLocks;
     private final AtomicBoolean aggregateRepositoryWarned = new AtomicBoolean();
     private final CamelContext camelContext;
     private final Processor processor;
@@ -113,6 +115,7 @@ public class AggregateProcessor extends ServiceSupport implements AsyncProcessor
     private Map<String, String> closedCorrelationKeys;
     private final Set<String> batchConsumerCorrelationKeys = new ConcurrentSkipListSet<>();
     private final Set<String> inProgressCompleteExchanges = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+    private final Set<String> pendingForceCompletionKeys = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
     private final Map<String, RedeliveryData> redeliveryState = new ConcurrentHashMap<>();
 
     private final AggregateProcessorStatistics statistics = new Statistics();
@@ -196,6 +199,8 @@ public class AggregateProcessor extends ServiceSupport implements AsyncProcessor
     private Integer closeCorrelationKeyOnCompletion;
     private boolean parallelProcessing;
     private boolean optimisticLocking;
+    private boolean stripedLocking;
+    private int lockStripes = DEFAULT_LOCK_STRIPES;
 
     // different ways to have completion triggered
     private boolean eagerCheckCompletion;
@@ -344,12 +349,14 @@ public class AggregateProcessor extends ServiceSupport implements AsyncProcessor
             // when memory based then its fast using synchronized, but if the aggregation repository is IO
             // bound such as JPA etc then concurrent aggregation per correlation key could
             // improve performance as we can run aggregation repository get/add in parallel
+            // which is what striped locking does, as it only locks the correlation keys in the same stripe
             List<Exchange> aggregated = null;
-            lock.lock();
+            Lock groupLock = getLock(key);
+            groupLock.lock();
             try {
                 aggregated = doAggregation(key, copy);
             } finally {
-                lock.unlock();
+                groupLock.unlock();
             }
             // we are completed so do that work outside the lock
             if (aggregated != null) {
@@ -357,6 +364,14 @@ public class AggregateProcessor extends ServiceSupport implements AsyncProcessor
                     onSubmitCompletion(key, agg);
                 }
             }
+            // force completion of other groups cannot be done while holding the lock of a group when using striped locking
+            if (!pendingForceCompletionKeys.isEmpty()) {
+                for (String pendingKey : pendingForceCompletionKeys) {
+                    if (pendingForceCompletionKeys.remove(pendingKey)) {
+                        forceCompletionOfGroup(pendingKey);
+                    }
+                }
+            }
         }
 
         // check for the special header to force completion of all groups (inclusive of the message)
@@ -462,7 +477,19 @@ public class AggregateProcessor extends ServiceSupport implements AsyncProcessor
         if (completeAllGroups) {
             // remove the exchange property so we do not complete again
             answer.removeProperty(Exchange.AGGREGATION_COMPLETE_ALL_GROUPS);
-            forceCompletionOfAllGroups();
+            if (stripedLocks != null) {
+                // we hold the lock of this group, so the other groups must be completed after the lock is released
+                Set<String> keys = aggregationRepository.getKeys();
+                if (keys != null) {
+                    for (String other : keys) {
+                        if (!other.equals(key)) {
+                            pendingForceCompletionKeys.add(other);
+                        }
+                    }
+                }
+            } else {
+                forceCompletionOfAllGroups();
+            }
         } else if (isCompletionOnNewCorrelationGroup() && originalExchange == null) {
             // its a new group so force complete of all existing groups
             forceCompletionOfAllGroups();
@@ -546,6 +573,26 @@ public class AggregateProcessor extends ServiceSupport implements AsyncProcessor
         }
     }
 
+    /**
+     * Gets the lock to use for aggregating the group with the given correlation key.
+     * <p/>
+     * This is the shared aggregation lock, unless striped locking is enabled,
+     * where the lock is selected from the stripes by the hash code of the correlation key.
+     *
+     * @param key the correlation key
+     * @return the lock
+     */
+    protected Lock getLock(String key) {
+        Lock[] locks = stripedLocks;
+        if (locks == null) {
+            return lock;
+        }
+        // spread the hash code as the stripes is a power of two
+        int hash = key.hashCode();
+        hash ^= hash >>> 16;
+        return locks[hash & (locks.length - 1)];
+    }
+
     protected void onOptimisticLockingFailure(Exchange oldExchange, Exchange newExchange) {
         AggregationStrategy strategy = aggregationStrategy;
         if (strategy instanceof DelegateAggregationStrategy) {
@@ -985,6 +1032,30 @@ public class AggregateProcessor extends ServiceSupport implements AsyncProcessor
         this.optimisticLocking = optimisticLocking;
     }
 
+    public boolean isStripedLocking() {
+        return stripedLocking;
+    }
+
+    /**
+     * Whether to lock per correlation key using a number of lock stripes, instead of using a single shared lock,
+     * which allows exchanges with different correlation keys to be aggregated concurrently.
+     */
+    public void setStripedLocking(boolean stripedLocking) {
+        this.stripedLocking = stripedLocking;
+    }
+
+    public int getLockStripes() {
+        return lockStripes;
+    }
+
+    /**
+     * The number of lock stripes to use when striped locking is enabled. The number is rounded up to a power of two.
+     * Is default 64.
+     */
+    public void setLockStripes(int lockStripes) {
+        this.lockStripes = lockStripes;
+    }
+
     public AggregationRepository getAggregationRepository() {
         return aggregationRepository;
     }
@@ -1109,13 +1180,15 @@ public class AggregateProcessor extends ServiceSupport implements AsyncProcessor
         @Override
         public void purge() {
             // must acquire the shared aggregation lock to be able to purge
-            if (!optimisticLocking) {
+            // (striped locking acquires the lock of each group on eviction instead)
+            boolean useLock = !optimisticLocking && stripedLocks == null;
+            if (useLock) {
                 lock.lock();
             }
             try {
                 super.purge();
             } finally {
-                if (!optimisticLocking) {
+                if (useLock) {
                     lock.unlock();
                 }
             }
@@ -1123,6 +1196,30 @@ public class AggregateProcessor extends ServiceSupport implements AsyncProcessor
 
         @Override
         public boolean onEviction(String key, String exchangeId) {
+            if (stripedLocks == null) {
+                return doEviction(key, exchangeId);
+            }
+
+            Lock groupLock = getLock(key);
+            groupLock.lock();
+            try {
+                // the purge does not hold any lock, so an incoming exchange may have updated the group
+                // (which puts a new timeout entry) after the purge found the group to be expired
+                if (!isExpired(key)) {
+                    LOG.trace("Completion timeout for correlation key: {} skipped as the group has been updated", key);
+                    return false;
+                }
+                // remove while holding the lock so we do not remove the timeout of a new group
+                remove(key);
+                doEviction(key, exchangeId);
+            } finally {
+                groupLock.unlock();
+            }
+            // we have already removed the group
+            return false;
+        }
+
+        private boolean doEviction(String key, String exchangeId) {
             log.debug("Completion timeout triggered for correlation key: {}", key);
 
             boolean inProgress = inProgressCompleteExchanges.contains(exchangeId);
@@ -1176,34 +1273,46 @@ public class AggregateProcessor extends ServiceSupport implements AsyncProcessor
 
             if (keys != null && !keys.isEmpty()) {
                 // must acquire the shared aggregation lock to be able to trigger interval completion
-                if (!optimisticLocking) {
+                // (striped locking acquires the lock of each group instead)
+                boolean useLock = !optimisticLocking && stripedLocks == null;
+                if (useLock) {
                     lock.lock();
                 }
                 try {
                     for (String key : keys) {
-                        boolean stolenInterval = false;
-                        Exchange exchange = aggregationRepository.get(camelContext, key);
-                        if (exchange == null) {
-                            stolenInterval = true;
-                        } else {
-                            LOG.trace("Completion interval triggered for correlation key: {}", key);
-                            // indicate it was completed by interval
-                            exchange.setProperty(Exchange.AGGREGATED_COMPLETED_BY, "interval");
-                            try {
-                                Exchange answer = onCompletion(key, exchange, exchange, false);
-                                if (answer != null) {
-                                    onSubmitCompletion(key, answer);
-                                }
-                            } catch (OptimisticLockingAggregationRepository.OptimisticLockingException e) {
+                        Lock groupLock = stripedLocks != null ? getLock(key) : null;
+                        if (groupLock != null) {
+                            groupLock.lock();
+                        }
+                        try {
+                            boolean stolenInterval = false;
+                            Exchange exchange = aggregationRepository.get(camelContext, key);
+                            if (exchange == null) {
                                 stolenInterval = true;
+                            } else {
+                                LOG.trace("Completion interval triggered for correlation key: {}", key);
+                                // indicate it was completed by interval
+                                exchange.setProperty(Exchange.AGGREGATED_COMPLETED_BY, "interval");
+                                try {
+                                    Exchange answer = onCompletion(key, exchange, exchange, false);
+                                    if (answer != null) {
+                                        onSubmitCompletion(key, answer);
+                                    }
+                                } catch (OptimisticLockingAggregationRepository.OptimisticLockingException e) {
+                                    stolenInterval = true;
+                                }
+                            }
+                            if (optimisticLocking && stolenInterval) {
+                                LOG.debug("Another Camel instance has already processed this interval aggregation for exchange with correlation id: {}", key);
+                            }
+                        } finally {
+                            if (groupLock != null) {
+                                groupLock.unlock();
                             }
-                        }
-                        if (optimisticLocking && stolenInterval) {
-                            LOG.debug("Another Camel instance has already processed this interval aggregation for exchange with correlation id: {}", key);
                         }
                     }
                 } finally {
-                    if (!optimisticLocking) {
+                    if (useLock) {
                         lock.unlock();
                     }
                 }
@@ -1366,6 +1475,28 @@ public class AggregateProcessor extends ServiceSupport implements AsyncProcessor
             LOG.info("Optimistic locking is enabled");
         }
 
+        if (stripedLocking) {
+            if (optimisticLocking) {
+                throw new IllegalArgumentException("Striped locking cannot be used together with optimistic locking");
+            }
+            if (isCompletionFromBatchConsumer() || isCompletionOnNewCorrelationGroup()) {
+                throw new IllegalArgumentException("Striped locking cannot be used together with completionFromBatchConsumer or completionOnNewCorrelationGroup"
+                        + " as these completions span multiple correlation groups");
+            }
+            int stripes = 1;
+            while (stripes < lockStripes) {
+                stripes <<= 1;
+            }
+            Lock[] locks = new Lock[stripes];
+            for (int i = 0; i < stripes; i++) {
+                locks[i] = new ReentrantLock();
+            }
+            stripedLocks = locks;
+            LOG.info("Striped locking is enabled using {} lock stripes", stripes);
+        } else {
+            stripedLocks = null;
+        }
+
         ServiceHelper.startServices(aggregationStrategy, processor, aggregationRepository);
 
         // should we use recover checker
@@ -1456,6 +1587,7 @@ public class AggregateProcessor extends ServiceSupport implements AsyncProcessor
             closedCorrelationKeys.clear();
         }
         batchConsumerCorrelationKeys.clear();
+        pendingForceCompletionKeys.clear();
         redeliveryState.clear();
     }
 
@@ -1530,8 +1662,9 @@ public class AggregateProcessor extends ServiceSupport implements AsyncProcessor
         // must acquire the shared aggregation lock to be able to trigger force completion
         int total = 0;
 
+        Lock groupLock = getLock(key);
         if (!optimisticLocking) {
-            lock.lock();
+            groupLock.lock();
         }
         try {
             Exchange exchange = aggregationRepository.get(camelContext, key);
@@ -1547,7 +1680,7 @@ public class AggregateProcessor extends ServiceSupport implements AsyncProcessor
             }
         } finally {
             if (!optimisticLocking) {
-                lock.unlock(); 
+                groupLock.unlock();
             }
         }
         LOG.trace("Completed force completion of group {}", key);
@@ -1575,25 +1708,37 @@ public class AggregateProcessor extends ServiceSupport implements AsyncProcessor
         int total = 0;
         if (keys != null && !keys.isEmpty()) {
             // must acquire the shared aggregation lock to be able to trigger force completion
-            if (!optimisticLocking) {
+            // (striped locking acquires the lock of each group instead)
+            boolean useLock = !optimisticLocking && stripedLocks == null;
+            if (useLock) {
                 lock.lock(); 
             }
             total = keys.size();
             try {
                 for (String key : keys) {
-                    Exchange exchange = aggregationRepository.get(camelContext, key);
-                    if (exchange != null) {
-                        LOG.trace("Force completion triggered for correlation key: {}", key);
-                        // indicate it was completed by a force completion request
-                        exchange.setProperty(Exchange.AGGREGATED_COMPLETED_BY, "force");
-                        Exchange answer = onCompletion(key, exchange, exchange, false);
-                        if (answer != null) {
-                            onSubmitCompletion(key, answer);
+                    Lock groupLock = stripedLocks != null ? getLock(key) : null;
+                    if (groupLock != null) {
+                        groupLock.lock();
+                    }
+                    try {
+                        Exchange exchange = aggregationRepository.get(camelContext, key);
+                        if (exchange != null) {
+                            LOG.trace("Force completion triggered for correlation key: {}", key);
+                            // indicate it was completed by a force completion request
+                            exchange.setProperty(Exchange.AGGREGATED_COMPLETED_BY, "force");
+                            Exchange answer = onCompletion(key, exchange, exchange, false);
+                            if (answer != null) {
+                                onSubmitCompletion(key, answer);
+                            }
+                        }
+                    } finally {
+                        if (groupLock != null) {
+                            groupLock.unlock();
                         }
                     }
                 }
             } finally {
-                if (!optimisticLocking) {
+                if (useLock) {
                     lock.unlock();
                 }
             }
@@ -0,0 +1,37 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.aggregate;
+
+/**
+ * A specialized {@link AggregationStrategy} which declares that its aggregation is associative.
+ * <p/>
+ * When used with parallel processing in the multicast, recipient list or splitter EIPs then the replies
+ * are reduced tree-style, where adjacent replies are aggregated concurrently with each other instead of
+ * one at a time by a single aggregation task. The partial results are merged in the original order at
+ * the end, so the final output is deterministic.
+ * <p/>
+ * <b>Important: </b> An implementation must therefore honour the following contract:
+ * <ul>
+ *     <li>aggregating <tt>aggregate(aggregate(a, b), c)</tt> gives the same result as <tt>aggregate(a, aggregate(b, c))</tt>,
+ *     eg the <tt>newExchange</tt> parameter may be an already aggregated result</li>
+ *     <li>the strategy is thread safe, as aggregation of disjoint exchanges happens concurrently</li>
+ * </ul>
+ *
+ * @version 
+ */
+public interface AssociativeAggregationStrategy extends AggregationStrategy {
+}
@@ -0,0 +1,171 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.idempotent;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedOperation;
+import org.apache.camel.api.management.ManagedResource;
+import org.apache.camel.spi.IdempotentRepository;
+import org.apache.camel.support.ServiceSupport;
+import org.apache.camel.util.LRUCache;
+import org.apache.camel.util.LRUCacheFactory;
+
+/**
+ * A memory based implementation of {@link org.apache.camel.spi.IdempotentRepository} which
+ * is safe for highly concurrent use.
+ * <p/>
+ * Unlike {@link MemoryIdempotentRepository} this implementation does not synchronize on the cache,
+ * but relies on the {@link LRUCache} being a concurrent cache, where keys are added atomically
+ * using <tt>putIfAbsent</tt>. The cache is bounded by the cache size, and uses a frequency aware
+ * eviction policy (W-TinyLFU) when the cache is full.
+ * <p/>
+ * The number of hits (duplicates), misses (new keys) and evicted keys are exposed as JMX attributes.
+ *
+ * @version 
+ */
+@ManagedResource(description = "Concurrent memory based idempotent repository")
+public class ConcurrentMemoryIdempotentRepository extends ServiceSupport implements IdempotentRepository<String> {
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private volatile LRUCache<String, Object> cache;
+    private int cacheSize = 1000;
+
+    public ConcurrentMemoryIdempotentRepository() {
+        this.cache = createCache(cacheSize);
+    }
+
+    public ConcurrentMemoryIdempotentRepository(int cacheSize) {
+        this.cacheSize = cacheSize;
+        this.cache = createCache(cacheSize);
+    }
+
+    /**
+     * Creates a new concurrent memory based repository with a default of 1000 entries in the cache.
+     */
+    public static IdempotentRepository<String> concurrentMemoryIdempotentRepository() {
+        return new ConcurrentMemoryIdempotentRepository();
+    }
+
+    /**
+     * Creates a new concurrent memory based repository.
+     *
+     * @param cacheSize  the cache size
+     */
+    public static IdempotentRepository<String> concurrentMemoryIdempotentRepository(int cacheSize) {
+        return new ConcurrentMemoryIdempotentRepository(cacheSize);
+    }
+
+    @ManagedOperation(description = "Adds the key to the store")
+    public boolean add(String key) {
+        if (cache.putIfAbsent(key, key) == null) {
+            misses.increment();
+            return true;
+        } else {
+            hits.increment();
+            return false;
+        }
+    }
+
+    @ManagedOperation(description = "Does the store contain the given key")
+    public boolean contains(String key) {
+        if (cache.containsKey(key)) {
+            hits.increment();
+            return true;
+        } else {
+            misses.increment();
+            return false;
+        }
+    }
+
+    @ManagedOperation(description = "Remove the key from the store")
+    public boolean remove(String key) {
+        return cache.remove(key) != null;
+    }
+
+    public boolean confirm(String key) {
+        // noop
+        return true;
+    }
+
+    @ManagedOperation(description = "Clear the store")
+    public void clear() {
+        cache.clear();
+        resetStatistics();
+    }
+
+    @ManagedAttribute(description = "The current cache size")
+    public int getCacheSize() {
+        return cache.size();
+    }
+
+    /**
+     * Sets the maximum number of keys to keep in the cache. Default is 1000.
+     * <p/>
+     * Changing the cache size takes effect when this repository is started.
+     */
+    public void setCacheSize(int cacheSize) {
+        this.cacheSize = cacheSize;
+    }
+
+    @ManagedAttribute(description = "The maximum cache size")
+    public int getMaxCacheSize() {
+        return cacheSize;
+    }
+
+    @ManagedAttribute(description = "Number of times a key was found in the store (duplicates)")
+    public long getHits() {
+        return hits.longValue();
+    }
+
+    @ManagedAttribute(description = "Number of times a key was not found in the store")
+    public long getMisses() {
+        return misses.longValue();
+    }
+
+    @ManagedAttribute(description = "Number of keys evicted from the store because it was full")
+    public long getEvicted() {
+        return cache.getEvicted();
+    }
+
+    @ManagedOperation(description = "Reset the statistics such as hits, misses and evicted")
+    public void resetStatistics() {
+        hits.reset();
+        misses.reset();
+        cache.resetStatistics();
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        if (cacheSize != cache.getMaxCacheSize()) {
+            cache = createCache(cacheSize);
+        }
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        cache.clear();
+        resetStatistics();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static LRUCache<String, Object> createCache(int cacheSize) {
+        // the keys are strings so there is no need to stop them on eviction
+        return LRUCacheFactory.newLRUCache(16, cacheSize, false);
+    }
+}
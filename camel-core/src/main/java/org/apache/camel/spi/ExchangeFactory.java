@@ -0,0 +1,61 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spi;
+
+import org.apache.camel.Endpoint;
+import org.apache.camel.Exchange;
+import org.apache.camel.ExchangePattern;
+
+/**
+ * Factory used by endpoints to create new {@link Exchange} instances.
+ * <p/>
+ * The default implementation creates a new {@link Exchange} every time. A pooled implementation can reuse
+ * exchanges which are handed back to the factory via {@link #release(Exchange)},
+ * which reduces the object allocation per routed message. A consumer which knows that it is done with
+ * an exchange (eg the unit of work has completed and the callback has been invoked) can release it back.
+ *
+ * @see org.apache.camel.impl.DefaultExchangeFactory
+ * @see org.apache.camel.impl.PooledExchangeFactory
+ */
+public interface ExchangeFactory {
+
+    /**
+     * Gets an {@link Exchange} which either is a new instance or reused from a pool.
+     *
+     * @param fromEndpoint the endpoint the exchange originates from
+     * @param pattern      the exchange pattern
+     * @return the exchange
+     */
+    Exchange create(Endpoint fromEndpoint, ExchangePattern pattern);
+
+    /**
+     * Releases the {@link Exchange} back so it can be reused.
+     * <p/>
+     * <b>Important:</b> The exchange must not be used after it has been released, as it is reset
+     * and may be handed out to another consumer.
+     *
+     * @param exchange the exchange
+     * @return <tt>true</tt> if the exchange was released to the pool, <tt>false</tt> if not (eg not pooled, or the pool is full)
+     */
+    boolean release(Exchange exchange);
+
+    /**
+     * Whether the factory is pooling (reusing) exchanges.
+     */
+    boolean isPooled();
+
+}
@@ -0,0 +1,63 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spi;
+
+import java.io.IOException;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.impl.DefaultExchangeHolder;
+
+/**
+ * A codec to encode a {@link DefaultExchangeHolder} to bytes and decode it back again, such as when exchanges
+ * are persisted by aggregation repositories.
+ * <p/>
+ * As the data may have been persisted using a different codec (such as Java serialization before a codec was
+ * configured), the {@link #canDecode(byte[])} method is used to detect whether the data is in the format of this codec.
+ *
+ * @see org.apache.camel.impl.BinaryExchangeHolderCodec
+ */
+public interface ExchangeHolderCodec {
+
+    /**
+     * Encodes the holder.
+     *
+     * @param holder the holder
+     * @return the encoded data
+     * @throws IOException is thrown if error encoding
+     */
+    byte[] encode(DefaultExchangeHolder holder) throws IOException;
+
+    /**
+     * Whether the data is in the format of this codec, and can be decoded by this codec.
+     *
+     * @param data the data
+     * @return <tt>true</tt> if the data can be decoded
+     */
+    boolean canDecode(byte[] data);
+
+    /**
+     * Decodes the data to a holder.
+     *
+     * @param camelContext the camel context, used for loading classes
+     * @param data         the data
+     * @return the holder
+     * @throws IOException is thrown if error decoding
+     * @throws ClassNotFoundException is thrown if a class of a serialized value cannot be loaded
+     */
+    DefaultExchangeHolder decode(CamelContext camelContext, byte[] data) throws IOException, ClassNotFoundException;
+
+}
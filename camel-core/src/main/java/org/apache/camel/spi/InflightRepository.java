@@ -192,4 +192,28 @@ public interface InflightRepository extends StaticService {
      */
     InflightExchange oldest(String fromRouteId);
 
+    /**
+     * Whether the inflight exchanges are tracked individually so they can be browsed.
+     * <p/>
+     * If disabled then only the number of inflight exchanges is tracked, which has less overhead,
+     * and the browse and oldest operations returns no exchanges.
+     *
+     * @return <tt>true</tt> if browsing is enabled (default)
+     */
+    default boolean isInflightBrowseEnabled() {
+        return true;
+    }
+
+    /**
+     * Sets whether the inflight exchanges are tracked individually so they can be browsed.
+     * <p/>
+     * This can be changed at runtime, where only the exchanges which has been added after
+     * enabling browsing can be browsed.
+     *
+     * @param inflightBrowseEnabled <tt>true</tt> to enable browsing
+     */
+    default void setInflightBrowseEnabled(boolean inflightBrowseEnabled) {
+        // not supported by default
+    }
+
 }
@@ -17,6 +17,8 @@
 package org.apache.camel.spi;
 
 import java.util.Date;
+import java.util.LinkedList;
+import java.util.List;
 
 import org.apache.camel.MessageHistory;
 import org.apache.camel.NamedNode;
@@ -47,4 +49,14 @@ public interface MessageHistoryFactory {
      * @return a new {@link MessageHistory}
      */
     MessageHistory newMessageHistory(String routeId, NamedNode node, long timestamp);
+
+    /**
+     * Creates a new list to hold the {@link MessageHistory} of an exchange, which is stored
+     * on the exchange as the {@link org.apache.camel.Exchange#MESSAGE_HISTORY} property.
+     *
+     * @return a new list, by default a {@link LinkedList}
+     */
+    default List<MessageHistory> newMessageHistoryList() {
+        return new LinkedList<>();
+    }
 }
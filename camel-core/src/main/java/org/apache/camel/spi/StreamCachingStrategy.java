@@ -62,6 +62,13 @@ public interface StreamCachingStrategy extends StaticService {
          */
         long getCacheSpoolAverageSize();
 
+        /**
+         * Gets the total accumulated number of memory mapped regions for spooled stream caches.
+         */
+        default long getCacheSpoolMappedRegions() {
+            return 0;
+        }
+
         /**
          * Reset the counters
          */
@@ -173,6 +180,28 @@ public interface StreamCachingStrategy extends StaticService {
 
     String getSpoolChiper();
 
+    /**
+     * Sets whether spooled (temporary) files should be memory mapped when they are read.
+     * <p/>
+     * The file is mapped once and shared by all the copies of the stream cache, so reading the stream cache
+     * (and reading it again after reset) is done directly from the operating system page cache, without
+     * reading the file through buffers on the heap. This is recommended for large payloads.
+     * <p/>
+     * Spooled files which are encrypted (see {@link #setSpoolChiper(String)}) are not memory mapped.
+     * The file is unmapped when it is deleted, after all the exchanges using the stream cache are done.
+     * If the JVM does not allow to unmap the file explicitly, then it is unmapped when garbage collected,
+     * and notice that on Windows a file cannot be deleted while it is memory mapped.
+     * <p/>
+     * By default the spooled files are not memory mapped.
+     */
+    default void setSpoolMemoryMapped(boolean memoryMapped) {
+        // not supported by default
+    }
+
+    default boolean isSpoolMemoryMapped() {
+        return false;
+    }
+
     /**
      * Whether to remove the temporary directory when stopping.
      * <p/>
@@ -282,6 +282,16 @@ public class DefaultTimeoutMap<K, V> extends ServiceSupport implements TimeoutMa
         return true;
     }
 
+    /**
+     * Whether the entry with the given key is currently expired.
+     * <p/>
+     * Unlike {@link #get(Object)} this does not update the expire time of the entry.
+     */
+    protected boolean isExpired(K key) {
+        TimeoutMapEntry<K, V> entry = map.get(key);
+        return entry != null && entry.getExpireTime() < currentTime();
+    }
+
     protected void updateExpireTime(TimeoutMapEntry<K, V> entry) {
         long now = currentTime();
         entry.setExpireTime(entry.getTimeout() + now);
@@ -43,6 +43,7 @@ import org.apache.camel.NoTypeConversionAvailableException;
 import org.apache.camel.Route;
 import org.apache.camel.TypeConversionException;
 import org.apache.camel.TypeConverter;
+import org.apache.camel.impl.BoundedMessageHistoryList;
 import org.apache.camel.impl.DefaultExchange;
 import org.apache.camel.impl.MessageSupport;
 import org.apache.camel.spi.Synchronization;
@@ -988,7 +989,11 @@ public final class ExchangeHelper {
         // safe copy message history using a defensive copy
         List<MessageHistory> history = (List<MessageHistory>) answer.remove(Exchange.MESSAGE_HISTORY);
         if (history != null) {
-            answer.put(Exchange.MESSAGE_HISTORY, new LinkedList<>(history));
+            if (history instanceof BoundedMessageHistoryList) {
+                answer.put(Exchange.MESSAGE_HISTORY, new BoundedMessageHistoryList((BoundedMessageHistoryList) history));
+            } else {
+                answer.put(Exchange.MESSAGE_HISTORY, new LinkedList<>(history));
+            }
         }
 
         return answer;
@@ -163,6 +163,12 @@ public class LRUCache<K, V> implements Map<K, V>, RemovalListener<K, V>, Seriali
         return map.put(k, v);
     }
 
+    @Override
+    public V putIfAbsent(K k, V v) {
+        // delegate to the concurrent map so this is an atomic operation
+        return map.putIfAbsent(k, v);
+    }
+
     @Override
     public V remove(Object o) {
         return map.remove(o);
@@ -0,0 +1,101 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.file;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.impl.JndiRegistry;
+
+/**
+ * Unit test for the incremental scan option
+ */
+public class FileConsumerIncrementalScanTest extends ContextTestSupport {
+
+    private final AtomicInteger skipped = new AtomicInteger();
+
+    @Override
+    protected JndiRegistry createRegistry() throws Exception {
+        JndiRegistry jndi = super.createRegistry();
+        jndi.bind("myFilter", new GenericFileFilter<Object>() {
+            public boolean accept(GenericFile<Object> file) {
+                if (file.getFileNameOnly().startsWith("skip")) {
+                    skipped.incrementAndGet();
+                    return false;
+                }
+                return true;
+            }
+        });
+        return jndi;
+    }
+
+    @Override
+    protected void setUp() throws Exception {
+        deleteDirectory("target/incremental");
+        super.setUp();
+    }
+
+    public void testIncrementalScan() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedBodiesReceived("Hello World");
+
+        template.sendBodyAndHeader("file:target/incremental/delete", "Hello World", Exchange.FILE_NAME, "hello.txt");
+
+        assertMockEndpointsSatisfied();
+
+        mock.reset();
+        mock.expectedBodiesReceivedInAnyOrder("Bye World", "Hi World");
+
+        template.sendBodyAndHeader("file:target/incremental/delete", "Bye World", Exchange.FILE_NAME, "bye.txt");
+        template.sendBodyAndHeader("file:target/incremental/delete", "Hi World", Exchange.FILE_NAME, "sub/hi.txt");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    public void testIncrementalScanRejectedFiles() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedBodiesReceived("Hello World");
+
+        template.sendBodyAndHeader("file:target/incremental/noop", "Skip World", Exchange.FILE_NAME, "skip.txt");
+        template.sendBodyAndHeader("file:target/incremental/noop", "Hello World", Exchange.FILE_NAME, "hello.txt");
+
+        assertMockEndpointsSatisfied();
+
+        // let the consumer poll many times
+        Thread.sleep(500);
+
+        // the skipped file should not be evaluated on every poll
+        assertTrue("Should not evaluate the rejected file on every poll, was " + skipped.get(), skipped.get() < 10);
+        assertEquals(1, mock.getReceivedCounter());
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            public void configure() throws Exception {
+                from("file:target/incremental/delete?initialDelay=0&delay=10&delete=true&recursive=true&incrementalScan=true")
+                    .convertBodyTo(String.class).to("mock:result");
+
+                from("file:target/incremental/noop?initialDelay=0&delay=10&noop=true&filter=#myFilter&incrementalScan=true")
+                    .convertBodyTo(String.class).to("mock:result");
+            }
+        };
+    }
+}
@@ -0,0 +1,157 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.file;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.impl.JndiRegistry;
+import org.apache.camel.processor.idempotent.MemoryIdempotentRepository;
+import org.apache.camel.util.StopWatch;
+
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Unit test for the parallelProcessing option
+ */
+public class FileConsumerParallelProcessingTest extends ContextTestSupport {
+
+    private final Set<String> threads = ConcurrentHashMap.newKeySet();
+    private final List<String> committed = Collections.synchronizedList(new ArrayList<>());
+    private final MemoryIdempotentRepository inProgress = new MemoryIdempotentRepository();
+    private final CountDownLatch processing = new CountDownLatch(1);
+
+    @Override
+    protected JndiRegistry createRegistry() throws Exception {
+        JndiRegistry jndi = super.createRegistry();
+        jndi.bind("myRepo", new MemoryIdempotentRepository() {
+            @Override
+            public boolean add(String key) {
+                committed.add(new File(key).getName());
+                return super.add(key);
+            }
+        });
+        jndi.bind("myInProgress", inProgress);
+        return jndi;
+    }
+
+    @Override
+    protected void setUp() throws Exception {
+        deleteDirectory("target/parallel");
+        super.setUp();
+    }
+
+    public void testParallelProcessing() throws Exception {
+        for (int i = 0; i < 20; i++) {
+            template.sendBodyAndHeader("file:target/parallel/delete", "Hello " + i, Exchange.FILE_NAME, "hello" + i + ".txt");
+        }
+
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(20);
+
+        context.startRoute("delete");
+
+        assertMockEndpointsSatisfied();
+
+        assertTrue("Should use more than one thread, was " + threads, threads.size() > 1);
+
+        // the files should be deleted when committed
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() -> {
+            String[] names = new File("target/parallel/delete").list();
+            assertEquals(0, names == null ? 0 : names.length);
+        });
+    }
+
+    public void testParallelProcessingOrderedCommit() throws Exception {
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            String name = "hello" + i + ".txt";
+            expected.add(name);
+            template.sendBodyAndHeader("file:target/parallel/ordered", "" + i, Exchange.FILE_NAME, name);
+        }
+
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(10);
+
+        context.startRoute("ordered");
+
+        assertMockEndpointsSatisfied();
+
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() -> assertEquals(10, committed.size()));
+
+        // the files should be committed in the polled order, even though the first files took longest to process
+        assertEquals(expected, committed);
+    }
+
+    public void testStopWhileProcessing() throws Exception {
+        template.sendBodyAndHeader("file:target/parallel/stop", "Hello World", Exchange.FILE_NAME, "hello.txt");
+
+        context.getShutdownStrategy().setTimeout(1);
+        context.getExecutorServiceManager().setShutdownAwaitTermination(1000);
+
+        context.startRoute("stop");
+        assertTrue(processing.await(5, TimeUnit.SECONDS));
+
+        // the exchange hangs, but the consumer should not wait forever for it when stopping
+        StopWatch watch = new StopWatch();
+        context.stopRoute("stop");
+        assertTrue("Should stop the route quickly, took " + watch.taken() + " millis", watch.taken() < 10000);
+
+        // and the file is rolled back, so its not deleted and no longer in progress
+        assertTrue(new File("target/parallel/stop/hello.txt").exists());
+        assertEquals(0, inProgress.getCacheSize());
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            public void configure() throws Exception {
+                from("file:target/parallel/delete?initialDelay=0&delay=10&delete=true&parallelProcessing=true&poolSize=4")
+                    .routeId("delete").noAutoStartup()
+                    .process(e -> threads.add(Thread.currentThread().getName()))
+                    .delay(10)
+                    .to("mock:result");
+
+                from("file:target/parallel/ordered?initialDelay=0&delay=10&noop=true&idempotentRepository=#myRepo"
+                    + "&sortBy=file:name&parallelProcessing=true&poolSize=4&orderedCommit=true")
+                    .routeId("ordered").noAutoStartup()
+                    .process(e -> Thread.sleep(100 - 10 * Integer.parseInt(e.getIn().getBody(String.class))))
+                    .to("mock:result");
+
+                from("file:target/parallel/stop?initialDelay=0&delay=10&delete=true&inProgressRepository=#myInProgress"
+                    + "&parallelProcessing=true&poolSize=1")
+                    .routeId("stop").noAutoStartup()
+                    .process(e -> {
+                        processing.countDown();
+                        // hang until interrupted when the thread pool is shutdown
+                        Thread.sleep(20000);
+                    })
+                    .to("mock:result");
+            }
+        };
+    }
+}
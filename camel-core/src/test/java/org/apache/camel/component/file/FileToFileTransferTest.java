@@ -0,0 +1,93 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.file;
+
+import java.io.File;
+import java.io.FileInputStream;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+
+/**
+ * Tests writing file based bodies which are transferred using file channels.
+ */
+public class FileToFileTransferTest extends ContextTestSupport {
+
+    @Override
+    protected void setUp() throws Exception {
+        deleteDirectory("target/transfer");
+        super.setUp();
+    }
+
+    public void testFileToFile() throws Exception {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 10000; i++) {
+            sb.append("Line ").append(i).append("\n");
+        }
+        String body = sb.toString();
+
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(1);
+        mock.expectedFileExists("target/transfer/out/hello.txt", body);
+
+        template.sendBodyAndHeader("file://target/transfer/in", body, Exchange.FILE_NAME, "hello.txt");
+        context.startRoute("copy");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    public void testFileToFileAppend() throws Exception {
+        template.sendBodyAndHeader("file://target/transfer/append", "Hello World\n", Exchange.FILE_NAME, "hello.txt");
+        template.sendBodyAndHeader("file://target/transfer/in", "Bye World", Exchange.FILE_NAME, "hello.txt");
+
+        MockEndpoint mock = getMockEndpoint("mock:append");
+        mock.expectedMessageCount(1);
+        mock.expectedFileExists("target/transfer/append/hello.txt", "Hello World\nBye World");
+
+        context.startRoute("append");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    public void testFileInputStream() throws Exception {
+        template.sendBodyAndHeader("file://target/transfer/in", "Hello World", Exchange.FILE_NAME, "hello.txt");
+
+        FileInputStream fis = new FileInputStream(new File("target/transfer/in/hello.txt"));
+        // skip the first bytes, which should not be transferred
+        assertEquals(6, fis.skip(6));
+        template.sendBodyAndHeader("file://target/transfer/stream", fis, Exchange.FILE_NAME, "world.txt");
+
+        assertFileExists("target/transfer/stream/world.txt");
+        assertEquals("World", context.getTypeConverter().convertTo(String.class, new File("target/transfer/stream/world.txt")));
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("file://target/transfer/in?initialDelay=0&delay=10").routeId("copy").noAutoStartup()
+                    .to("file://target/transfer/out").to("mock:result");
+
+                from("file://target/transfer/in?initialDelay=0&delay=10").routeId("append").noAutoStartup()
+                    .to("file://target/transfer/append?fileExist=Append").to("mock:append");
+            }
+        };
+    }
+}
@@ -0,0 +1,79 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.seda;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+
+/**
+ * @version 
+ */
+public class SedaBatchSizeTest extends ContextTestSupport {
+
+    public void testBatchSize() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(100);
+        for (int i = 0; i < 100; i++) {
+            mock.message(i).body().isEqualTo("Message " + i);
+        }
+
+        // fill up the queue before the consumer is started so it drains in batches
+        for (int i = 0; i < 100; i++) {
+            template.sendBody("seda:foo?batchSize=10", "Message " + i);
+        }
+
+        context.startRoute("myRoute");
+
+        assertMockEndpointsSatisfied();
+
+        SedaEndpoint seda = context.getEndpoint("seda:foo?batchSize=10", SedaEndpoint.class);
+        assertEquals(10, seda.getBatchSize());
+        assertEquals(0, seda.getCurrentQueueSize());
+    }
+
+    public void testBatchSizeError() throws Exception {
+        getMockEndpoint("mock:result").expectedBodiesReceived("Message 0", "Message 2");
+        getMockEndpoint("mock:dead").expectedBodiesReceived("Message 1");
+
+        for (int i = 0; i < 3; i++) {
+            template.sendBody("seda:bar?batchSize=5", "Message " + i);
+        }
+
+        context.startRoute("errorRoute");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("seda:foo?batchSize=10").routeId("myRoute").noAutoStartup()
+                    .to("mock:result");
+
+                from("seda:bar?batchSize=5").routeId("errorRoute").noAutoStartup()
+                    .errorHandler(deadLetterChannel("mock:dead"))
+                    .filter(body().isEqualTo("Message 1"))
+                        .throwException(new IllegalArgumentException("Forced"))
+                    .end()
+                    .to("mock:result");
+            }
+        };
+    }
+}
@@ -134,6 +134,54 @@ public class CachedOutputStreamTest extends ContextTestSupport {
         IOHelper.close(cos);
     }
     
+    public void testCacheStreamToFileMemoryMapped() throws Exception {
+        context.getStreamCachingStrategy().setSpoolMemoryMapped(true);
+        context.getStreamCachingStrategy().getStatistics().setStatisticsEnabled(true);
+        context.start();
+
+        CachedOutputStream cos = new CachedOutputStream(exchange);
+        cos.write(TEST_STRING.getBytes("UTF-8"));
+
+        File file = new File("target/cachedir");
+        String[] files = file.list();
+        assertEquals("we should have a temp file", 1, files.length);
+
+        exchange.getIn().setBody(cos.newStreamCache());
+        StreamCache cache = context.getStreamCachingStrategy().cache(exchange);
+        assertTrue("Should get the FileInputStreamCache", cache instanceof FileInputStreamCache);
+        assertEquals(1, ((FileInputStreamCache) cache).getMappedRegions());
+        assertEquals(TEST_STRING.length(), cache.length());
+        assertEquals(1, context.getStreamCachingStrategy().getStatistics().getCacheSpoolMappedRegions());
+
+        // read it twice, where the 2nd read is from the same memory mapped region
+        assertEquals("Cached a wrong file", TEST_STRING, toString((InputStream) cache));
+        cache.reset();
+        assertEquals("Cached a wrong file", TEST_STRING, toString((InputStream) cache));
+
+        // and a copy shares the memory mapped region
+        StreamCache copy = cache.copy(exchange);
+        assertEquals("Cached a wrong file", TEST_STRING, toString((InputStream) copy));
+
+        copy.reset();
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        copy.writeTo(bos);
+        assertEquals(TEST_STRING, bos.toString("UTF-8"));
+
+        exchange.getUnitOfWork().done(exchange);
+        files = file.list();
+        assertEquals("we should have no temp file", 0, files.length);
+
+        // the memory mapped region is unmapped so the cache cannot be read anymore
+        try {
+            ((InputStream) copy).read();
+            fail("Should have thrown an exception");
+        } catch (IOException e) {
+            // expected
+        }
+
+        IOHelper.close(cos);
+    }
+
     public void testCacheStreamToFileAndCloseStreamEncrypted() throws Exception {
         // set some stream or 8-bit block cipher transformation name
         context.getStreamCachingStrategy().setSpoolChiper("RC4");
@@ -0,0 +1,95 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectOutputStream;
+import java.math.BigDecimal;
+import java.util.Date;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+
+public class BinaryExchangeHolderCodecTest extends ContextTestSupport {
+
+    private final BinaryExchangeHolderCodec codec = new BinaryExchangeHolderCodec();
+
+    public void testEncodeDecode() throws Exception {
+        Date now = new Date();
+
+        Exchange exchange = new DefaultExchange(context);
+        exchange.getIn().setBody("Hello World");
+        exchange.getIn().setHeader("int", -123);
+        exchange.getIn().setHeader("long", Long.MAX_VALUE);
+        exchange.getIn().setHeader("double", 1.5d);
+        exchange.getIn().setHeader("float", 2.5f);
+        exchange.getIn().setHeader("bool", true);
+        exchange.getIn().setHeader("date", now);
+        exchange.getIn().setHeader("decimal", new BigDecimal("123.45"));
+        exchange.getIn().setHeader("char", 'c');
+        exchange.getIn().setHeader("bytes", new byte[]{1, 2, 3});
+        exchange.getOut().setBody("Bye World");
+        exchange.getOut().setFault(true);
+        exchange.setProperty("foo", 444);
+        exchange.setException(new IllegalArgumentException("Damn"));
+
+        byte[] data = codec.encode(DefaultExchangeHolder.marshal(exchange));
+        assertTrue(codec.canDecode(data));
+
+        Exchange answer = new DefaultExchange(context);
+        DefaultExchangeHolder.unmarshal(answer, codec.decode(context, data));
+
+        assertEquals(exchange.getExchangeId(), answer.getExchangeId());
+        assertEquals("Hello World", answer.getIn().getBody());
+        assertEquals(-123, answer.getIn().getHeader("int"));
+        assertEquals(Long.MAX_VALUE, answer.getIn().getHeader("long"));
+        assertEquals(1.5d, answer.getIn().getHeader("double"));
+        assertEquals(2.5f, answer.getIn().getHeader("float"));
+        assertEquals(Boolean.TRUE, answer.getIn().getHeader("bool"));
+        assertEquals(now, answer.getIn().getHeader("date"));
+        assertEquals(new BigDecimal("123.45"), answer.getIn().getHeader("decimal"));
+        assertEquals('c', answer.getIn().getHeader("char"));
+        byte[] bytes = answer.getIn().getHeader("bytes", byte[].class);
+        assertEquals(3, bytes.length);
+        assertEquals(3, bytes[2]);
+        assertFalse(answer.getIn().isFault());
+        assertEquals("Bye World", answer.getOut().getBody());
+        assertTrue(answer.getOut().isFault());
+        assertEquals(444, answer.getProperty("foo"));
+        assertIsInstanceOf(IllegalArgumentException.class, answer.getException());
+        assertEquals("Damn", answer.getException().getMessage());
+    }
+
+    public void testSmallerThanJavaSerialization() throws Exception {
+        Exchange exchange = new DefaultExchange(context);
+        exchange.getIn().setBody("Hello World");
+        exchange.getIn().setHeader("foo", 123);
+        exchange.getIn().setHeader("bar", "Hi Camel");
+
+        DefaultExchangeHolder holder = DefaultExchangeHolder.marshal(exchange);
+
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        ObjectOutputStream oos = new ObjectOutputStream(bos);
+        oos.writeObject(holder);
+        oos.close();
+        byte[] java = bos.toByteArray();
+        byte[] binary = codec.encode(holder);
+
+        assertTrue("Binary encoding should be smaller", binary.length < java.length);
+        assertFalse("Should not decode Java serialized data", codec.canDecode(java));
+    }
+}
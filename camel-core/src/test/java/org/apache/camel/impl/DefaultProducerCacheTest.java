@@ -17,6 +17,12 @@
 package org.apache.camel.impl;
 
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.camel.Consumer;
@@ -161,6 +167,61 @@ public class DefaultProducerCacheTest extends ContextTestSupport {
         cache.stop();
     }
 
+    public void testCacheHitsAndMisses() throws Exception {
+        ProducerCache cache = new ProducerCache(this, context, 5);
+        cache.start();
+
+        for (int i = 0; i < 3; i++) {
+            for (int j = 0; j < 4; j++) {
+                Endpoint e = new MyEndpoint(true, j);
+                Producer p = cache.acquireProducer(e);
+                cache.releaseProducer(e, p);
+            }
+        }
+
+        assertEquals(4, cache.getMisses());
+        assertEquals(8, cache.getHits());
+
+        cache.resetCacheStatistics();
+        assertEquals(0, cache.getMisses());
+        assertEquals(0, cache.getHits());
+
+        cache.stop();
+    }
+
+    public void testCacheConcurrentAcquire() throws Exception {
+        final ProducerCache cache = new ProducerCache(this, context, 100);
+        cache.start();
+
+        final Set<Producer> producers = ConcurrentHashMap.newKeySet();
+        final CountDownLatch latch = new CountDownLatch(200);
+        ExecutorService executor = Executors.newFixedThreadPool(10);
+        for (int i = 0; i < 200; i++) {
+            final int number = i % 5;
+            executor.submit(() -> {
+                Endpoint e = new MyEndpoint(true, number);
+                Producer p = cache.acquireProducer(e);
+                producers.add(p);
+                try {
+                    cache.releaseProducer(e, p);
+                } catch (Exception ex) {
+                    // ignore
+                }
+                latch.countDown();
+            });
+        }
+
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        executor.shutdownNow();
+
+        // only one producer should be created per endpoint
+        assertEquals(5, producers.size());
+        assertEquals(5, cache.getMisses());
+        assertEquals(195, cache.getHits());
+
+        cache.stop();
+    }
+
     private final class MyEndpoint extends DefaultEndpoint {
 
         private final boolean isSingleton;
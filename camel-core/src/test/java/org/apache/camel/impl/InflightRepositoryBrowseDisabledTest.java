@@ -0,0 +1,86 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.builder.RouteBuilder;
+
+/**
+ * @version
+ */
+public class InflightRepositoryBrowseDisabledTest extends ContextTestSupport {
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        context.getInflightRepository().setInflightBrowseEnabled(false);
+        return context;
+    }
+
+    public void testInflight() throws Exception {
+        assertFalse(context.getInflightRepository().isInflightBrowseEnabled());
+        assertEquals(0, context.getInflightRepository().size());
+
+        getMockEndpoint("mock:result").expectedMessageCount(1);
+
+        template.sendBody("direct:start", "Hello World");
+
+        assertMockEndpointsSatisfied();
+
+        assertEquals(0, context.getInflightRepository().size());
+        assertEquals(0, context.getInflightRepository().size("foo"));
+    }
+
+    public void testEnableBrowse() throws Exception {
+        context.getInflightRepository().setInflightBrowseEnabled(true);
+
+        getMockEndpoint("mock:result").expectedMessageCount(1);
+
+        template.sendBody("direct:start", "Hello World");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start").routeId("foo")
+                    .to("mock:a")
+                    .process(new Processor() {
+                        @Override
+                        public void process(Exchange exchange) throws Exception {
+                            // the counters are always tracked
+                            assertEquals(1, context.getInflightRepository().size());
+                            assertEquals(1, context.getInflightRepository().size("foo"));
+
+                            // but the exchanges can only be browsed when enabled
+                            int expected = context.getInflightRepository().isInflightBrowseEnabled() ? 1 : 0;
+                            assertEquals(expected, context.getInflightRepository().browse().size());
+                            assertEquals(expected, context.getInflightRepository().browse("foo").size());
+                        }
+                    })
+                    .to("mock:result");
+            }
+        };
+    }
+
+}
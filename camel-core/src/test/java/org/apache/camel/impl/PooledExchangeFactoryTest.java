@@ -0,0 +1,129 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Endpoint;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+
+/**
+ * @version 
+ */
+public class PooledExchangeFactoryTest extends ContextTestSupport {
+
+    private PooledExchangeFactory factory;
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        factory = new PooledExchangeFactory(10);
+        factory.setLeakDetection(true);
+        context.setExchangeFactory(factory);
+        return context;
+    }
+
+    public void testReuseExchange() throws Exception {
+        Endpoint endpoint = context.getEndpoint("direct:start");
+
+        Exchange exchange = endpoint.createExchange();
+        exchange.setProperty("foo", "123");
+        exchange.getIn().setHeader("bar", "456");
+        exchange.getIn().setBody("Hello World");
+        exchange.setException(new IllegalArgumentException("Forced"));
+        String id = exchange.getExchangeId();
+        assertTrue(factory.release(exchange));
+
+        Exchange reused = endpoint.createExchange();
+        assertSame(exchange, reused);
+        assertFalse(id.equals(reused.getExchangeId()));
+        assertNull(reused.getProperty("foo"));
+        assertNull(reused.getIn().getHeader("bar"));
+        assertNull(reused.getIn().getBody());
+        assertNull(reused.getException());
+        assertEquals(1, factory.getCreatedCounter());
+        assertEquals(1, factory.getAcquiredCounter());
+        assertEquals(1, factory.getInUseCount());
+
+        assertTrue(factory.release(reused));
+        assertEquals(0, factory.getInUseCount());
+    }
+
+    public void testReleaseDoesNotClearSharedMessage() throws Exception {
+        Endpoint endpoint = context.getEndpoint("direct:start");
+
+        Exchange other = endpoint.createExchange();
+        other.getIn().setHeader("bar", "456");
+        other.getIn().setBody("Hello World");
+
+        Exchange exchange = endpoint.createExchange();
+        exchange.setIn(other.getIn());
+        ((DefaultExchange) exchange).setProperties(other.getProperties());
+        exchange.setProperty("foo", "123");
+        assertTrue(factory.release(exchange));
+
+        // the message and properties shared with the other exchange are not cleared
+        assertEquals("456", other.getIn().getHeader("bar"));
+        assertEquals("Hello World", other.getIn().getBody());
+        assertEquals("123", other.getProperty("foo"));
+
+        Exchange reused = endpoint.createExchange();
+        assertSame(exchange, reused);
+        assertNotSame(other.getIn(), reused.getIn());
+        assertNull(reused.getIn().getHeader("bar"));
+        assertNull(reused.getProperty("foo"));
+    }
+
+    public void testReleaseTwice() throws Exception {
+        Exchange exchange = context.getEndpoint("direct:start").createExchange();
+        assertTrue(factory.release(exchange));
+
+        // leak detection detects the exchange is released twice
+        assertFalse(factory.release(exchange));
+        assertEquals(1, factory.getDiscardedCounter());
+        assertEquals(1, factory.getSize());
+    }
+
+    public void testTimerReleaseExchange() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(20);
+        mock.allMessages().header("stale").isNull();
+
+        context.startRoute("timer");
+
+        assertMockEndpointsSatisfied();
+
+        // the timer fires one exchange at a time and releases it after use, so they are reused
+        assertTrue("Should reuse exchanges", factory.getAcquiredCounter() > 0);
+        assertTrue("Should not create a new exchange per message", factory.getCreatedCounter() < 20);
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("timer:foo?period=1&repeatCount=20").routeId("timer").noAutoStartup()
+                    .to("mock:result")
+                    // this header must not be present on the next exchange
+                    .setHeader("stale", constant("yes"));
+            }
+        };
+    }
+}
@@ -40,6 +40,28 @@ public class TypeConverterRegistryMissesThenAddTest extends TestCase {
         assertEquals(123, order.getId());
     }
 
+    public void testMissTwiceThenAddAndRemoveTypeConverter() {
+        DefaultCamelContext context = new DefaultCamelContext();
+
+        // convert twice so the miss is remembered
+        assertNull(context.getTypeConverter().convertTo(MyOrder.class, "123"));
+        assertNull(context.getTypeConverter().convertTo(MyOrder.class, "123"));
+
+        // add missing type converter
+        context.getTypeConverterRegistry().addTypeConverter(MyOrder.class, String.class, new MyOrderTypeConverter());
+
+        // this time it should work
+        MyOrder order = context.getTypeConverter().convertTo(MyOrder.class, "456");
+        assertNotNull(order);
+        assertEquals(456, order.getId());
+        order = context.getTypeConverter().convertTo(MyOrder.class, "789");
+        assertEquals(789, order.getId());
+
+        // and when removed it should not be used anymore
+        assertTrue(context.getTypeConverterRegistry().removeTypeConverter(MyOrder.class, String.class));
+        assertNull(context.getTypeConverter().convertTo(MyOrder.class, "123"));
+    }
+
     private static class MyOrder {
         private int id;
 
@@ -0,0 +1,42 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl.converter;
+
+import junit.framework.TestCase;
+import org.apache.camel.TypeConverter;
+
+public class TypeConverterLookupCacheTest extends TestCase {
+
+    public void testLookupCache() throws Exception {
+        TypeConverterLookupCache cache = new TypeConverterLookupCache();
+        TypeConverter converter = new ToStringTypeConverter();
+
+        assertNull(cache.get(String.class, Integer.class));
+
+        cache.put(String.class, Integer.class, converter);
+        cache.put(Integer.class, String.class, TypeConverterLookupCache.MISS);
+
+        assertSame(converter, cache.get(String.class, Integer.class));
+        assertSame(TypeConverterLookupCache.MISS, cache.get(Integer.class, String.class));
+        assertNull(cache.get(Long.class, Integer.class));
+
+        cache.clear();
+        assertNull(cache.get(String.class, Integer.class));
+        assertNull(cache.get(Integer.class, String.class));
+    }
+
+}
@@ -0,0 +1,190 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.language.simple;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.Expression;
+import org.apache.camel.LanguageTestSupport;
+import org.apache.camel.component.bean.MethodNotFoundException;
+import org.apache.camel.language.bean.RuntimeBeanExpressionException;
+
+public class SimpleCompiledTest extends LanguageTestSupport {
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        context.getGlobalOptions().put(Exchange.SIMPLE_COMPILED, "true");
+        return context;
+    }
+
+    @Override
+    protected String getLanguageName() {
+        return "simple";
+    }
+
+    public void testCompiledEnabled() throws Exception {
+        SimpleLanguage simple = (SimpleLanguage) context.resolveLanguage("simple");
+        assertTrue(simple.isCompiled());
+    }
+
+    public void testHeader() throws Exception {
+        assertExpression("${header.foo}", "abc");
+        assertExpression("${headers.bar}", 123);
+        assertExpression("${in.header.foo} and ${header.bar}", "abc and 123");
+        assertExpression("${header.unknown}", null);
+
+        // fallback on a property
+        assertExpression("${header.foobar}", "cba");
+    }
+
+    public void testExchangeProperty() throws Exception {
+        assertExpression("${exchangeProperty.foobar}", "cba");
+        assertExpression("${exchangeProperty.unknown}", null);
+    }
+
+    public void testPredicate() throws Exception {
+        assertPredicate("${header.foo} == 'abc'", true);
+        assertPredicate("${header.bar} > 100", true);
+        assertPredicate("${exchangeProperty.foobar} == 'abc'", false);
+    }
+
+    public void testBodyOgnl() throws Exception {
+        Animal tiger = new Animal("Tony the Tiger", 13);
+        Animal camel = new Animal("Camel", 6);
+        camel.setFriend(tiger);
+        exchange.getIn().setBody(camel);
+
+        assertExpression("${body.name}", "Camel");
+        assertExpression("${body.getName()}", "Camel");
+        assertExpression("${body.age}", 6);
+        assertExpression("${body.friend.name}", "Tony the Tiger");
+        assertExpression("${body.friend.dangerous}", true);
+        assertExpression("${body.friend.name.length()}", 14);
+        assertExpression("${body.friend?.friend?.name}", null);
+        assertPredicate("${body.friend.age} == 13", true);
+
+        // the same expression should work for another type of body
+        exchange.getIn().setBody(new Order("123"));
+        assertExpression("${body.name}", "123");
+    }
+
+    public void testBodyOgnlNullNotSafe() throws Exception {
+        exchange.getIn().setBody(new Animal("Camel", 6));
+
+        try {
+            assertExpression("${body.friend.name}", null);
+            fail("Should have thrown exception");
+        } catch (RuntimeBeanExpressionException e) {
+            // the interpreted expression should fail the same way as without compilation
+            assertTrue(e.getMessage().contains("cannot continue to invoke method .name on a null instance"));
+        }
+    }
+
+    public void testBodyOgnlException() throws Exception {
+        Animal camel = new Animal("Camel", 6);
+        exchange.getIn().setBody(camel);
+
+        try {
+            assertExpression("${body.keeper}", null);
+            fail("Should have thrown exception");
+        } catch (RuntimeBeanExpressionException e) {
+            // the interpreted expression should fail the same way as without compilation
+            assertIsInstanceOf(IllegalStateException.class, e.getCause());
+            assertEquals("Failed to invoke method: keeper on null due to: java.lang.IllegalStateException: No keeper for Camel", e.getMessage());
+        }
+        // the method should not be invoked again by the interpreted expression
+        assertEquals(1, camel.getKeeperCalls());
+    }
+
+    public void testBodyOgnlFallback() throws Exception {
+        Animal camel = new Animal("Camel", 6);
+        exchange.getIn().setBody(camel);
+
+        // method with parameters is not compiled but evaluated by the bean component
+        assertExpression("${body.greet('World')}", "Hello World from Camel");
+
+        try {
+            assertExpression("${body.unknown}", null);
+            fail("Should have thrown exception");
+        } catch (RuntimeBeanExpressionException e) {
+            assertIsInstanceOf(MethodNotFoundException.class, e.getCause());
+        }
+    }
+
+    public void testToString() throws Exception {
+        Expression exp = context.resolveLanguage("simple").createExpression("${header.foo}");
+        assertEquals("header(foo)", exp.toString());
+    }
+
+    public static final class Animal {
+        private final String name;
+        private final int age;
+        private Animal friend;
+        private int keeperCalls;
+
+        public Animal(String name, int age) {
+            this.name = name;
+            this.age = age;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getAge() {
+            return age;
+        }
+
+        public Animal getFriend() {
+            return friend;
+        }
+
+        public void setFriend(Animal friend) {
+            this.friend = friend;
+        }
+
+        public String getKeeper() {
+            keeperCalls++;
+            throw new IllegalStateException("No keeper for " + name);
+        }
+
+        public int getKeeperCalls() {
+            return keeperCalls;
+        }
+
+        public boolean isDangerous() {
+            return name.contains("Tiger");
+        }
+
+        public String greet(String who) {
+            return "Hello " + who + " from " + name;
+        }
+    }
+
+    public static final class Order {
+        private final String name;
+
+        public Order(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ManagementStatisticsLevel;
+import org.apache.camel.builder.RouteBuilder;
+
+/**
+ * @version 
+ */
+public class ManagedRoutePercentileProcessingTimeTest extends ManagementTestSupport {
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        // the percentiles requires extended statistics
+        context.getManagementStrategy().getManagementAgent().setStatisticsLevel(ManagementStatisticsLevel.Extended);
+        return context;
+    }
+
+    public void testPercentileProcessingTime() throws Exception {
+        // JMX tests dont work well on AIX CI servers (hangs them)
+        if (isPlatform("aix")) {
+            return;
+        }
+
+        MBeanServer mbeanServer = getMBeanServer();
+        ObjectName route = ObjectName.getInstance("org.apache.camel:context=camel-1,type=routes,name=\"route1\"");
+        ObjectName processor = ObjectName.getInstance("org.apache.camel:context=camel-1,type=processors,name=\"mydelay\"");
+
+        assertEquals(0, ((Long) mbeanServer.getAttribute(route, "P50ProcessingTime")).longValue());
+        assertEquals(0, ((Long) mbeanServer.getAttribute(route, "P999ProcessingTime")).longValue());
+
+        getMockEndpoint("mock:result").expectedMessageCount(20);
+
+        // 18 fast and 2 slow messages
+        for (int i = 0; i < 20; i++) {
+            template.sendBodyAndHeader("direct:start", "Hello World", "delay", i % 10 == 9 ? 200 : 0);
+        }
+
+        assertMockEndpointsSatisfied();
+
+        Long completed = (Long) mbeanServer.getAttribute(route, "ExchangesCompleted");
+        assertEquals(20, completed.longValue());
+
+        Long p50 = (Long) mbeanServer.getAttribute(route, "P50ProcessingTime");
+        Long p95 = (Long) mbeanServer.getAttribute(route, "P95ProcessingTime");
+        Long p99 = (Long) mbeanServer.getAttribute(route, "P99ProcessingTime");
+        Long p999 = (Long) mbeanServer.getAttribute(route, "P999ProcessingTime");
+        Long max = (Long) mbeanServer.getAttribute(route, "MaxProcessingTime");
+
+        assertTrue("Should be fast: was " + p50, p50 < 100);
+        assertTrue("Should be around 200 millis: was " + p95, p95 > 150);
+        assertTrue("Should be around 200 millis: was " + p99, p99 > 150);
+        assertTrue(p50 <= p95 && p95 <= p99 && p99 <= p999);
+        // the percentile is approximated within a few percent of the max value
+        assertTrue("Should be close to the max: " + max + " was " + p999, p999 < max * 1.1);
+
+        // the processors has the percentiles as well
+        Long processorP99 = (Long) mbeanServer.getAttribute(processor, "P99ProcessingTime");
+        assertTrue("Should be around 200 millis: was " + processorP99, processorP99 > 150);
+
+        String xml = (String) mbeanServer.invoke(route, "dumpStatsAsXml", new Object[]{false}, new String[]{"boolean"});
+        assertTrue(xml, xml.contains("p99ProcessingTime=\"" + p99 + "\""));
+
+        mbeanServer.invoke(route, "reset", null, null);
+        assertEquals(0, ((Long) mbeanServer.getAttribute(route, "P99ProcessingTime")).longValue());
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start")
+                    .delay(header("delay")).id("mydelay")
+                    .to("mock:result");
+            }
+        };
+    }
+
+}
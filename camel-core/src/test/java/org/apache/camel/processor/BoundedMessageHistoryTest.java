@@ -0,0 +1,125 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.List;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.MessageHistory;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.impl.BoundedMessageHistoryFactory;
+import org.apache.camel.impl.BoundedMessageHistoryList;
+import org.apache.camel.model.ToDefinition;
+import org.apache.camel.util.MessageHelper;
+
+/**
+ * @version
+ */
+public class BoundedMessageHistoryTest extends ContextTestSupport {
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        context.setMessageHistory(true);
+        context.setMessageHistoryFactory(new BoundedMessageHistoryFactory(5));
+        return context;
+    }
+
+    public void testBoundedMessageHistory() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(1);
+
+        template.sendBody("direct:start", "Hello World");
+
+        assertMockEndpointsSatisfied();
+
+        Exchange exchange = mock.getReceivedExchanges().get(0);
+        List<MessageHistory> list = exchange.getProperty(Exchange.MESSAGE_HISTORY, List.class);
+        assertIsInstanceOf(BoundedMessageHistoryList.class, list);
+        assertEquals(5, list.size());
+        // loop + 10 x (mock:loop + log) + mock:result
+        assertEquals(17, ((BoundedMessageHistoryList) list).getDroppedCount());
+
+        // the latest entry is the one we are at
+        assertEquals("result", list.get(4).getNode().getId());
+        assertEquals("myRoute", list.get(4).getRouteId());
+        // the older entries from the loop has been dropped
+        assertTrue(list.get(3).getNode().getLabel().startsWith("log:loop"));
+        assertTrue(list.get(2).getNode().getLabel().startsWith("mock:loop"));
+
+        String dump = MessageHelper.dumpMessageHistoryStacktrace(exchange, null, false);
+        assertTrue(dump, dump.contains("myRoute"));
+        assertTrue(dump, dump.contains("mock:result"));
+    }
+
+    public void testRingBuffer() throws Exception {
+        BoundedMessageHistoryList list = new BoundedMessageHistoryList(3);
+        assertTrue(list.isEmpty());
+
+        ToDefinition a = new ToDefinition("mock:a");
+        ToDefinition b = new ToDefinition("mock:b");
+        ToDefinition c = new ToDefinition("mock:c");
+        ToDefinition d = new ToDefinition("mock:d");
+
+        list.addNode("foo", a, 1);
+        list.addNode("foo", b, 2);
+        assertEquals(2, list.size());
+        assertSame(a, list.get(0).getNode());
+        assertSame(b, list.get(1).getNode());
+        assertEquals(0, list.get(1).getElapsed());
+
+        list.nodeProcessingDone(b);
+        list.addNode("bar", c, 3);
+        list.addNode("bar", d, 4);
+        assertEquals(3, list.size());
+        assertEquals(1, list.getDroppedCount());
+        assertSame(b, list.get(0).getNode());
+        assertSame(c, list.get(1).getNode());
+        assertSame(d, list.get(2).getNode());
+        assertEquals("bar", list.get(2).getRouteId());
+        assertEquals(4, list.get(2).getTime());
+        assertTrue(list.get(0).getElapsed() > 0);
+
+        // a copy is independent of the original
+        BoundedMessageHistoryList copy = new BoundedMessageHistoryList(list);
+        list.addNode("bar", a, 5);
+        assertSame(a, list.get(2).getNode());
+        assertSame(d, copy.get(2).getNode());
+
+        list.clear();
+        assertTrue(list.isEmpty());
+        assertEquals(3, copy.size());
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start").routeId("myRoute")
+                    .loop(10).id("myLoop")
+                        .to("mock:loop")
+                        .to("log:loop?level=OFF")
+                    .end()
+                    .to("mock:result").id("result");
+            }
+        };
+    }
+}
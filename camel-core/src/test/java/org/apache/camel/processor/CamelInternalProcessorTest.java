@@ -0,0 +1,86 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.impl.DefaultExchange;
+
+public class CamelInternalProcessorTest extends ContextTestSupport {
+
+    private final List<String> events = new ArrayList<>();
+
+    public void testStatefulAdvices() throws Exception {
+        CamelInternalProcessor internal = new CamelInternalProcessor(exchange -> events.add("process"));
+        internal.addAdvice(new MyAdvice("a", true));
+        internal.addAdvice(new MyAdvice("b", false));
+        internal.addAdvice(new MyAdvice("c", true));
+
+        internal.process(new DefaultExchange(context));
+
+        assertEquals("[before-a, before-b, before-c, process, after-c-c, after-b-null, after-a-a]", events.toString());
+    }
+
+    public void testSingleStatefulAdvice() throws Exception {
+        CamelInternalProcessor internal = new CamelInternalProcessor(exchange -> events.add("process"));
+        internal.addAdvice(new MyAdvice("a", false));
+        internal.addAdvice(new MyAdvice("b", true));
+        internal.addAdvice(new MyAdvice("c", false));
+
+        internal.process(new DefaultExchange(context));
+
+        assertEquals("[before-a, before-b, before-c, process, after-c-null, after-b-b, after-a-null]", events.toString());
+    }
+
+    public void testNoAdvices() throws Exception {
+        CamelInternalProcessor internal = new CamelInternalProcessor(exchange -> events.add("process"));
+
+        internal.process(new DefaultExchange(context));
+
+        assertEquals("[process]", events.toString());
+    }
+
+    private final class MyAdvice implements CamelInternalProcessorAdvice<String> {
+
+        private final String name;
+        private final boolean stateful;
+
+        private MyAdvice(String name, boolean stateful) {
+            this.name = name;
+            this.stateful = stateful;
+        }
+
+        @Override
+        public String before(Exchange exchange) throws Exception {
+            events.add("before-" + name);
+            return stateful ? name : null;
+        }
+
+        @Override
+        public void after(Exchange exchange, String data) throws Exception {
+            events.add("after-" + name + "-" + data);
+        }
+
+        @Override
+        public boolean hasState() {
+            return stateful;
+        }
+    }
+}
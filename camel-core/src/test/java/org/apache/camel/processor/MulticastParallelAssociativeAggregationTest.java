@@ -0,0 +1,89 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.processor.aggregate.AssociativeAggregationStrategy;
+
+/**
+ * @version 
+ */
+public class MulticastParallelAssociativeAggregationTest extends ContextTestSupport {
+
+    private static final int SIZE = 20;
+
+    public void testMulticastParallelAssociative() throws Exception {
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < SIZE; i++) {
+            expected.append(i);
+        }
+
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedBodiesReceived(expected.toString(), expected.toString(), expected.toString());
+
+        // the replies completes in random order but the result must be in order
+        template.sendBody("direct:start", "Hello");
+        template.sendBody("direct:start", "Hello");
+        template.sendBody("direct:start", "Hello");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                final Random random = new Random();
+
+                List<String> uris = new ArrayList<>();
+                for (int i = 0; i < SIZE; i++) {
+                    uris.add("direct:" + i);
+                }
+
+                from("direct:start")
+                    .multicast(new ConcatAggregationStrategy()).parallelProcessing().to(uris.toArray(new String[uris.size()]))
+                    .end()
+                    .to("mock:result");
+
+                for (int i = 0; i < SIZE; i++) {
+                    from("direct:" + i).delay(random.nextInt(50)).setBody(constant("" + i));
+                }
+            }
+        };
+    }
+
+    private static final class ConcatAggregationStrategy implements AssociativeAggregationStrategy {
+
+        @Override
+        public Exchange aggregate(Exchange oldExchange, Exchange newExchange) {
+            if (oldExchange == null) {
+                return newExchange;
+            }
+            String body = oldExchange.getIn().getBody(String.class);
+            oldExchange.getIn().setBody(body + newExchange.getIn().getBody(String.class));
+            return oldExchange;
+        }
+    }
+}
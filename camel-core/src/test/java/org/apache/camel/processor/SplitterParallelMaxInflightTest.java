@@ -0,0 +1,100 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.processor.aggregate.AggregationStrategy;
+
+/**
+ * @version 
+ */
+public class SplitterParallelMaxInflightTest extends ContextTestSupport {
+
+    private static final int SIZE = 200;
+    private static final int MAX_INFLIGHT = 5;
+
+    private final AtomicInteger pulled = new AtomicInteger();
+    private final AtomicInteger aggregated = new AtomicInteger();
+    private final AtomicInteger maxPending = new AtomicInteger();
+
+    public void testSplitParallelMaxInflight() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:split");
+        mock.expectedMessageCount(SIZE);
+        getMockEndpoint("mock:result").expectedBodiesReceived(SIZE);
+
+        template.sendBody("direct:start", new CountingIterator());
+
+        assertMockEndpointsSatisfied();
+
+        assertEquals(SIZE, pulled.get());
+        assertEquals(SIZE, aggregated.get());
+        assertTrue("Should not pull more than " + MAX_INFLIGHT + " ahead of the aggregation, was " + maxPending.get(), maxPending.get() <= MAX_INFLIGHT);
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start")
+                    .split(body(), new CountingAggregationStrategy()).parallelProcessing().streaming().maxInflight(MAX_INFLIGHT)
+                        .delay(2)
+                        .to("mock:split")
+                    .end()
+                    .to("mock:result");
+            }
+        };
+    }
+
+    private final class CountingIterator implements Iterator<Integer> {
+
+        @Override
+        public boolean hasNext() {
+            return pulled.get() < SIZE;
+        }
+
+        @Override
+        public Integer next() {
+            int number = pulled.incrementAndGet();
+            int pending = number - aggregated.get();
+            if (pending > maxPending.get()) {
+                maxPending.set(pending);
+            }
+            return number;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private final class CountingAggregationStrategy implements AggregationStrategy {
+
+        @Override
+        public Exchange aggregate(Exchange oldExchange, Exchange newExchange) {
+            newExchange.getIn().setBody(aggregated.incrementAndGet());
+            return newExchange;
+        }
+    }
+}
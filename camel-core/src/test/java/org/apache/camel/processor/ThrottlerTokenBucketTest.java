@@ -0,0 +1,96 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+
+/**
+ * @version 
+ */
+public class ThrottlerTokenBucketTest extends ContextTestSupport {
+    private static final int INTERVAL = 500;
+    protected int messageCount = 9;
+
+    public void testSendLotsOfMessages() throws Exception {
+        MockEndpoint resultEndpoint = resolveMandatoryEndpoint("mock:result", MockEndpoint.class);
+        resultEndpoint.expectedMessageCount(messageCount);
+
+        long start = System.currentTimeMillis();
+        for (int i = 0; i < messageCount; i++) {
+            template.sendBody("seda:a", "<message>" + i + "</message>");
+        }
+
+        resultEndpoint.assertIsSatisfied();
+
+        // 3 messages per period, so the last 3 messages must have been delayed by 2 periods
+        long elapsed = System.currentTimeMillis() - start;
+        assertTrue("Should take at least 2 periods, was: " + elapsed, elapsed >= INTERVAL * 2 - 50);
+    }
+
+    public void testSendLotsOfMessagesSimultaneously() throws Exception {
+        MockEndpoint resultEndpoint = resolveMandatoryEndpoint("mock:result", MockEndpoint.class);
+        resultEndpoint.expectedMessageCount(messageCount);
+
+        ExecutorService executor = Executors.newFixedThreadPool(messageCount);
+        for (int i = 0; i < messageCount; i++) {
+            executor.execute(new Runnable() {
+                public void run() {
+                    template.sendBody("direct:a", "<message>payload</message>");
+                }
+            });
+        }
+
+        // let's wait for the exchanges to arrive
+        resultEndpoint.assertIsSatisfied();
+
+        context.stop();
+
+        executor.shutdownNow();
+    }
+
+    public void testRejectExecution() throws Exception {
+        getMockEndpoint("mock:reject").expectedMessageCount(2);
+        getMockEndpoint("mock:error").expectedMessageCount(1);
+
+        for (int i = 0; i < 3; i++) {
+            template.sendBody("direct:reject", "<message>" + i + "</message>");
+        }
+
+        assertMockEndpointsSatisfied();
+    }
+
+    protected RouteBuilder createRouteBuilder() {
+        return new RouteBuilder() {
+            public void configure() {
+                onException(ThrottlerRejectedExecutionException.class).handled(true).to("mock:error");
+
+                // START SNIPPET: ex
+                from("seda:a").throttle(3).timePeriodMillis(INTERVAL).tokenBucket().to("log:result", "mock:result");
+                // END SNIPPET: ex
+
+                from("direct:a").throttle(3).timePeriodMillis(INTERVAL).tokenBucket().to("log:result", "mock:result");
+
+                from("direct:reject").throttle(2).timePeriodMillis(10000).tokenBucket().rejectExecution(true).to("mock:reject");
+            }
+        };
+    }
+}
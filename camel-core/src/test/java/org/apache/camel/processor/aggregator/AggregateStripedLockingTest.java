@@ -0,0 +1,151 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.aggregator;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.processor.BodyInAggregatingStrategy;
+import org.apache.camel.processor.SendProcessor;
+import org.apache.camel.processor.aggregate.AggregateProcessor;
+
+/**
+ * @version 
+ */
+public class AggregateStripedLockingTest extends ContextTestSupport {
+
+    private final int keys = 50;
+    private final int size = 20;
+
+    public void testStripedLockingCompletionSize() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:size");
+        mock.expectedMessageCount(keys);
+        mock.expectedPropertyReceived(Exchange.AGGREGATED_COMPLETED_BY, "size");
+
+        ExecutorService service = Executors.newFixedThreadPool(20);
+        List<Callable<Object>> tasks = new ArrayList<>();
+        for (int i = 0; i < keys * size; i++) {
+            final int id = i % keys;
+            final int count = i;
+            tasks.add(new Callable<Object>() {
+                public Object call() throws Exception {
+                    template.sendBodyAndHeader("direct:size", "" + count, "id", id);
+                    return null;
+                }
+            });
+        }
+        service.invokeAll(tasks);
+
+        assertMockEndpointsSatisfied();
+        service.shutdownNow();
+
+        // each group must have been aggregated with all its exchanges and nothing else
+        Set<Integer> ids = new HashSet<>();
+        for (Exchange exchange : mock.getReceivedExchanges()) {
+            String[] parts = exchange.getIn().getBody(String.class).split("\\+");
+            assertEquals(size, parts.length);
+            int id = Integer.parseInt(parts[0]) % keys;
+            for (String part : parts) {
+                assertEquals(id, Integer.parseInt(part) % keys);
+            }
+            ids.add(id);
+        }
+        assertEquals(keys, ids.size());
+    }
+
+    public void testStripedLockingCompletionTimeout() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:timeout");
+        mock.expectedBodiesReceivedInAnyOrder("A+B", "C", "D+E+F");
+        mock.expectedPropertyReceived(Exchange.AGGREGATED_COMPLETED_BY, "timeout");
+
+        template.sendBodyAndHeader("direct:timeout", "A", "id", 1);
+        template.sendBodyAndHeader("direct:timeout", "B", "id", 1);
+        template.sendBodyAndHeader("direct:timeout", "C", "id", 2);
+        template.sendBodyAndHeader("direct:timeout", "D", "id", 3);
+        template.sendBodyAndHeader("direct:timeout", "E", "id", 3);
+        template.sendBodyAndHeader("direct:timeout", "F", "id", 3);
+
+        assertMockEndpointsSatisfied();
+    }
+
+    public void testStripedLockingForceCompletion() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:timeout");
+        mock.expectedBodiesReceivedInAnyOrder("A+B", "C");
+        mock.expectedPropertyReceived(Exchange.AGGREGATED_COMPLETED_BY, "force");
+
+        template.sendBodyAndHeader("direct:timeout", "A", "id", 1);
+        template.sendBodyAndHeader("direct:timeout", "B", "id", 1);
+        template.sendBodyAndHeader("direct:timeout", "C", "id", 2);
+        template.sendBodyAndHeader("direct:timeout", "X", Exchange.AGGREGATION_COMPLETE_ALL_GROUPS, true);
+
+        assertMockEndpointsSatisfied();
+    }
+
+    public void testStripedLockingCompleteAllGroupsFromStrategy() throws Exception {
+        getMockEndpoint("mock:aggregated").expectedBodiesReceived("AAA", "BB");
+
+        template.sendBody("direct:split", "A,A,A,B,B");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    public void testStripedLockingNotAllowedWithOptimisticLocking() throws Exception {
+        AggregateProcessor ap = new AggregateProcessor(context, new SendProcessor(context.getEndpoint("mock:result")),
+                header("id"), new BodyInAggregatingStrategy(), Executors.newSingleThreadExecutor(), true);
+        ap.setCompletionSize(3);
+        ap.setStripedLocking(true);
+        ap.setOptimisticLocking(true);
+
+        try {
+            ap.start();
+            fail("Should have thrown exception");
+        } catch (IllegalArgumentException e) {
+            assertEquals("Striped locking cannot be used together with optimistic locking", e.getMessage());
+        }
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:size")
+                    .aggregate(header("id"), new BodyInAggregatingStrategy()).stripedLocking().completionSize(size)
+                        .to("mock:size");
+
+                from("direct:timeout")
+                    .aggregate(header("id"), new BodyInAggregatingStrategy()).stripedLocking().completionTimeout(500)
+                        .to("mock:timeout");
+
+                from("direct:split")
+                    .split(body())
+                        .aggregate(simple("${body}"), new AggregateForceCompletionHeaderInAggregationStrategyTest.MyAggregationStrategy())
+                            .stripedLocking().completionPredicate(exchangeProperty(Exchange.SPLIT_COMPLETE))
+                        .to("mock:aggregated");
+            }
+        };
+    }
+}
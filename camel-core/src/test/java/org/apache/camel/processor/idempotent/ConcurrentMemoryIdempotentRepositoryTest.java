@@ -0,0 +1,111 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.idempotent;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ConcurrentMemoryIdempotentRepositoryTest {
+
+    private ConcurrentMemoryIdempotentRepository repo;
+
+    @Before
+    public void setup() throws Exception {
+        repo = new ConcurrentMemoryIdempotentRepository(100);
+        repo.start();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        repo.stop();
+    }
+
+    @Test
+    public void testAddContainsRemove() throws Exception {
+        Assert.assertTrue(repo.add("1"));
+        Assert.assertFalse(repo.add("1"));
+        Assert.assertTrue(repo.contains("1"));
+        Assert.assertFalse(repo.contains("2"));
+        Assert.assertTrue(repo.confirm("1"));
+        Assert.assertEquals(1, repo.getCacheSize());
+
+        Assert.assertEquals(2, repo.getHits());
+        Assert.assertEquals(2, repo.getMisses());
+
+        Assert.assertTrue(repo.remove("1"));
+        Assert.assertFalse(repo.remove("1"));
+        Assert.assertFalse(repo.contains("1"));
+
+        repo.add("3");
+        repo.clear();
+        Assert.assertEquals(0, repo.getCacheSize());
+        Assert.assertEquals(0, repo.getHits());
+        Assert.assertEquals(0, repo.getMisses());
+    }
+
+    @Test
+    public void testBounded() throws Exception {
+        for (int i = 0; i < 1000; i++) {
+            repo.add("" + i);
+        }
+
+        // the cache evicts asynchronously so wait a bit
+        for (int i = 0; i < 50 && repo.getCacheSize() > 100; i++) {
+            Thread.sleep(100);
+        }
+        Assert.assertTrue("Should be bounded, was " + repo.getCacheSize(), repo.getCacheSize() <= 100);
+        Assert.assertEquals(100, repo.getMaxCacheSize());
+    }
+
+    @Test
+    public void testConcurrentAdd() throws Exception {
+        final int threads = 8;
+        final AtomicInteger added = new AtomicInteger();
+        final CountDownLatch latch = new CountDownLatch(threads);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int i = 0; i < threads; i++) {
+                executor.submit(new Runnable() {
+                    public void run() {
+                        for (int j = 0; j < 50; j++) {
+                            if (repo.add("key-" + j)) {
+                                added.incrementAndGet();
+                            }
+                        }
+                        latch.countDown();
+                    }
+                });
+            }
+            Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // each key must only have been added once
+        Assert.assertEquals(50, added.get());
+        Assert.assertEquals(50, repo.getMisses());
+        Assert.assertEquals(50 * (threads - 1), repo.getHits());
+    }
+}
@@ -68,6 +68,28 @@ public class DefaultTimeoutMapTest extends TestCase {
         map.stop();
     }
 
+    public void testDefaultTimeoutMapIsExpired() throws Exception {
+        // do not purge so we can check the expired entry
+        DefaultTimeoutMap<String, Integer> map = new DefaultTimeoutMap<>(executor, 60000);
+        map.start();
+
+        map.put("A", 123, 50);
+        assertFalse(map.isExpired("A"));
+        assertFalse(map.isExpired("B"));
+
+        Thread.sleep(100);
+
+        // checking does not update the expire time
+        assertTrue(map.isExpired("A"));
+        assertTrue(map.isExpired("A"));
+
+        // but putting a new entry does
+        map.put("A", 456, 5000);
+        assertFalse(map.isExpired("A"));
+
+        map.stop();
+    }
+
     public void testDefaultTimeoutMapForcePurge() throws Exception {
         DefaultTimeoutMap<String, Integer> map = new DefaultTimeoutMap<>(executor, 100);
         map.start();
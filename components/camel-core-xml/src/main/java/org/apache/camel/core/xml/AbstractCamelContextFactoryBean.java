@@ -645,6 +645,10 @@ public abstract class AbstractCamelContextFactoryBean<T extends ModelCamelContex
         if (spoolChiper != null) {
             getContext().getStreamCachingStrategy().setSpoolChiper(spoolChiper);
         }
+        Boolean spoolMemoryMapped = CamelContextHelper.parseBoolean(getContext(), streamCaching.getSpoolMemoryMapped());
+        if (spoolMemoryMapped != null) {
+            getContext().getStreamCachingStrategy().setSpoolMemoryMapped(spoolMemoryMapped);
+        }
         Boolean remove = CamelContextHelper.parseBoolean(getContext(), streamCaching.getRemoveSpoolDirectoryWhenStopping());
         if (remove != null) {
             getContext().getStreamCachingStrategy().setRemoveSpoolDirectoryWhenStopping(remove);
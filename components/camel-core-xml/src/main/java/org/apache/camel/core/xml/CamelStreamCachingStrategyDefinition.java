@@ -40,6 +40,8 @@ public class CamelStreamCachingStrategyDefinition extends IdentifiedType {
     private String spoolDirectory;
     @XmlAttribute
     private String spoolChiper;
+    @XmlAttribute @Metadata(defaultValue = "false")
+    private String spoolMemoryMapped;
     @XmlAttribute
     private String spoolThreshold;
     @XmlAttribute
@@ -97,6 +99,20 @@ public class CamelStreamCachingStrategyDefinition extends IdentifiedType {
         this.spoolChiper = spoolChiper;
     }
 
+    public String getSpoolMemoryMapped() {
+        return spoolMemoryMapped;
+    }
+
+    /**
+     * Sets whether spooled (temporary) files should be memory mapped when they are read,
+     * which avoids reading the file through buffers on the heap. This is recommended for large payloads.
+     * <p/>
+     * Spooled files which are encrypted are not memory mapped.
+     */
+    public void setSpoolMemoryMapped(String spoolMemoryMapped) {
+        this.spoolMemoryMapped = spoolMemoryMapped;
+    }
+
     public String getSpoolThreshold() {
         return spoolThreshold;
     }
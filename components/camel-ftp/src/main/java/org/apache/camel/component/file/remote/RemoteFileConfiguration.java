@@ -341,6 +341,7 @@ public abstract class RemoteFileConfiguration extends GenericFileConfiguration {
      * Sets the download method to use when not using a local working directory.  If set to true,
      * the remote files are streamed to the route as they are read.  When set to false, the remote files
      * are loaded into memory before being sent into the route.
+     * This option cannot be used together with parallelProcessing.
      */
     public void setStreamDownload(boolean streamDownload) {
         this.streamDownload = streamDownload;
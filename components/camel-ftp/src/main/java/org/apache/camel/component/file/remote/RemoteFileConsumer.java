@@ -93,7 +93,8 @@ public abstract class RemoteFileConsumer<T> extends GenericFileConsumer<T> {
 
         // if we did not poll any messages, but are configured to disconnect then we need to do this now
         // as there is no exchanges to be routed that otherwise will disconnect from the last UoW
-        if (polledMessages == 0) {
+        // (when using parallel processing then all the files have been committed by this thread at this point)
+        if (polledMessages == 0 || getEndpoint().isParallelProcessing()) {
             if (getEndpoint().isDisconnect()) {
                 log.trace("postPollCheck disconnect from: {}", getEndpoint());
                 disconnect();
@@ -109,7 +110,7 @@ public abstract class RemoteFileConsumer<T> extends GenericFileConsumer<T> {
 
         // defer disconnect til the UoW is complete - but only the last exchange from the batch should do that
         boolean isLast = exchange.getProperty(Exchange.BATCH_COMPLETE, true, Boolean.class);
-        if (isLast && getEndpoint().isDisconnect()) {
+        if (isLast && getEndpoint().isDisconnect() && !getEndpoint().isParallelProcessing()) {
             exchange.addOnCompletion(new SynchronizationAdapter() {
                 @Override
                 public void onDone(Exchange exchange) {
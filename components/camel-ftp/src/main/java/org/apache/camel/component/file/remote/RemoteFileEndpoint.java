@@ -106,6 +106,11 @@ public abstract class RemoteFileEndpoint<T> extends GenericFileEndpoint<T> {
             throw new IllegalArgumentException("You cannot both set delete=true and move options");
         }
 
+        // the stream is read from the same connection the consumer uses to retrieve the next files
+        if (isParallelProcessing() && getConfiguration().isStreamDownload()) {
+            throw new IllegalArgumentException("You cannot both set parallelProcessing=true and streamDownload=true");
+        }
+
         // if noop=true then idempotent should also be configured
         if (isNoop() && !isIdempotentSet()) {
             log.info("Endpoint is configured with noop=true so forcing endpoint to be idempotent as well");
@@ -45,4 +45,17 @@ public class FtpIllegalOptionsTest extends CamelTestSupport {
             // ok
         }
     }
+
+    @Test
+    public void testIllegalParallelProcessingStreamDownload() throws Exception {
+        try {
+            context.getEndpoint("ftp://target?parallelProcessing=true&streamDownload=true").createConsumer(new Processor() {
+                public void process(Exchange exchange) throws Exception {
+                }
+            });
+            fail("Should have thrown an exception");
+        } catch (IllegalArgumentException e) {
+            assertEquals("You cannot both set parallelProcessing=true and streamDownload=true", e.getMessage());
+        }
+    }
 }
\ No newline at end of file
@@ -130,6 +130,14 @@ public class KafkaConfiguration implements Cloneable, HeaderFilterStrategyAware
     private boolean breakOnFirstError;
     @UriParam(label = "consumer")
     private StateRepository<String, String> offsetRepository;
+    @UriParam(label = "consumer")
+    private boolean batching;
+    @UriParam(label = "consumer", defaultValue = "500")
+    private int maxBatchSize = 500;
+    @UriParam(label = "consumer,advanced")
+    private boolean parallelProcessing;
+    @UriParam(label = "consumer,advanced", defaultValue = "10")
+    private int parallelPoolSize = 10;
 
     //Producer Camel specific configuration properties
     @UriParam(label = "producer")
@@ -149,6 +157,10 @@ public class KafkaConfiguration implements Cloneable, HeaderFilterStrategyAware
     private Integer workerPoolCoreSize = 10;
     @UriParam(label = "producer", defaultValue = "20")
     private Integer workerPoolMaxSize = 20;
+    @UriParam(label = "producer")
+    private boolean completeOnIoThread;
+    @UriParam(label = "producer")
+    private int maxInFlightExchanges;
 
     //Async producer config
     @UriParam(label = "producer", defaultValue = "10000")
@@ -752,6 +764,63 @@ public class KafkaConfiguration implements Cloneable, HeaderFilterStrategyAware
         this.breakOnFirstError = breakOnFirstError;
     }
 
+    public boolean isBatching() {
+        return batching;
+    }
+
+    /**
+     * Whether to process the polled records of a partition in batches, where each batch is routed as a single exchange
+     * with a <tt>List&lt;Exchange&gt;</tt> body, holding an exchange per record with the record value as body and the
+     * record headers. The offset of a batch is committed when the batch exchange has been processed.
+     * <p/>
+     * This reduces the routing overhead per record, for example when the records are inserted into a database
+     * in bulk.
+     */
+    public void setBatching(boolean batching) {
+        this.batching = batching;
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    /**
+     * The maximum number of records in a batch exchange, when batching is enabled.
+     * A batch holds records from a single partition, and from a single poll, so a batch
+     * is also limited by the maxPollRecords option.
+     */
+    public void setMaxBatchSize(int maxBatchSize) {
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public boolean isParallelProcessing() {
+        return parallelProcessing;
+    }
+
+    /**
+     * Whether to process the records from different partitions concurrently using a pool of worker threads.
+     * The records of a partition are still processed in order, as a partition is paused while its records
+     * are being processed, and resumed when done. The offsets of the processed records are committed
+     * in batches using commitAsync (or stored in the offset repository) from the consumer thread.
+     * <p/>
+     * This option cannot be used together with allowManualCommit.
+     */
+    public void setParallelProcessing(boolean parallelProcessing) {
+        this.parallelProcessing = parallelProcessing;
+    }
+
+    public int getParallelPoolSize() {
+        return parallelPoolSize;
+    }
+
+    /**
+     * The number of worker threads used to process the records of the partitions concurrently,
+     * when parallelProcessing is enabled.
+     */
+    public void setParallelPoolSize(int parallelPoolSize) {
+        this.parallelPoolSize = parallelPoolSize;
+    }
+
     public String getBrokers() {
         return brokers;
     }
@@ -1546,6 +1615,34 @@ public class KafkaConfiguration implements Cloneable, HeaderFilterStrategyAware
         this.workerPoolMaxSize = workerPoolMaxSize;
     }
 
+    public boolean isCompleteOnIoThread() {
+        return completeOnIoThread;
+    }
+
+    /**
+     * Whether to continue routing the {@link Exchange} directly from the I/O thread of the Kafka producer, when the kafka server
+     * has acknowledged the messages sent using asynchronous non-blocking processing, instead of using a thread from the worker pool.
+     * <p/>
+     * This avoids a thread hand-off per exchange, but the routing must then be quick and must not block,
+     * as the I/O thread is also sending and receiving the data of all the other messages sent by the producer.
+     */
+    public void setCompleteOnIoThread(boolean completeOnIoThread) {
+        this.completeOnIoThread = completeOnIoThread;
+    }
+
+    public int getMaxInFlightExchanges() {
+        return maxInFlightExchanges;
+    }
+
+    /**
+     * The maximum number of exchanges the producer is sending at the same time using asynchronous non-blocking processing,
+     * which have not yet been acknowledged by the kafka server. When the limit is reached, sending the next exchange waits
+     * until an exchange has been acknowledged, for at most maxBlockMs. The default value of 0 means no limit.
+     */
+    public void setMaxInFlightExchanges(int maxInFlightExchanges) {
+        this.maxInFlightExchanges = maxInFlightExchanges;
+    }
+
     public boolean isRecordMetadata() {
         return recordMetadata;
     }
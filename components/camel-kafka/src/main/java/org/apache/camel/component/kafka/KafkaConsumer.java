@@ -20,12 +20,17 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
 import java.util.stream.StreamSupport;
 
@@ -48,7 +53,11 @@ import org.apache.kafka.common.header.Header;
 
 public class KafkaConsumer extends DefaultConsumer {
 
+    // the poll timeout to use while records are processed in parallel, so completed partitions are resumed quickly
+    private static final long PARALLEL_POLL_TIMEOUT_MS = 100;
+
     protected ExecutorService executor;
+    protected ExecutorService parallelExecutor;
     private final KafkaEndpoint endpoint;
     private final Processor processor;
     private final Long pollTimeoutMs;
@@ -95,6 +104,11 @@ public class KafkaConsumer extends DefaultConsumer {
             props.put(ConsumerConfig.GROUP_ID_CONFIG, randomGroupId);
             log.debug("Kafka consumer groupId is {} (generated)", randomGroupId);
         }
+
+        if (endpoint.getConfiguration().isParallelProcessing()) {
+            // the offsets are committed when the records has been processed by the worker threads
+            props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false");
+        }
         return props;
     }
 
@@ -104,6 +118,13 @@ public class KafkaConsumer extends DefaultConsumer {
                 endpoint.getConfiguration().getTopic(), endpoint.getConfiguration().isBreakOnFirstError());
         super.doStart();
 
+        if (endpoint.getConfiguration().isParallelProcessing()) {
+            if (endpoint.getConfiguration().isAllowManualCommit()) {
+                throw new IllegalArgumentException("The option allowManualCommit cannot be used together with parallelProcessing");
+            }
+            parallelExecutor = endpoint.createParallelExecutor();
+        }
+
         executor = endpoint.createExecutor();
 
         String topic = endpoint.getConfiguration().getTopic();
@@ -139,6 +160,15 @@ public class KafkaConsumer extends DefaultConsumer {
         tasks.clear();
         executor = null;
 
+        if (parallelExecutor != null) {
+            if (getEndpoint() != null && getEndpoint().getCamelContext() != null) {
+                getEndpoint().getCamelContext().getExecutorServiceManager().shutdownGraceful(parallelExecutor);
+            } else {
+                parallelExecutor.shutdownNow();
+            }
+            parallelExecutor = null;
+        }
+
         super.doStop();
     }
 
@@ -149,6 +179,11 @@ public class KafkaConsumer extends DefaultConsumer {
         private final Pattern topicPattern;
         private final String threadId;
         private final Properties kafkaProps;
+        // used when processing the records in parallel, the tasks and offsets are only accessed by this thread
+        private final Map<TopicPartition, PartitionTask> partitionTasks = new HashMap<>();
+        private final BlockingQueue<PartitionTask> completedPartitionTasks = new LinkedBlockingQueue<>();
+        private final Map<TopicPartition, OffsetAndMetadata> pendingOffsets = new HashMap<>();
+        private boolean forceCommit;
 
         KafkaFetchRecords(String topicName, Pattern topicPattern, String id, Properties kafkaProps) {
             this.topicName = topicName;
@@ -214,10 +249,19 @@ public class KafkaConsumer extends DefaultConsumer {
             boolean reConnect = false;
             boolean unsubscribing = false;
 
+            partitionTasks.clear();
+            completedPartitionTasks.clear();
+            pendingOffsets.clear();
+            forceCommit = false;
+
             try {
                 if (topicPattern != null) {
                     log.info("Subscribing {} to topic pattern {}", threadId, topicName);
                     consumer.subscribe(topicPattern, this);
+                } else if (parallelExecutor != null) {
+                    log.info("Subscribing {} to topic {}", threadId, topicName);
+                    // listen for rebalances so the records of revoked partitions can complete processing
+                    consumer.subscribe(Arrays.asList(topicName.split(",")), this);
                 } else {
                     log.info("Subscribing {} to topic {}", threadId, topicName);
                     consumer.subscribe(Arrays.asList(topicName.split(",")));
@@ -262,6 +306,11 @@ public class KafkaConsumer extends DefaultConsumer {
 
                 while (isRunAllowed() && !reConnect && !isStoppingOrStopped() && !isSuspendingOrSuspended()) {
 
+                    if (parallelExecutor != null) {
+                        doPollParallel(offsetRepository);
+                        continue;
+                    }
+
                     // flag to break out processing on the first exception
                     boolean breakOnErrorHit = false;
                     log.trace("Polling {} from topic: {} with timeout: {}", threadId, topicName, pollTimeoutMs);
@@ -276,14 +325,16 @@ public class KafkaConsumer extends DefaultConsumer {
                             ConsumerRecord<Object, Object> record;
 
                             while (!breakOnErrorHit && recordIterator.hasNext()) {
-                                record = recordIterator.next();
-                                if (log.isTraceEnabled()) {
-                                    log.trace("Partition = {}, offset = {}, key = {}, value = {}", record.partition(), record.offset(), record.key(),
-                                            record.value());
+                                Exchange exchange;
+                                if (endpoint.getConfiguration().isBatching()) {
+                                    // process the next records as a single exchange, which is committed as a whole
+                                    List<ConsumerRecord<Object, Object>> batch = nextBatch(recordIterator);
+                                    record = batch.get(batch.size() - 1);
+                                    exchange = createBatchExchange(batch);
+                                } else {
+                                    record = recordIterator.next();
+                                    exchange = createRecordExchange(record);
                                 }
-                                Exchange exchange = endpoint.createKafkaExchange(record);
-
-                                propagateHeaders(record, exchange, endpoint.getConfiguration().getHeaderFilterStrategy());
 
                                 // if not auto commit then we have additional information on the exchange
                                 if (!isAutoCommitEnabled()) {
@@ -336,6 +387,12 @@ public class KafkaConsumer extends DefaultConsumer {
                     }
                 }
 
+                if (parallelExecutor != null) {
+                    // let the records being processed complete and commit their offsets
+                    awaitPartitionTasks(null);
+                    commitPendingOffsets(offsetRepository, true);
+                }
+
                 if (!reConnect) {
                     if (isAutoCommitEnabled()) {
                         if ("async".equals(endpoint.getConfiguration().getAutoCommitOnStop())) {
@@ -368,6 +425,10 @@ public class KafkaConsumer extends DefaultConsumer {
             } catch (Exception e) {
                 getExceptionHandler().handleException("Error consuming " + threadId + " from kafka topic", e);
             } finally {
+                if (parallelExecutor != null) {
+                    // ensure no records are being processed before a new consumer may be created on re-connect
+                    awaitPartitionTasks(null);
+                }
                 log.debug("Closing {} ", threadId);
                 IOHelper.close(consumer);
             }
@@ -390,6 +451,94 @@ public class KafkaConsumer extends DefaultConsumer {
             }
         }
 
+        @SuppressWarnings("unchecked")
+        private void doPollParallel(StateRepository<String, String> offsetRepository) throws InterruptedException {
+            // if all the assigned partitions are being processed then wait for one of them to complete
+            boolean allBusy = !partitionTasks.isEmpty() && partitionTasks.size() >= consumer.assignment().size();
+            PartitionTask completed = allBusy ? completedPartitionTasks.poll(pollTimeoutMs, TimeUnit.MILLISECONDS) : completedPartitionTasks.poll();
+            while (completed != null) {
+                onPartitionTaskDone(completed);
+                completed = completedPartitionTasks.poll();
+            }
+            commitPendingOffsets(offsetRepository, false);
+
+            long timeout = partitionTasks.isEmpty() ? pollTimeoutMs : Math.min(pollTimeoutMs, PARALLEL_POLL_TIMEOUT_MS);
+            log.trace("Polling {} from topic: {} with timeout: {}", threadId, topicName, timeout);
+            ConsumerRecords<Object, Object> allRecords = consumer.poll(timeout);
+
+            for (TopicPartition partition : allRecords.partitions()) {
+                PartitionTask task = new PartitionTask(this, partition, allRecords.records(partition));
+                partitionTasks.put(partition, task);
+                // pause the partition so its records are processed in order, its resumed when the task is done
+                consumer.pause(Collections.singleton(partition));
+                parallelExecutor.submit(task);
+            }
+        }
+
+        private void onPartitionTaskDone(PartitionTask task) {
+            partitionTasks.remove(task.partition);
+            if (task.lastOffset != -1) {
+                pendingOffsets.put(task.partition, new OffsetAndMetadata(task.lastOffset + 1));
+            }
+
+            // the partition may have been revoked or unsubscribed in the meantime
+            if (consumer.assignment().contains(task.partition)) {
+                if (task.failedOffset != -1) {
+                    log.debug("Seeking {} partition {} from topic {} to offset: {}", threadId, task.partition.partition(), topicName, task.failedOffset);
+                    consumer.seek(task.partition, task.failedOffset);
+                    // force commit so we resume where we failed
+                    forceCommit = true;
+                }
+                consumer.resume(Collections.singleton(task.partition));
+            }
+        }
+
+        private void awaitPartitionTasks(Collection<TopicPartition> partitions) {
+            try {
+                while (partitions == null ? !partitionTasks.isEmpty() : partitions.stream().anyMatch(partitionTasks::containsKey)) {
+                    PartitionTask task = completedPartitionTasks.poll(pollTimeoutMs, TimeUnit.MILLISECONDS);
+                    if (task != null) {
+                        onPartitionTaskDone(task);
+                    } else {
+                        log.debug("Waiting for {} partitions to complete processing {} from topic {}", partitionTasks.size(), threadId, topicName);
+                    }
+                }
+            } catch (InterruptedException e) {
+                log.debug("Interrupted while waiting for partitions to complete processing {} from topic {}", threadId, topicName);
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void commitPendingOffsets(StateRepository<String, String> offsetRepository, boolean sync) {
+            if (pendingOffsets.isEmpty()) {
+                return;
+            }
+
+            if (offsetRepository != null) {
+                for (Map.Entry<TopicPartition, OffsetAndMetadata> entry : pendingOffsets.entrySet()) {
+                    // the state contains the last read offset
+                    long offset = entry.getValue().offset() - 1;
+                    log.debug("Saving offset repository state {} from topic {} with offset: {}", threadId, topicName, offset);
+                    offsetRepository.setState(serializeOffsetKey(entry.getKey()), serializeOffsetValue(offset));
+                }
+            } else if (forceCommit || isAutoCommitEnabled()) {
+                if (sync || forceCommit) {
+                    log.debug("CommitSync {} from topic {} with offsets: {}", threadId, topicName, pendingOffsets);
+                    consumer.commitSync(new HashMap<>(pendingOffsets));
+                } else {
+                    log.trace("CommitAsync {} from topic {} with offsets: {}", threadId, topicName, pendingOffsets);
+                    consumer.commitAsync(new HashMap<>(pendingOffsets), (offsets, e) -> {
+                        if (e != null) {
+                            log.warn("Error during commitAsync " + threadId + " from topic " + topicName + " with offsets: " + offsets
+                                    + ". The offsets will be committed again on the next commit.", e);
+                        }
+                    });
+                }
+            }
+            pendingOffsets.clear();
+            forceCommit = false;
+        }
+
         private void shutdown() {
             // As advised in the KAFKA-1894 ticket, calling this wakeup method breaks the infinite loop
             consumer.wakeup();
@@ -400,6 +549,12 @@ public class KafkaConsumer extends DefaultConsumer {
             log.debug("onPartitionsRevoked: {} from topic {}", threadId, topicName);
 
             StateRepository<String, String> offsetRepository = endpoint.getConfiguration().getOffsetRepository();
+            if (parallelExecutor != null) {
+                // let the records of the revoked partitions complete processing and commit their offsets
+                // before another consumer is assigned the partitions
+                awaitPartitionTasks(partitions);
+                commitPendingOffsets(offsetRepository, true);
+            }
             if (offsetRepository != null) {
                 for (TopicPartition partition : partitions) {
                     long offset = consumer.position(partition);
@@ -428,6 +583,103 @@ public class KafkaConsumer extends DefaultConsumer {
         }
     }
 
+    /**
+     * Processes the records polled from a partition, when parallel processing is enabled.
+     */
+    private final class PartitionTask implements Runnable {
+
+        private final KafkaFetchRecords fetchRecords;
+        private final TopicPartition partition;
+        private final List<ConsumerRecord<Object, Object>> records;
+        // updated by the worker thread, and read by the consumer thread when the task is completed
+        private long lastOffset = -1;
+        private long failedOffset = -1;
+
+        private PartitionTask(KafkaFetchRecords fetchRecords, TopicPartition partition, List<ConsumerRecord<Object, Object>> records) {
+            this.fetchRecords = fetchRecords;
+            this.partition = partition;
+            this.records = records;
+        }
+
+        @Override
+        public void run() {
+            try {
+                Iterator<ConsumerRecord<Object, Object>> recordIterator = records.iterator();
+                while (recordIterator.hasNext()) {
+                    ConsumerRecord<Object, Object> record;
+                    // the offset to resume from if the exchange fails, which is the first record of a batch
+                    long firstOffset;
+                    Exchange exchange;
+                    if (endpoint.getConfiguration().isBatching()) {
+                        List<ConsumerRecord<Object, Object>> batch = nextBatch(recordIterator);
+                        record = batch.get(batch.size() - 1);
+                        firstOffset = batch.get(0).offset();
+                        exchange = createBatchExchange(batch);
+                    } else {
+                        record = recordIterator.next();
+                        firstOffset = record.offset();
+                        exchange = createRecordExchange(record);
+                    }
+
+                    // if not auto commit then we have additional information on the exchange
+                    if (!isAutoCommitEnabled()) {
+                        exchange.getIn().setHeader(KafkaConstants.LAST_RECORD_BEFORE_COMMIT, !recordIterator.hasNext());
+                    }
+
+                    try {
+                        processor.process(exchange);
+                    } catch (Exception e) {
+                        exchange.setException(e);
+                    }
+
+                    if (exchange.getException() != null) {
+                        if (endpoint.getConfiguration().isBreakOnFirstError()) {
+                            log.warn("Error during processing {} from topic: {}. Will seek partition {} to offset: {} and start polling again.",
+                                    exchange, partition.topic(), partition.partition(), firstOffset);
+                            failedOffset = firstOffset;
+                            break;
+                        } else {
+                            // will handle/log the exception and then continue to next
+                            getExceptionHandler().handleException("Error during processing", exchange, exchange.getException());
+                        }
+                    } else {
+                        // record was success so remember its offset
+                        lastOffset = record.offset();
+                    }
+                }
+            } finally {
+                fetchRecords.completedPartitionTasks.add(this);
+            }
+        }
+    }
+
+    private Exchange createRecordExchange(ConsumerRecord<Object, Object> record) {
+        if (log.isTraceEnabled()) {
+            log.trace("Partition = {}, offset = {}, key = {}, value = {}", record.partition(), record.offset(), record.key(),
+                    record.value());
+        }
+        Exchange exchange = endpoint.createKafkaExchange(record);
+
+        propagateHeaders(record, exchange, endpoint.getConfiguration().getHeaderFilterStrategy());
+        return exchange;
+    }
+
+    private Exchange createBatchExchange(List<ConsumerRecord<Object, Object>> batch) {
+        List<Exchange> exchanges = new ArrayList<>(batch.size());
+        for (ConsumerRecord<Object, Object> record : batch) {
+            exchanges.add(createRecordExchange(record));
+        }
+        return endpoint.createKafkaBatchExchange(exchanges);
+    }
+
+    private List<ConsumerRecord<Object, Object>> nextBatch(Iterator<ConsumerRecord<Object, Object>> recordIterator) {
+        List<ConsumerRecord<Object, Object>> batch = new ArrayList<>();
+        while (recordIterator.hasNext() && batch.size() < endpoint.getConfiguration().getMaxBatchSize()) {
+            batch.add(recordIterator.next());
+        }
+        return batch;
+    }
+
     private void propagateHeaders(ConsumerRecord<Object, Object> record, Exchange exchange, HeaderFilterStrategy headerFilterStrategy) {
         StreamSupport.stream(record.headers().spliterator(), false)
                 .filter(header -> shouldBeFiltered(header, exchange, headerFilterStrategy))
@@ -17,6 +17,7 @@
 package org.apache.camel.component.kafka;
 
 import java.lang.reflect.Field;
+import java.util.List;
 import java.util.Properties;
 import java.util.concurrent.ExecutorService;
 
@@ -158,6 +159,10 @@ public class KafkaEndpoint extends DefaultEndpoint implements MultipleConsumersS
         return getCamelContext().getExecutorServiceManager().newFixedThreadPool(this, "KafkaConsumer[" + configuration.getTopic() + "]", configuration.getConsumerStreams());
     }
 
+    public ExecutorService createParallelExecutor() {
+        return getCamelContext().getExecutorServiceManager().newFixedThreadPool(this, "KafkaConsumerWorker[" + configuration.getTopic() + "]", configuration.getParallelPoolSize());
+    }
+
     public ExecutorService createProducerExecutor() {
         int core = getConfiguration().getWorkerPoolCoreSize();
         int max = getConfiguration().getWorkerPoolMaxSize();
@@ -182,6 +187,24 @@ public class KafkaEndpoint extends DefaultEndpoint implements MultipleConsumersS
         return exchange;
     }
 
+    /**
+     * Creates an exchange holding the exchanges of a batch of records, as a <tt>List&lt;Exchange&gt;</tt> body.
+     * The topic, partition and offset headers are from the last record in the batch.
+     */
+    public Exchange createKafkaBatchExchange(List<Exchange> exchanges) {
+        Exchange exchange = super.createExchange();
+
+        Message message = exchange.getIn();
+        Message last = exchanges.get(exchanges.size() - 1).getIn();
+        message.setHeader(KafkaConstants.PARTITION, last.getHeader(KafkaConstants.PARTITION));
+        message.setHeader(KafkaConstants.TOPIC, last.getHeader(KafkaConstants.TOPIC));
+        message.setHeader(KafkaConstants.OFFSET, last.getHeader(KafkaConstants.OFFSET));
+        message.setBody(exchanges);
+        exchange.setProperty(Exchange.BATCH_SIZE, exchanges.size());
+
+        return exchange;
+    }
+
     protected KafkaProducer createProducer(KafkaEndpoint endpoint) {
         return new KafkaProducer(endpoint);
     }
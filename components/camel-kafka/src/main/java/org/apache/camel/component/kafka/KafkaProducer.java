@@ -28,10 +28,14 @@ import java.util.Objects;
 import java.util.Properties;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import org.apache.camel.AsyncCallback;
+import org.apache.camel.CamelExchangeException;
 import org.apache.camel.Endpoint;
 import org.apache.camel.Exchange;
 import org.apache.camel.impl.DefaultAsyncProducer;
@@ -52,6 +56,7 @@ public class KafkaProducer extends DefaultAsyncProducer {
     private final KafkaEndpoint endpoint;
     private ExecutorService workerPool;
     private boolean shutdownWorkerPool;
+    private Semaphore inFlightExchanges;
 
     public KafkaProducer(KafkaEndpoint endpoint) {
         super(endpoint);
@@ -111,12 +116,16 @@ public class KafkaProducer extends DefaultAsyncProducer {
             }
         }
 
-        // if we are in asynchronous mode we need a worker pool
-        if (!endpoint.isSynchronous() && workerPool == null) {
+        // if we are in asynchronous mode we need a worker pool, unless we continue routing from the kafka I/O thread
+        if (!endpoint.isSynchronous() && !endpoint.getConfiguration().isCompleteOnIoThread() && workerPool == null) {
             workerPool = endpoint.createProducerExecutor();
             // we create a thread pool so we should also shut it down
             shutdownWorkerPool = true;
         }
+
+        if (!endpoint.isSynchronous() && endpoint.getConfiguration().getMaxInFlightExchanges() > 0) {
+            inFlightExchanges = new Semaphore(endpoint.getConfiguration().getMaxInFlightExchanges());
+        }
     }
 
     @Override
@@ -307,6 +316,14 @@ public class KafkaProducer extends DefaultAsyncProducer {
     @Override
     @SuppressWarnings({"unchecked", "rawtypes"})
     public boolean process(Exchange exchange, AsyncCallback callback) {
+        if (inFlightExchanges != null) {
+            if (!acquireInFlight(exchange)) {
+                callback.done(true);
+                return true;
+            }
+            callback = new InFlightCallback(callback);
+        }
+
         try {
             Iterator<ProducerRecord> c = createRecorder(exchange);
             KafkaProducerCallBack cb = new KafkaProducerCallBack(exchange, callback);
@@ -326,6 +343,21 @@ public class KafkaProducer extends DefaultAsyncProducer {
         return true;
     }
 
+    private boolean acquireInFlight(Exchange exchange) {
+        long timeout = endpoint.getConfiguration().getMaxBlockMs() != null ? endpoint.getConfiguration().getMaxBlockMs() : 0;
+        try {
+            if (inFlightExchanges.tryAcquire(timeout, TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+            exchange.setException(new CamelExchangeException("Timeout after " + timeout + " millis waiting for one of the "
+                    + endpoint.getConfiguration().getMaxInFlightExchanges() + " in-flight exchanges to be sent", exchange));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            exchange.setException(e);
+        }
+        return false;
+    }
+
     /**
      * Attempts to convert the object to the same type as the serialized class specified
      */
@@ -391,6 +423,13 @@ public class KafkaProducer extends DefaultAsyncProducer {
             recordMetadatas.add(recordMetadata);
 
             if (count.decrementAndGet() == 0) {
+                if (endpoint.getConfiguration().isCompleteOnIoThread()) {
+                    // continue routing the exchange directly from the kafka I/O thread
+                    log.trace("All messages sent, continue routing.");
+                    callback.done(false);
+                    return;
+                }
+
                 // use worker pool to continue routing the exchange
                 // as this thread is from Kafka Callback and should not be used by Camel routing
                 workerPool.submit(new Runnable() {
@@ -404,4 +443,25 @@ public class KafkaProducer extends DefaultAsyncProducer {
         }
     }
 
+    /**
+     * Releases the in-flight permit of the exchange when it is done.
+     */
+    private final class InFlightCallback implements AsyncCallback {
+
+        private final AsyncCallback callback;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        InFlightCallback(AsyncCallback callback) {
+            this.callback = callback;
+        }
+
+        @Override
+        public void done(boolean doneSync) {
+            if (released.compareAndSet(false, true)) {
+                inFlightExchanges.release();
+            }
+            callback.done(doneSync);
+        }
+    }
+
 }
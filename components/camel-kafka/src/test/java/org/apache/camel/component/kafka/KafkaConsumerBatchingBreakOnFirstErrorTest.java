@@ -0,0 +1,109 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.kafka;
+
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.camel.EndpointInject;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.After;
+import org.junit.Test;
+
+public class KafkaConsumerBatchingBreakOnFirstErrorTest extends BaseEmbeddedKafkaTest {
+    private static final String TOPIC = "batching-break-on-first-error";
+
+    @EndpointInject(uri = "mock:result")
+    private MockEndpoint result;
+
+    private org.apache.kafka.clients.producer.KafkaProducer<String, String> producer;
+
+    private final Set<String> bodies = new ConcurrentSkipListSet<>();
+
+    private final AtomicBoolean failed = new AtomicBoolean();
+
+    @Override
+    protected void doPreSetup() throws Exception {
+        kafkaBroker.createTopic(TOPIC, 1);
+
+        Properties props = getDefaultProperties();
+        producer = new org.apache.kafka.clients.producer.KafkaProducer<>(props);
+        for (int i = 0; i < 10; i++) {
+            producer.send(new ProducerRecord<>(TOPIC, 0, "key", "message-" + i));
+        }
+    }
+
+    @After
+    public void after() {
+        if (producer != null) {
+            producer.close();
+        }
+    }
+
+    @Test
+    public void shouldResumeFromFirstRecordOfFailedBatch() throws Exception {
+        result.expectedMinimumMessageCount(1);
+
+        result.assertIsSatisfied(5000);
+
+        for (int i = 0; i < 100 && bodies.size() < 10; i++) {
+            Thread.sleep(100);
+        }
+
+        assertTrue("The batch should have failed once", failed.get());
+        // the records of the failed batch before its last record must not be skipped
+        assertEquals(10, bodies.size());
+        for (int i = 0; i < 10; i++) {
+            assertTrue("message-" + i, bodies.contains("message-" + i));
+        }
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("kafka:" + TOPIC
+                             + "?groupId=batching-break-on-first-error"
+                             + "&autoOffsetReset=earliest"
+                             + "&batching=true"
+                             + "&maxBatchSize=4"
+                             + "&parallelProcessing=true"
+                             + "&breakOnFirstError=true")
+                        .process(exchange -> {
+                            List<Exchange> batch = exchange.getIn().getBody(List.class);
+                            for (Exchange record : batch) {
+                                // fail the batch with message-5 the first time it is processed
+                                if ("message-5".equals(record.getIn().getBody(String.class)) && failed.compareAndSet(false, true)) {
+                                    throw new IllegalStateException("Forced error");
+                                }
+                            }
+                            for (Exchange record : batch) {
+                                bodies.add(record.getIn().getBody(String.class));
+                            }
+                        })
+                        .to("mock:result");
+            }
+        };
+    }
+}
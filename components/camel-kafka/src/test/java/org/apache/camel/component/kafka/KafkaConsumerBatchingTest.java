@@ -0,0 +1,126 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.kafka;
+
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.apache.camel.EndpointInject;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.impl.JndiRegistry;
+import org.apache.camel.impl.MemoryStateRepository;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.After;
+import org.junit.Test;
+
+public class KafkaConsumerBatchingTest extends BaseEmbeddedKafkaTest {
+    private static final String TOPIC = "batching";
+
+    @EndpointInject(uri = "mock:result")
+    private MockEndpoint result;
+
+    private org.apache.kafka.clients.producer.KafkaProducer<String, String> producer;
+
+    private MemoryStateRepository stateRepository;
+
+    private final List<String> bodies = new CopyOnWriteArrayList<>();
+
+    @Override
+    protected void doPreSetup() throws Exception {
+        kafkaBroker.createTopic(TOPIC, 1);
+
+        Properties props = getDefaultProperties();
+        producer = new org.apache.kafka.clients.producer.KafkaProducer<>(props);
+        for (int i = 0; i < 10; i++) {
+            producer.send(new ProducerRecord<>(TOPIC, 0, "key", "message-" + i));
+        }
+
+        stateRepository = new MemoryStateRepository();
+    }
+
+    @After
+    public void after() {
+        if (producer != null) {
+            producer.close();
+        }
+        stateRepository = null;
+    }
+
+    @Test
+    public void shouldConsumeRecordsInBatches() throws Exception {
+        // 10 records in batches of maximum 4 records
+        result.expectedMinimumMessageCount(3);
+
+        result.assertIsSatisfied(5000);
+
+        for (int i = 0; i < 50 && bodies.size() < 10; i++) {
+            Thread.sleep(100);
+        }
+        assertEquals(10, bodies.size());
+        for (int i = 0; i < 10; i++) {
+            assertEquals("message-" + i, bodies.get(i));
+        }
+
+        for (Exchange exchange : result.getReceivedExchanges()) {
+            List<?> batch = exchange.getIn().getBody(List.class);
+            assertTrue(batch.size() <= 4);
+            assertEquals(batch.size(), exchange.getProperty(Exchange.BATCH_SIZE));
+
+            // the headers of the batch are from the last record
+            Exchange last = (Exchange) batch.get(batch.size() - 1);
+            assertEquals(last.getIn().getHeader(KafkaConstants.OFFSET), exchange.getIn().getHeader(KafkaConstants.OFFSET));
+        }
+
+        // the offset of the last record is stored when its batch is processed
+        for (int i = 0; i < 50 && !"9".equals(stateRepository.getState(TOPIC + "/0")); i++) {
+            Thread.sleep(100);
+        }
+        assertEquals("9", stateRepository.getState(TOPIC + "/0"));
+    }
+
+    @Override
+    protected JndiRegistry createRegistry() throws Exception {
+        JndiRegistry registry = super.createRegistry();
+        registry.bind("offset", stateRepository);
+        return registry;
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("kafka:" + TOPIC
+                             + "?groupId=batching"
+                             + "&autoOffsetReset=earliest"
+                             + "&batching=true"
+                             + "&maxBatchSize=4"
+                             + "&offsetRepository=#offset")
+                        .process(exchange -> {
+                            List<Exchange> batch = exchange.getIn().getBody(List.class);
+                            for (Exchange record : batch) {
+                                bodies.add(record.getIn().getBody(String.class));
+                            }
+                        })
+                        .to("mock:result");
+            }
+        };
+    }
+}
@@ -0,0 +1,130 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.kafka;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.camel.EndpointInject;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.impl.JndiRegistry;
+import org.apache.camel.impl.MemoryStateRepository;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.After;
+import org.junit.Test;
+
+public class KafkaConsumerParallelProcessingTest extends BaseEmbeddedKafkaTest {
+    private static final String TOPIC = "parallel-processing";
+
+    @EndpointInject(uri = "mock:result")
+    private MockEndpoint result;
+
+    private org.apache.kafka.clients.producer.KafkaProducer<String, String> producer;
+
+    private MemoryStateRepository stateRepository;
+
+    private final Map<Integer, List<Integer>> received = new ConcurrentHashMap<>();
+
+    @Override
+    protected void doPreSetup() throws Exception {
+        // Create the topic with 4 partitions + send 40 messages (10 in each partitions)
+        kafkaBroker.createTopic(TOPIC, 4);
+
+        Properties props = getDefaultProperties();
+        producer = new org.apache.kafka.clients.producer.KafkaProducer<>(props);
+        for (int i = 0; i < 40; i++) {
+            producer.send(new ProducerRecord<>(TOPIC, i % 4, "key", "" + i));
+        }
+
+        stateRepository = new MemoryStateRepository();
+    }
+
+    @After
+    public void after() {
+        if (producer != null) {
+            producer.close();
+        }
+        stateRepository = null;
+    }
+
+    @Test
+    public void shouldProcessPartitionsInParallelInOrder() throws InterruptedException {
+        result.expectedMessageCount(40);
+
+        result.assertIsSatisfied(10000);
+
+        // the records of each partition are processed in order
+        assertEquals(4, received.size());
+        for (Map.Entry<Integer, List<Integer>> entry : received.entrySet()) {
+            List<Integer> bodies = entry.getValue();
+            assertEquals("partition-" + entry.getKey(), 10, bodies.size());
+            for (int i = 0; i < 10; i++) {
+                assertEquals("partition-" + entry.getKey(), i * 4 + entry.getKey(), bodies.get(i).intValue());
+            }
+        }
+
+        // and the offsets are stored when the records are processed
+        for (int i = 0; i < 4; i++) {
+            String partition = TOPIC + "/" + i;
+            assertTrue(partition, waitForState(partition, "9"));
+        }
+    }
+
+    private boolean waitForState(String key, String expected) throws InterruptedException {
+        for (int i = 0; i < 50; i++) {
+            if (expected.equals(stateRepository.getState(key))) {
+                return true;
+            }
+            Thread.sleep(100);
+        }
+        return false;
+    }
+
+    @Override
+    protected JndiRegistry createRegistry() throws Exception {
+        JndiRegistry registry = super.createRegistry();
+        registry.bind("offset", stateRepository);
+        return registry;
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("kafka:" + TOPIC
+                             + "?groupId=parallel"
+                             + "&autoOffsetReset=earliest"
+                             + "&parallelProcessing=true"
+                             + "&parallelPoolSize=4"
+                             + "&offsetRepository=#offset")
+                        .process(exchange -> {
+                            int partition = exchange.getIn().getHeader(KafkaConstants.PARTITION, Integer.class);
+                            int body = exchange.getIn().getBody(Integer.class);
+                            // simulate some work so the partitions are processed concurrently
+                            Thread.sleep(20);
+                            received.computeIfAbsent(partition, k -> new ArrayList<>()).add(body);
+                        })
+                        .to("mock:result");
+            }
+        };
+    }
+}
@@ -24,6 +24,7 @@ import java.util.concurrent.Future;
 
 import org.apache.camel.AsyncCallback;
 import org.apache.camel.CamelContext;
+import org.apache.camel.CamelExchangeException;
 import org.apache.camel.Exchange;
 import org.apache.camel.Message;
 import org.apache.camel.TypeConverter;
@@ -40,6 +41,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -136,6 +138,54 @@ public class KafkaProducerTest {
         assertRecordMetadataExists();
     }
 
+    @Test
+    public void processAsyncCompletesOnIoThread() throws Exception {
+        endpoint.getConfiguration().setTopic("sometopic");
+        endpoint.getConfiguration().setCompleteOnIoThread(true);
+        Mockito.when(exchange.getIn()).thenReturn(in);
+        Mockito.when(exchange.getOut()).thenReturn(out);
+
+        assertFalse(producer.process(exchange, callback));
+
+        ArgumentCaptor<Callback> callBackCaptor = ArgumentCaptor.forClass(Callback.class);
+        Mockito.verify(producer.getKafkaProducer()).send(any(ProducerRecord.class), callBackCaptor.capture());
+        Mockito.verify(callback, Mockito.never()).done(Mockito.anyBoolean());
+
+        // the callback is done directly from the thread completing the send
+        callBackCaptor.getValue().onCompletion(new RecordMetadata(null, 0, 0, 0, new Long(0), 0, 0), null);
+        Mockito.verify(callback).done(eq(false));
+        assertRecordMetadataExists();
+    }
+
+    @Test
+    public void processAsyncWithMaxInFlightExchanges() throws Exception {
+        endpoint.getConfiguration().setTopic("sometopic");
+        endpoint.getConfiguration().setCompleteOnIoThread(true);
+        endpoint.getConfiguration().setMaxInFlightExchanges(1);
+        endpoint.getConfiguration().setMaxBlockMs(100);
+        Mockito.when(exchange.getIn()).thenReturn(in);
+        Mockito.when(exchange.getOut()).thenReturn(out);
+        producer.start();
+
+        assertFalse(producer.process(exchange, callback));
+
+        // the second exchange cannot be sent as the first has not been acknowledged
+        AsyncCallback callback2 = Mockito.mock(AsyncCallback.class);
+        assertTrue(producer.process(exchange, callback2));
+        Mockito.verify(exchange).setException(isA(CamelExchangeException.class));
+        Mockito.verify(callback2).done(eq(true));
+
+        ArgumentCaptor<Callback> callBackCaptor = ArgumentCaptor.forClass(Callback.class);
+        Mockito.verify(producer.getKafkaProducer()).send(any(ProducerRecord.class), callBackCaptor.capture());
+        callBackCaptor.getValue().onCompletion(new RecordMetadata(null, 0, 0, 0, new Long(0), 0, 0), null);
+        Mockito.verify(callback).done(eq(false));
+
+        // and when acknowledged the next exchange can be sent
+        AsyncCallback callback3 = Mockito.mock(AsyncCallback.class);
+        assertFalse(producer.process(exchange, callback3));
+        Mockito.verify(producer.getKafkaProducer(), Mockito.times(2)).send(any(ProducerRecord.class), any(Callback.class));
+    }
+
     @Test
     public void processAsyncSendsMessageWithException() throws Exception {
         endpoint.getConfiguration().setTopic("sometopic");
@@ -25,6 +25,7 @@ import java.util.concurrent.TimeUnit;
 
 import org.apache.camel.CamelContext;
 import org.apache.camel.Exchange;
+import org.apache.camel.spi.ExchangeHolderCodec;
 import org.apache.camel.spi.RecoverableAggregationRepository;
 import org.apache.camel.support.ServiceSupport;
 import org.apache.camel.util.IOHelper;
@@ -396,6 +397,21 @@ public class LevelDBAggregationRepository extends ServiceSupport implements Reco
         this.allowSerializedHeaders = allowSerializedHeaders;
     }
 
+    public ExchangeHolderCodec getExchangeHolderCodec() {
+        return codec.getExchangeHolderCodec();
+    }
+
+    /**
+     * Sets a codec to use for storing the exchanges instead of Java serialization, such as
+     * {@link org.apache.camel.impl.BinaryExchangeHolderCodec}.
+     * <p/>
+     * Exchanges which was stored before the codec was configured are still read using Java serialization,
+     * and are stored using the codec when they are updated.
+     */
+    public void setExchangeHolderCodec(ExchangeHolderCodec exchangeHolderCodec) {
+        codec.setExchangeHolderCodec(exchangeHolderCodec);
+    }
+
     @Override
     protected void doStart() throws Exception {
         // either we have a LevelDB configured or we use a provided fileName
@@ -23,6 +23,7 @@ import org.apache.camel.Endpoint;
 import org.apache.camel.Exchange;
 import org.apache.camel.impl.DefaultExchange;
 import org.apache.camel.impl.DefaultExchangeHolder;
+import org.apache.camel.spi.ExchangeHolderCodec;
 import org.fusesource.hawtbuf.Buffer;
 import org.fusesource.hawtbuf.DataByteArrayInputStream;
 import org.fusesource.hawtbuf.DataByteArrayOutputStream;
@@ -37,6 +38,21 @@ public final class LevelDBCamelCodec {
 
     private Codec<String> keyCodec = new StringCodec();
     private Codec<DefaultExchangeHolder> exchangeCodec = new ObjectCodec<>();
+    private ExchangeHolderCodec exchangeHolderCodec;
+
+    public ExchangeHolderCodec getExchangeHolderCodec() {
+        return exchangeHolderCodec;
+    }
+
+    /**
+     * Sets a codec to use for storing the exchanges instead of Java serialization, such as
+     * {@link org.apache.camel.impl.BinaryExchangeHolderCodec}.
+     * <p/>
+     * Exchanges which was stored before the codec was configured are still read using Java serialization.
+     */
+    public void setExchangeHolderCodec(ExchangeHolderCodec exchangeHolderCodec) {
+        this.exchangeHolderCodec = exchangeHolderCodec;
+    }
 
     public Buffer marshallKey(String key) throws IOException {
         DataByteArrayOutputStream baos = new DataByteArrayOutputStream();
@@ -67,13 +83,27 @@ public final class LevelDBCamelCodec {
         if (exchange.getFromEndpoint() != null) {
             DefaultExchangeHolder.addProperty(pe, "CamelAggregatedFromEndpoint", exchange.getFromEndpoint().getEndpointUri());
         }
+        if (exchangeHolderCodec != null) {
+            return new Buffer(exchangeHolderCodec.encode(pe));
+        }
         exchangeCodec.encode(pe, baos);
         return baos.toBuffer();
     }
 
     public Exchange unmarshallExchange(CamelContext camelContext, Buffer buffer) throws IOException {
-        DataByteArrayInputStream bais = new DataByteArrayInputStream(buffer);
-        DefaultExchangeHolder pe = exchangeCodec.decode(bais);
+        DefaultExchangeHolder pe;
+        byte[] data = exchangeHolderCodec != null ? buffer.toByteArray() : null;
+        if (data != null && exchangeHolderCodec.canDecode(data)) {
+            try {
+                pe = exchangeHolderCodec.decode(camelContext, data);
+            } catch (ClassNotFoundException e) {
+                throw new IOException("Cannot decode exchange due " + e.getMessage(), e);
+            }
+        } else {
+            // stored using Java serialization
+            DataByteArrayInputStream bais = new DataByteArrayInputStream(buffer);
+            pe = exchangeCodec.decode(bais);
+        }
         Exchange answer = new DefaultExchange(camelContext);
         DefaultExchangeHolder.unmarshal(answer, pe);
         // restore the from endpoint
@@ -100,12 +100,16 @@ public class NettyConfiguration extends NettyServerBootstrapConfiguration implem
     private long producerPoolMinEvictableIdle = 5 * 60 * 1000L;
     @UriParam(label = "producer,advanced", defaultValue = "true")
     private boolean producerPoolEnabled = true;
+    @UriParam(label = "producer,advanced", defaultValue = "1")
+    private int multiplexedChannels = 1;
     @UriParam(label = "producer,advanced")
     private boolean udpConnectionlessSending;
     @UriParam(label = "consumer")
     private boolean clientMode;
     @UriParam(label = "producer,advanced")
     private boolean useByteBuf;
+    @UriParam(label = "producer,advanced")
+    private boolean fileRegion;
     @UriParam(label = "advanced")
     private boolean udpByteArrayCodec;
     @UriParam(label = "common")
@@ -602,6 +606,25 @@ public class NettyConfiguration extends NettyServerBootstrapConfiguration implem
         this.producerPoolEnabled = producerPoolEnabled;
     }
 
+    public int getMultiplexedChannels() {
+        return multiplexedChannels;
+    }
+
+    /**
+     * The number of shared channels (connections) to use when the producer pool is disabled.
+     * By default a single shared channel is used.
+     * <p/>
+     * Setting this to a higher value allows many concurrent requests to be multiplexed over a small number of channels,
+     * which are selected in a round robin fashion. When doing request/reply this requires a
+     * correlation manager configured via the <tt>correlationManager</tt> option, which correlates the replies
+     * by correlation id, such as one extending {@link TimeoutCorrelationManagerSupport}.
+     * <p/>
+     * See also the <tt>producerPoolEnabled</tt> option for more details.
+     */
+    public void setMultiplexedChannels(int multiplexedChannels) {
+        this.multiplexedChannels = multiplexedChannels;
+    }
+
     public boolean isUdpConnectionlessSending() {
         return udpConnectionlessSending;
     }
@@ -636,6 +659,19 @@ public class NettyConfiguration extends NettyServerBootstrapConfiguration implem
         this.useByteBuf = useByteBuf;
     }
 
+    public boolean isFileRegion() {
+        return fileRegion;
+    }
+
+    /**
+     * If enabled and the message body is a java.io.File (or a WrappedFile such as from the file component) then the producer
+     * sends the file using a Netty FileRegion, which allows the operating system to transfer the file content directly
+     * to the socket (zero copy). This is only used for TCP without SSL, textline and transferExchange.
+     */
+    public void setFileRegion(boolean fileRegion) {
+        this.fileRegion = fileRegion;
+    }
+
     public boolean isUdpByteArrayCodec() {
         return udpByteArrayCodec;
     }
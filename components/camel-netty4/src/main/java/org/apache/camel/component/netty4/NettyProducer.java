@@ -16,6 +16,7 @@
  */
 package org.apache.camel.component.netty4;
 
+import java.io.File;
 import java.net.ConnectException;
 import java.net.InetSocketAddress;
 import java.util.concurrent.RejectedExecutionException;
@@ -27,6 +28,7 @@ import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelOption;
+import io.netty.channel.DefaultFileRegion;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.epoll.EpollDatagramChannel;
 import io.netty.channel.epoll.EpollSocketChannel;
@@ -43,6 +45,7 @@ import org.apache.camel.CamelContext;
 import org.apache.camel.CamelContextAware;
 import org.apache.camel.CamelExchangeException;
 import org.apache.camel.Exchange;
+import org.apache.camel.WrappedFile;
 import org.apache.camel.impl.DefaultAsyncProducer;
 import org.apache.camel.support.SynchronizationAdapter;
 import org.apache.camel.util.CamelLogger;
@@ -99,6 +102,12 @@ public class NettyProducer extends DefaultAsyncProducer {
     protected void doStart() throws Exception {
         super.doStart();
 
+        if (!configuration.isProducerPoolEnabled() && configuration.getMultiplexedChannels() > 1
+                && configuration.isSync() && configuration.getCorrelationManager() == null) {
+            // the default correlation manager correlates replies by channel which cannot be used when multiplexing
+            throw new IllegalArgumentException("A correlationManager must be configured when using multiplexedChannels with request/reply (sync=true)");
+        }
+
         if (configuration.getCorrelationManager() != null) {
             correlationManager = configuration.getCorrelationManager();
         } else {
@@ -137,6 +146,11 @@ public class NettyProducer extends DefaultAsyncProducer {
                 LOG.debug("Created NettyProducer pool[maxActive={}, minIdle={}, maxIdle={}, minEvictableIdleTimeMillis={}] -> {}",
                         new Object[]{config.maxActive, config.minIdle, config.maxIdle, config.minEvictableIdleTimeMillis, pool});
             }
+        } else if (configuration.getMultiplexedChannels() > 1) {
+            pool = new SharedRoundRobinObjectPool<>(new NettyProducerPoolableObjectFactory(), configuration.getMultiplexedChannels());
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Created NettyProducer shared round robin pool[channels={}] -> {}", configuration.getMultiplexedChannels(), pool);
+            }
         } else {
             pool = new SharedSingletonObjectPool<>(new NettyProducerPoolableObjectFactory());
             if (LOG.isDebugEnabled()) {
@@ -306,7 +320,8 @@ public class NettyProducer extends DefaultAsyncProducer {
             }
         }
 
-        //This will refer to original callback since netty will release body by itself
+        // the body is handed over to netty which releases it when written (or when the write fails),
+        // so from here on use the original callback which does not release the body again
         final AsyncCallback producerCallback;
 
         if (configuration.isReuseChannel()) {
@@ -376,6 +391,19 @@ public class NettyProducer extends DefaultAsyncProducer {
      * @throws Exception is thrown if error getting the request body
      */
     protected Object getRequestBody(Exchange exchange) throws Exception {
+        if (isFileRegionCapable()) {
+            Object file = exchange.getIn().getBody();
+            if (file instanceof WrappedFile) {
+                file = ((WrappedFile<?>) file).getFile();
+            }
+            if (file instanceof File) {
+                File f = (File) file;
+                // netty releases the region (and closes the file) when it has been written, and
+                // BodyReleaseCallback releases it if the write is never attempted
+                return new DefaultFileRegion(f, 0, f.length());
+            }
+        }
+
         Object body = NettyPayloadHelper.getIn(getEndpoint(), exchange);
         if (body == null) {
             return null;
@@ -389,6 +417,14 @@ public class NettyProducer extends DefaultAsyncProducer {
         return body;
     }
 
+    /**
+     * Whether file bodies can be sent as a {@link DefaultFileRegion} which transfers the file content directly to the socket.
+     */
+    protected boolean isFileRegionCapable() {
+        return configuration.isFileRegion() && isTcp() && !configuration.isSsl() && configuration.getSslHandler() == null
+            && configuration.getSslContextParameters() == null && !configuration.isTextline() && !configuration.isTransferExchange();
+    }
+
     protected EventLoopGroup getWorkerGroup() {
         // prefer using explicit configured thread pools
         EventLoopGroup wg = configuration.getWorkerGroup();
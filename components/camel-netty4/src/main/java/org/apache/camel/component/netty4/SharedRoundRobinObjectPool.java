@@ -0,0 +1,129 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.netty4;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.apache.commons.pool.ObjectPool;
+import org.apache.commons.pool.PoolableObjectFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An {@link org.apache.commons.pool.ObjectPool} that uses a fixed number of shared instances,
+ * which are borrowed in a round robin fashion without locking.
+ * <p/>
+ * The instances are shared, so borrowing does not wait for an instance to be returned, and
+ * {@link #returnObject(Object)} is a noop. An invalid instance is replaced with a new instance when borrowed.
+ * <p/>
+ * This implementation will return the number of created instances in {@link #getNumActive()} and
+ * return <tt>0</tt> in {@link #getNumIdle()}.
+ */
+public class SharedRoundRobinObjectPool<T> implements ObjectPool<T> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SharedRoundRobinObjectPool.class);
+    private final PoolableObjectFactory<T> factory;
+    private final AtomicReferenceArray<T> slots;
+    private final AtomicInteger counter = new AtomicInteger();
+
+    public SharedRoundRobinObjectPool(PoolableObjectFactory<T> factory, int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Size must be a positive number, was: " + size);
+        }
+        this.factory = factory;
+        this.slots = new AtomicReferenceArray<>(size);
+    }
+
+    @Override
+    public T borrowObject() throws Exception, NoSuchElementException, IllegalStateException {
+        int slot = (counter.getAndIncrement() & Integer.MAX_VALUE) % slots.length();
+        while (true) {
+            T t = slots.get(slot);
+            if (t != null) {
+                // ensure the object is validate before we borrow it
+                if (factory.validateObject(t)) {
+                    return t;
+                }
+                if (slots.compareAndSet(slot, t, null)) {
+                    LOG.info("Recreating new connection as current connection is invalid: {}", t);
+                }
+                continue;
+            }
+
+            T created = factory.makeObject();
+            if (slots.compareAndSet(slot, null, created)) {
+                return created;
+            }
+            // another thread created the instance concurrently so use that instead
+            factory.destroyObject(created);
+        }
+    }
+
+    @Override
+    public void returnObject(T obj) throws Exception {
+        // noop
+    }
+
+    @Override
+    public void invalidateObject(T obj) throws Exception {
+        for (int i = 0; i < slots.length(); i++) {
+            if (slots.compareAndSet(i, obj, null)) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void addObject() throws Exception, IllegalStateException, UnsupportedOperationException {
+        // noop
+    }
+
+    @Override
+    public int getNumIdle() throws UnsupportedOperationException {
+        return 0;
+    }
+
+    @Override
+    public int getNumActive() throws UnsupportedOperationException {
+        int answer = 0;
+        for (int i = 0; i < slots.length(); i++) {
+            if (slots.get(i) != null) {
+                answer++;
+            }
+        }
+        return answer;
+    }
+
+    @Override
+    public void clear() throws Exception, UnsupportedOperationException {
+        for (int i = 0; i < slots.length(); i++) {
+            slots.set(i, null);
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        clear();
+    }
+
+    @Override
+    public void setFactory(PoolableObjectFactory<T> factory) throws IllegalStateException, UnsupportedOperationException {
+        // noop
+    }
+}
@@ -0,0 +1,129 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.netty4;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.FileRegion;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.impl.JndiRegistry;
+import org.junit.Before;
+import org.junit.Test;
+
+public class NettyFileRegionTcpTest extends BaseNettyTest {
+
+    private final FileRegionRecorder recorder = new FileRegionRecorder();
+
+    @Override
+    protected JndiRegistry createRegistry() throws Exception {
+        JndiRegistry registry = super.createRegistry();
+        List<ChannelHandler> encoders = new ArrayList<>();
+        encoders.add(recorder);
+        registry.bind("encoders", encoders);
+        return registry;
+    }
+
+    @Override
+    @Before
+    public void setUp() throws Exception {
+        deleteDirectory("target/fileregion");
+        super.setUp();
+    }
+
+    @Test
+    public void testFileRegion() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:results");
+        mock.expectedBodiesReceived("Hello World", "Bye World");
+
+        template.sendBodyAndHeader("file:target/fileregion", "Hello World\nBye World\n", Exchange.FILE_NAME, "hello.txt");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Test
+    public void testFileRegionFileBody() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:results");
+        mock.expectedBodiesReceived("Hello World");
+
+        template.sendBodyAndHeader("file:target/fileregion/direct", "Hello World\n", Exchange.FILE_NAME, "hello.txt");
+        template.sendBody("direct:start", new File("target/fileregion/direct/hello.txt"));
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Test
+    public void testFileRegionReleasedAfterSend() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:results");
+        mock.expectedBodiesReceived("Hello World");
+
+        template.sendBodyAndHeader("file:target/fileregion/recorded", "Hello World\n", Exchange.FILE_NAME, "hello.txt");
+        template.sendBody("direct:recorded", new File("target/fileregion/recorded/hello.txt"));
+
+        assertMockEndpointsSatisfied();
+
+        assertEquals(1, recorder.regions.size());
+        FileRegion region = recorder.regions.get(0);
+        // netty releases the region on the event loop when the write completes
+        for (int i = 0; i < 50 && region.refCnt() > 0; i++) {
+            Thread.sleep(100);
+        }
+        assertEquals("The file region should be released after it has been sent", 0, region.refCnt());
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() {
+        return new RouteBuilder() {
+            public void configure() {
+                from("netty4:tcp://localhost:{{port}}?sync=false&textline=true")
+                    .to("mock:results");
+
+                from("file:target/fileregion?noop=true")
+                    .to("netty4:tcp://localhost:{{port}}?sync=false&fileRegion=true&allowDefaultCodec=false");
+
+                from("direct:start")
+                    .to("netty4:tcp://localhost:{{port}}?sync=false&fileRegion=true&allowDefaultCodec=false");
+
+                from("direct:recorded")
+                    .to("netty4:tcp://localhost:{{port}}?sync=false&fileRegion=true&allowDefaultCodec=false&encoders=#encoders");
+            }
+        };
+    }
+
+    @ChannelHandler.Sharable
+    private static final class FileRegionRecorder extends ChannelOutboundHandlerAdapter {
+        private final List<FileRegion> regions = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
+            if (msg instanceof FileRegion) {
+                regions.add((FileRegion) msg);
+            }
+            super.write(ctx, msg, promise);
+        }
+    }
+
+}
@@ -0,0 +1,98 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.netty4;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.netty.channel.Channel;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.impl.JndiRegistry;
+import org.junit.Test;
+
+public class NettyProducerMultiplexedChannelsTest extends BaseNettyTest {
+
+    private final MyCorrelationManager myManager = new MyCorrelationManager();
+
+    @Override
+    protected JndiRegistry createRegistry() throws Exception {
+        JndiRegistry jndi = super.createRegistry();
+        jndi.bind("myManager", myManager);
+        return jndi;
+    }
+
+    @Test
+    public void testMultiplexedChannels() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(30);
+        // check that the request and reply are correlated correctly
+        mock.allMessages().predicate(exchange -> {
+            String request = exchange.getMessage().getHeader("request", String.class);
+            String reply = exchange.getMessage().getBody(String.class);
+            return reply.equals(request + ":Bye");
+        });
+
+        for (int i = 0; i < 30; i++) {
+            template.sendBodyAndHeader("seda:start", "" + i, "request", "" + i);
+        }
+
+        assertMockEndpointsSatisfied();
+
+        // the requests should be spread over the channels in round robin fashion
+        assertEquals(3, myManager.channels.size());
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("seda:start?concurrentConsumers=10")
+                    .to("netty4:tcp://localhost:{{port}}?textline=true&sync=true&producerPoolEnabled=false&multiplexedChannels=3&correlationManager=#myManager")
+                    .to("mock:result");
+
+                from("netty4:tcp://localhost:{{port}}?textline=true&sync=true")
+                    .transform(body().append(":Bye"));
+            }
+        };
+    }
+
+    private static final class MyCorrelationManager extends TimeoutCorrelationManagerSupport {
+
+        private final Set<Channel> channels = ConcurrentHashMap.newKeySet();
+
+        @Override
+        public void putState(Channel channel, NettyCamelState state) {
+            channels.add(channel);
+            super.putState(channel, state);
+        }
+
+        @Override
+        public String getRequestCorrelationId(Object request) {
+            // the request is the correlation id
+            return request.toString();
+        }
+
+        @Override
+        public String getResponseCorrelationId(Object response) {
+            // the correlation id is the first part of the response
+            String body = response.toString();
+            return body.substring(0, body.indexOf(':'));
+        }
+    }
+}
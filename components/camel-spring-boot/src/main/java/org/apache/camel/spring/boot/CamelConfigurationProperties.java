@@ -229,6 +229,14 @@ public class CamelConfigurationProperties {
      */
     private String streamCachingSpoolChiper;
 
+    /**
+     * Sets whether stream caching spooled (temporary) files should be memory mapped when they are read,
+     * which avoids reading the file through buffers on the heap. This is recommended for large payloads.
+     * <p/>
+     * Spooled files which are encrypted are not memory mapped.
+     */
+    private boolean streamCachingSpoolMemoryMapped;
+
     /**
      * Stream caching threshold in bytes when overflow to disk is activated.
      * <p/>
@@ -673,6 +681,14 @@ public class CamelConfigurationProperties {
         this.streamCachingSpoolChiper = streamCachingSpoolChiper;
     }
 
+    public boolean isStreamCachingSpoolMemoryMapped() {
+        return streamCachingSpoolMemoryMapped;
+    }
+
+    public void setStreamCachingSpoolMemoryMapped(boolean streamCachingSpoolMemoryMapped) {
+        this.streamCachingSpoolMemoryMapped = streamCachingSpoolMemoryMapped;
+    }
+
     public long getStreamCachingSpoolThreshold() {
         return streamCachingSpoolThreshold;
     }
@@ -50,6 +50,13 @@ public abstract class DefaultSqlEndpoint extends DefaultPollingEndpoint {
     private boolean transacted;
     @UriParam(label = "producer", description = "Enables or disables batch mode")
     private boolean batch;
+    @UriParam(label = "producer", description = "If set greater than zero, then when using batch mode the items are executed in chunks"
+            + " of this size, instead of adding all the items to a single batch. This allows to insert a large number of items"
+            + " from a streaming iterator without holding them all in memory.")
+    private int batchChunkSize;
+    @UriParam(label = "producer", description = "Whether to commit after each chunk has been executed, when using batchChunkSize."
+            + " This is not in use if the connection is part of a Spring managed transaction.")
+    private boolean batchChunkCommit;
     @UriParam(label = "consumer", description = "Sets the maximum number of messages to poll")
     private int maxMessagesPerPoll;
     @UriParam(label = "consumer,advanced",
@@ -162,6 +169,31 @@ public abstract class DefaultSqlEndpoint extends DefaultPollingEndpoint {
         this.batch = batch;
     }
 
+    public int getBatchChunkSize() {
+        return batchChunkSize;
+    }
+
+    /**
+     * If set greater than zero, then when using batch mode the items are executed in chunks of this size,
+     * instead of adding all the items to a single batch. This allows to insert a large number of items
+     * from a streaming iterator without holding them all in memory.
+     */
+    public void setBatchChunkSize(int batchChunkSize) {
+        this.batchChunkSize = batchChunkSize;
+    }
+
+    public boolean isBatchChunkCommit() {
+        return batchChunkCommit;
+    }
+
+    /**
+     * Whether to commit after each chunk has been executed, when using batchChunkSize.
+     * This is not in use if the connection is part of a Spring managed transaction.
+     */
+    public void setBatchChunkCommit(boolean batchChunkCommit) {
+        this.batchChunkCommit = batchChunkCommit;
+    }
+
     public int getMaxMessagesPerPoll() {
         return maxMessagesPerPoll;
     }
@@ -59,6 +59,18 @@ public final class SqlConstants {
      */
     public static final String SQL_PARAMETERS = "CamelSqlParameters";
 
+    /**
+     * int output header giving the number of chunks executed, when using the option batchChunkSize.
+     * The header is updated after each chunk has been executed.
+     */
+    public static final String SQL_BATCH_CHUNK_COUNT = "CamelSqlBatchChunkCount";
+
+    /**
+     * int output header giving the number of items executed, when using the option batchChunkSize.
+     * The header is updated after each chunk has been executed.
+     */
+    public static final String SQL_BATCH_ITEM_COUNT = "CamelSqlBatchItemCount";
+
     private SqlConstants() {
         // Utility class
     }
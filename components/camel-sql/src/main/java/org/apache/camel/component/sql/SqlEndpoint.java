@@ -65,6 +65,8 @@ public class SqlEndpoint extends DefaultSqlEndpoint {
         SqlProducer result = new SqlProducer(this, query, getJdbcTemplate(), prepareStrategy, isBatch(),
                 isAlwaysPopulateStatement(), isUseMessageBodyForSql());
         result.setParametersCount(getParametersCount());
+        result.setBatchChunkSize(getBatchChunkSize());
+        result.setBatchChunkCommit(isBatchChunkCommit());
         return result;
     }
 
@@ -31,6 +31,7 @@ import org.apache.camel.impl.DefaultProducer;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.PreparedStatementCallback;
 import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.datasource.DataSourceUtils;
 
 import static org.springframework.jdbc.support.JdbcUtils.closeConnection;
 import static org.springframework.jdbc.support.JdbcUtils.closeResultSet;
@@ -45,6 +46,8 @@ public class SqlProducer extends DefaultProducer {
     private final SqlPrepareStatementStrategy sqlPrepareStatementStrategy;
     private final boolean useMessageBodyForSql;
     private int parametersCount;
+    private int batchChunkSize;
+    private boolean batchChunkCommit;
 
     public SqlProducer(SqlEndpoint endpoint, String query, JdbcTemplate jdbcTemplate, SqlPrepareStatementStrategy sqlPrepareStatementStrategy,
                        boolean batch, boolean alwaysPopulateStatement, boolean useMessageBodyForSql) {
@@ -118,6 +121,8 @@ public class SqlProducer extends DefaultProducer {
                 ResultSet rs = null;
                 try {
                     int expected = parametersCount > 0 ? parametersCount : ps.getParameterMetaData().getParameterCount();
+                    // the update count when the batch has been executed in chunks
+                    Integer chunkedUpdateCount = null;
 
                     // only populate if really needed
                     if (alwaysPopulateStatement || expected > 0) {
@@ -129,11 +134,15 @@ public class SqlProducer extends DefaultProducer {
                             } else {
                                 iterator = exchange.getIn().getBody(Iterator.class);
                             }
-                            while (iterator != null && iterator.hasNext()) {
-                                Object value = iterator.next();
-                                Iterator<?> i = sqlPrepareStatementStrategy.createPopulateIterator(sql, preparedQuery, expected, exchange, value);
-                                sqlPrepareStatementStrategy.populateStatement(ps, i, expected);
-                                ps.addBatch();
+                            if (batchChunkSize > 0) {
+                                chunkedUpdateCount = executeBatchInChunks(exchange, ps, iterator, sql, preparedQuery, expected);
+                            } else {
+                                while (iterator != null && iterator.hasNext()) {
+                                    Object value = iterator.next();
+                                    Iterator<?> i = sqlPrepareStatementStrategy.createPopulateIterator(sql, preparedQuery, expected, exchange, value);
+                                    sqlPrepareStatementStrategy.populateStatement(ps, i, expected);
+                                    ps.addBatch();
+                                }
                             }
                         } else {
                             Object value;
@@ -150,7 +159,9 @@ public class SqlProducer extends DefaultProducer {
                     boolean isResultSet = false;
 
                     // execute the prepared statement and populate the outgoing message
-                    if (batch) {
+                    if (chunkedUpdateCount != null) {
+                        exchange.getIn().setHeader(SqlConstants.SQL_UPDATE_COUNT, chunkedUpdateCount);
+                    } else if (batch) {
                         int[] updateCounts = ps.executeBatch();
                         int total = 0;
                         for (int count : updateCounts) {
@@ -235,6 +246,72 @@ public class SqlProducer extends DefaultProducer {
         });
     }
 
+    /**
+     * Executes the batch in chunks of the batchChunkSize, pulling the items from the iterator as needed,
+     * so only a chunk of the items is held in the batch at any time.
+     *
+     * @return the total update count
+     */
+    protected int executeBatchInChunks(Exchange exchange, PreparedStatement ps, Iterator<?> iterator,
+                                       String sql, String preparedQuery, int expected) throws SQLException {
+        Connection con = ps.getConnection();
+        // do not commit if the connection is managed by a spring transaction
+        boolean commit = batchChunkCommit && !DataSourceUtils.isConnectionTransactional(con, jdbcTemplate.getDataSource());
+        boolean autoCommit = con.getAutoCommit();
+        if (commit && autoCommit) {
+            con.setAutoCommit(false);
+        }
+
+        int total = 0;
+        int items = 0;
+        int chunks = 0;
+        try {
+            int size = 0;
+            while (iterator != null && iterator.hasNext()) {
+                Object value = iterator.next();
+                Iterator<?> i = sqlPrepareStatementStrategy.createPopulateIterator(sql, preparedQuery, expected, exchange, value);
+                sqlPrepareStatementStrategy.populateStatement(ps, i, expected);
+                ps.addBatch();
+                size++;
+
+                boolean last = !iterator.hasNext();
+                if (size == batchChunkSize || last) {
+                    int[] updateCounts = ps.executeBatch();
+                    ps.clearBatch();
+                    for (int count : updateCounts) {
+                        total += count;
+                    }
+                    if (commit) {
+                        con.commit();
+                    }
+                    items += size;
+                    chunks++;
+                    size = 0;
+
+                    exchange.getIn().setHeader(SqlConstants.SQL_BATCH_CHUNK_COUNT, chunks);
+                    exchange.getIn().setHeader(SqlConstants.SQL_BATCH_ITEM_COUNT, items);
+                    log.debug("Executed batch chunk #{} with {} items in total", chunks, items);
+                }
+            }
+        } catch (SQLException | RuntimeException e) {
+            if (commit) {
+                // rollback the current chunk, as the previous chunks has been committed
+                con.rollback();
+            }
+            throw e;
+        } finally {
+            if (commit && autoCommit) {
+                con.setAutoCommit(true);
+            }
+        }
+
+        if (chunks == 0) {
+            exchange.getIn().setHeader(SqlConstants.SQL_BATCH_CHUNK_COUNT, 0);
+            exchange.getIn().setHeader(SqlConstants.SQL_BATCH_ITEM_COUNT, 0);
+        }
+        return total;
+    }
+
     protected void processStreamList(Exchange exchange, PreparedStatementCreator statementCreator, String sql, String preparedQuery) throws Exception {
         log.trace("processStreamList: {}", preparedQuery);
 
@@ -310,4 +387,12 @@ public class SqlProducer extends DefaultProducer {
     public void setParametersCount(int parametersCount) {
         this.parametersCount = parametersCount;
     }
+
+    public void setBatchChunkSize(int batchChunkSize) {
+        this.batchChunkSize = batchChunkSize;
+    }
+
+    public void setBatchChunkCommit(boolean batchChunkCommit) {
+        this.batchChunkCommit = batchChunkCommit;
+    }
 }
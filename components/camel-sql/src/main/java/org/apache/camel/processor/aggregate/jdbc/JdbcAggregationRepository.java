@@ -28,6 +28,7 @@ import javax.sql.DataSource;
 
 import org.apache.camel.CamelContext;
 import org.apache.camel.Exchange;
+import org.apache.camel.spi.ExchangeHolderCodec;
 import org.apache.camel.spi.OptimisticLockingAggregationRepository;
 import org.apache.camel.spi.RecoverableAggregationRepository;
 import org.apache.camel.support.ServiceSupport;
@@ -449,6 +450,21 @@ public class JdbcAggregationRepository extends ServiceSupport implements Recover
         this.codec = codec;
     }
 
+    public ExchangeHolderCodec getExchangeHolderCodec() {
+        return codec.getExchangeHolderCodec();
+    }
+
+    /**
+     * Sets a codec to use for storing the exchanges instead of Java serialization, such as
+     * {@link org.apache.camel.impl.BinaryExchangeHolderCodec}.
+     * <p/>
+     * Exchanges which was stored before the codec was configured are still read using Java serialization,
+     * and are stored using the codec when they are updated.
+     */
+    public void setExchangeHolderCodec(ExchangeHolderCodec exchangeHolderCodec) {
+        codec.setExchangeHolderCodec(exchangeHolderCodec);
+    }
+
     public boolean hasHeadersToStoreAsText() {
         return this.headersToStoreAsText != null && !this.headersToStoreAsText.isEmpty();
     }
@@ -27,6 +27,7 @@ import org.apache.camel.Endpoint;
 import org.apache.camel.Exchange;
 import org.apache.camel.impl.DefaultExchange;
 import org.apache.camel.impl.DefaultExchangeHolder;
+import org.apache.camel.spi.ExchangeHolderCodec;
 import org.apache.camel.util.IOHelper;
 
 /**
@@ -34,6 +35,22 @@ import org.apache.camel.util.IOHelper;
  */
 public class JdbcCamelCodec {
 
+    private ExchangeHolderCodec exchangeHolderCodec;
+
+    public ExchangeHolderCodec getExchangeHolderCodec() {
+        return exchangeHolderCodec;
+    }
+
+    /**
+     * Sets a codec to use for storing the exchanges instead of Java serialization, such as
+     * {@link org.apache.camel.impl.BinaryExchangeHolderCodec}.
+     * <p/>
+     * Exchanges which was stored before the codec was configured are still read using Java serialization.
+     */
+    public void setExchangeHolderCodec(ExchangeHolderCodec exchangeHolderCodec) {
+        this.exchangeHolderCodec = exchangeHolderCodec;
+    }
+
     public byte[] marshallExchange(CamelContext camelContext, Exchange exchange, boolean allowSerializedHeaders) throws IOException {
         // use DefaultExchangeHolder to marshal to a serialized object
         DefaultExchangeHolder pe = DefaultExchangeHolder.marshal(exchange, false, allowSerializedHeaders);
@@ -69,7 +86,10 @@ public class JdbcCamelCodec {
         return answer;
     }
 
-    private byte[] encode(Object object) throws IOException {
+    private byte[] encode(DefaultExchangeHolder object) throws IOException {
+        if (exchangeHolderCodec != null) {
+            return exchangeHolderCodec.encode(object);
+        }
         ByteArrayOutputStream bytesOut = new ByteArrayOutputStream();
         ObjectOutputStream objectOut = new ObjectOutputStream(bytesOut);
         objectOut.writeObject(object);
@@ -79,6 +99,11 @@ public class JdbcCamelCodec {
     }
 
     private DefaultExchangeHolder decode(CamelContext camelContext, byte[] dataIn) throws IOException, ClassNotFoundException {
+        if (exchangeHolderCodec != null && exchangeHolderCodec.canDecode(dataIn)) {
+            return exchangeHolderCodec.decode(camelContext, dataIn);
+        }
+
+        // stored using Java serialization
         ByteArrayInputStream bytesIn = new ByteArrayInputStream(dataIn);
 
         ObjectInputStream objectIn = null;
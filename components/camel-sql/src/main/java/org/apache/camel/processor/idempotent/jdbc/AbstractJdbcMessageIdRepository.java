@@ -16,14 +16,26 @@
  */
 package org.apache.camel.processor.idempotent.jdbc;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import javax.sql.DataSource;
 
+import org.apache.camel.api.management.ManagedAttribute;
 import org.apache.camel.api.management.ManagedOperation;
 import org.apache.camel.api.management.ManagedResource;
 import org.apache.camel.spi.IdempotentRepository;
 import org.apache.camel.support.ServiceSupport;
+import org.apache.camel.util.LRUCacheFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.datasource.DataSourceTransactionManager;
 import org.springframework.transaction.TransactionDefinition;
@@ -47,6 +59,12 @@ import org.springframework.transaction.support.TransactionTemplate;
  * what is required by Camel to allow using the idempotent repository with the Idempotent Consumer EIP
  * and also as file consumer read-lock. It was a mistake to make {@link IdempotentRepository} parameterized,
  * as it should have been a pre-configured to use a <tt>String</tt> type.
+ * <p/>
+ * The repository can keep a local cache of the most recent keys, by setting the <tt>cacheSize</tt> option,
+ * so keys which are known to exist does not need a round-trip to the database.
+ * When the <tt>batchInsert</tt> option is enabled then new keys are inserted without querying first, relying on a
+ * unique constraint on the table instead. Keys added concurrently while a batch is being inserted are
+ * inserted together using the next JDBC batch, and a duplicate key violation is regarded as the key already exists.
  */
 @ManagedResource(description = "JDBC IdempotentRepository")
 public abstract class AbstractJdbcMessageIdRepository<T> extends ServiceSupport implements IdempotentRepository<T> {
@@ -57,6 +75,15 @@ public abstract class AbstractJdbcMessageIdRepository<T> extends ServiceSupport
     protected DataSource dataSource;
     protected Logger log = LoggerFactory.getLogger(getClass());
 
+    private int cacheSize;
+    private boolean batchInsert;
+    private int batchSize = 100;
+    private Map<T, Object> cache;
+    // the batches are inserted in their own transaction, as they contain the keys of other callers as well
+    private TransactionTemplate batchTransactionTemplate;
+    private final BlockingQueue<PendingKey<T>> pendingKeys = new LinkedBlockingQueue<>();
+    private final Lock flushLock = new ReentrantLock();
+
     public AbstractJdbcMessageIdRepository() {
     }
 
@@ -107,6 +134,21 @@ public abstract class AbstractJdbcMessageIdRepository<T> extends ServiceSupport
      */
     protected abstract int delete();
 
+    /**
+     * Operation that inserts the keys using a batch, used when <tt>batchInsert</tt> is enabled.
+     * <p/>
+     * The default implementation inserts the keys one by one, and implementations should override this
+     * to use a JDBC batch. A duplicate key violation should be thrown as Spring's {@link DuplicateKeyException}
+     * which is the case when using {@link JdbcTemplate}.
+     *
+     * @param keys  the keys
+     */
+    protected void insert(List<T> keys) {
+        for (T key : keys) {
+            insert(key);
+        }
+    }
+
     /**
      * Creates the transaction template
      */
@@ -118,16 +160,54 @@ public abstract class AbstractJdbcMessageIdRepository<T> extends ServiceSupport
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     protected void doStart() throws Exception {
+        if (batchInsert && batchSize <= 0) {
+            throw new IllegalArgumentException("BatchSize must be a positive number, was: " + batchSize);
+        }
+        if (cacheSize > 0) {
+            cache = LRUCacheFactory.newLRUCache(cacheSize);
+        }
+        if (batchInsert) {
+            batchTransactionTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+            batchTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        }
     }
 
     @Override
     protected void doStop() throws Exception {
+        // flush any remaining keys
+        flushLock.lock();
+        try {
+            while (!pendingKeys.isEmpty()) {
+                flushPendingKeys();
+            }
+        } finally {
+            flushLock.unlock();
+        }
+        if (cache != null) {
+            cache.clear();
+            cache = null;
+        }
     }
 
     @ManagedOperation(description = "Adds the key to the store")
     @Override
     public boolean add(final T key) {
+        if (cache != null && cache.containsKey(key)) {
+            // we know the key already exists
+            return false;
+        }
+
+        boolean answer = batchInsert ? batchAdd(key) : transactionalAdd(key);
+        if (cache != null) {
+            // both when added and when it already existed, as it now exists in the store
+            cache.put(key, key);
+        }
+        return answer;
+    }
+
+    private boolean transactionalAdd(final T key) {
         // Run this in single transaction.
         Boolean rc = transactionTemplate.execute(new TransactionCallback<Boolean>() {
             public Boolean doInTransaction(TransactionStatus status) {
@@ -143,9 +223,88 @@ public abstract class AbstractJdbcMessageIdRepository<T> extends ServiceSupport
         return rc.booleanValue();
     }
 
+    private boolean batchAdd(T key) {
+        PendingKey<T> pending = new PendingKey<>(key);
+        pendingKeys.add(pending);
+
+        // the caller holding the lock flushes the keys which are queued at once (group commit), so the keys
+        // added while a batch is being inserted are queued up and flushed together by the next caller to get the lock
+        while (!pending.isDone()) {
+            flushLock.lock();
+            try {
+                if (!pending.isDone()) {
+                    flushPendingKeys();
+                }
+            } finally {
+                flushLock.unlock();
+            }
+        }
+        return pending.getResult();
+    }
+
+    private void flushPendingKeys() {
+        List<PendingKey<T>> batch = new ArrayList<>(batchSize);
+        pendingKeys.drainTo(batch, batchSize);
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        // the same key may be added concurrently in which case only the first is added
+        final Map<T, PendingKey<T>> unique = new LinkedHashMap<>(batch.size() * 2);
+        for (PendingKey<T> pending : batch) {
+            if (unique.containsKey(pending.key)) {
+                pending.done(false, null);
+            } else {
+                unique.put(pending.key, pending);
+            }
+        }
+
+        try {
+            batchTransactionTemplate.execute(new TransactionCallback<Boolean>() {
+                public Boolean doInTransaction(TransactionStatus status) {
+                    insert(new ArrayList<>(unique.keySet()));
+                    return Boolean.TRUE;
+                }
+            });
+            for (PendingKey<T> pending : unique.values()) {
+                pending.done(true, null);
+            }
+        } catch (DataIntegrityViolationException e) {
+            // one or more of the keys already exists (drivers may not report a batch failure as duplicate key)
+            // so we need to insert them one by one to know which
+            log.debug("Duplicate key in batch of {} keys, inserting the keys one by one", unique.size());
+            for (PendingKey<T> pending : unique.values()) {
+                insertPendingKey(pending);
+            }
+        } catch (RuntimeException e) {
+            for (PendingKey<T> pending : unique.values()) {
+                pending.done(false, e);
+            }
+        }
+    }
+
+    private void insertPendingKey(final PendingKey<T> pending) {
+        try {
+            batchTransactionTemplate.execute(new TransactionCallback<Boolean>() {
+                public Boolean doInTransaction(TransactionStatus status) {
+                    insert(pending.key);
+                    return Boolean.TRUE;
+                }
+            });
+            pending.done(true, null);
+        } catch (DuplicateKeyException e) {
+            pending.done(false, null);
+        } catch (RuntimeException e) {
+            pending.done(false, e);
+        }
+    }
+
     @ManagedOperation(description = "Does the store contain the given key")
     @Override
     public boolean contains(final T key) {
+        if (cache != null && cache.containsKey(key)) {
+            return true;
+        }
         // Run this in single transaction.
         Boolean rc = transactionTemplate.execute(new TransactionCallback<Boolean>() {
             public Boolean doInTransaction(TransactionStatus status) {
@@ -164,6 +323,9 @@ public abstract class AbstractJdbcMessageIdRepository<T> extends ServiceSupport
     @ManagedOperation(description = "Remove the key from the store")
     @Override
     public boolean remove(final T key) {
+        if (cache != null) {
+            cache.remove(key);
+        }
         Boolean rc = transactionTemplate.execute(new TransactionCallback<Boolean>() {
             public Boolean doInTransaction(TransactionStatus status) {
                 int updateCount = delete(key);
@@ -180,6 +342,9 @@ public abstract class AbstractJdbcMessageIdRepository<T> extends ServiceSupport
     @ManagedOperation(description = "Clear the store")
     @Override
     public void clear() {
+        if (cache != null) {
+            cache.clear();
+        }
         transactionTemplate.execute(new TransactionCallback<Boolean>() {
             public Boolean doInTransaction(TransactionStatus status) {
                 delete();
@@ -217,6 +382,50 @@ public abstract class AbstractJdbcMessageIdRepository<T> extends ServiceSupport
         this.transactionTemplate = transactionTemplate;
     }
 
+    @ManagedAttribute(description = "Maximum number of keys to keep in the local cache")
+    public int getCacheSize() {
+        return cacheSize;
+    }
+
+    /**
+     * Sets the maximum number of recently added keys to keep in a local cache, so keys which are known to exist
+     * does not need a round-trip to the database. Keys removed by other nodes sharing the same table are not
+     * removed from the local cache. By default the cache is disabled.
+     */
+    public void setCacheSize(int cacheSize) {
+        this.cacheSize = cacheSize;
+    }
+
+    @ManagedAttribute(description = "Whether new keys are inserted using JDBC batches")
+    public boolean isBatchInsert() {
+        return batchInsert;
+    }
+
+    /**
+     * Whether to insert new keys without querying first, relying on a unique constraint on the table. Keys
+     * added concurrently while a batch is being inserted are inserted together using the next JDBC batch, and a
+     * duplicate key violation is regarded as the key already exists. The batches are inserted in a new transaction,
+     * so the keys are not part of any transaction the caller may be in.
+     * <p/>
+     * <b>Important:</b> the table must have a unique constraint on the processor name and message id columns,
+     * as otherwise duplicate keys are inserted.
+     */
+    public void setBatchInsert(boolean batchInsert) {
+        this.batchInsert = batchInsert;
+    }
+
+    @ManagedAttribute(description = "Maximum number of keys to insert in a single JDBC batch")
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * The maximum number of keys to insert in a single JDBC batch. The default is 100.
+     */
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
     public DataSource getDataSource() {
         return dataSource;
     }
@@ -225,4 +434,32 @@ public abstract class AbstractJdbcMessageIdRepository<T> extends ServiceSupport
         this.dataSource = dataSource;
     }
 
+    private static final class PendingKey<T> {
+        private final T key;
+        private volatile boolean done;
+        private volatile boolean result;
+        private volatile RuntimeException cause;
+
+        PendingKey(T key) {
+            this.key = key;
+        }
+
+        void done(boolean result, RuntimeException cause) {
+            this.result = result;
+            this.cause = cause;
+            this.done = true;
+        }
+
+        boolean isDone() {
+            return done;
+        }
+
+        boolean getResult() {
+            if (cause != null) {
+                throw cause;
+            }
+            return result;
+        }
+    }
+
 }
@@ -17,6 +17,8 @@
 package org.apache.camel.processor.idempotent.jdbc;
 
 import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
 import javax.sql.DataSource;
 
 import org.springframework.dao.DataAccessException;
@@ -30,9 +32,14 @@ import org.springframework.transaction.support.TransactionTemplate;
  */
 public class JdbcMessageIdRepository extends AbstractJdbcMessageIdRepository<String> {
 
+    private static final String DEFAULT_CREATE_STRING = "CREATE TABLE CAMEL_MESSAGEPROCESSED (processorName VARCHAR(255), messageId VARCHAR(100), createdAt TIMESTAMP)";
+    // batch insert relies on the primary key to detect duplicate keys
+    private static final String DEFAULT_BATCH_CREATE_STRING = "CREATE TABLE CAMEL_MESSAGEPROCESSED (processorName VARCHAR(255) NOT NULL, messageId VARCHAR(100) NOT NULL, "
+        + "createdAt TIMESTAMP, PRIMARY KEY (processorName, messageId))";
+
     private boolean createTableIfNotExists = true;
     private String tableExistsString = "SELECT 1 FROM CAMEL_MESSAGEPROCESSED WHERE 1 = 0";
-    private String createString = "CREATE TABLE CAMEL_MESSAGEPROCESSED (processorName VARCHAR(255), messageId VARCHAR(100), createdAt TIMESTAMP)";
+    private String createString = DEFAULT_CREATE_STRING;
     private String queryString = "SELECT COUNT(*) FROM CAMEL_MESSAGEPROCESSED WHERE processorName = ? AND messageId = ?";
     private String insertString = "INSERT INTO CAMEL_MESSAGEPROCESSED (processorName, messageId, createdAt) VALUES (?, ?, ?)";
     private String deleteString = "DELETE FROM CAMEL_MESSAGEPROCESSED WHERE processorName = ? AND messageId = ?";
@@ -65,14 +72,16 @@ public class JdbcMessageIdRepository extends AbstractJdbcMessageIdRepository<Str
                     log.debug("Expected table for JdbcMessageIdRepository exist");
                 } catch (DataAccessException e) {
                     if (createTableIfNotExists) {
+                        // the default table has no primary key, which is needed when using batch insert
+                        String create = isBatchInsert() && DEFAULT_CREATE_STRING.equals(getCreateString()) ? DEFAULT_BATCH_CREATE_STRING : getCreateString();
                         try {
                             log.debug("creating table for JdbcMessageIdRepository because it doesn't exist...");
-                            jdbcTemplate.execute(getCreateString());
-                            log.info("table created with query '{}'", getCreateString());
+                            jdbcTemplate.execute(create);
+                            log.info("table created with query '{}'", create);
                         } catch (DataAccessException dae) {
                             // we will fail if we cannot create it
                             log.error("Can't create table for JdbcMessageIdRepository with query '{}' because of: {}. This may be a permissions problem. Please create this table and try again.",
-                                    getCreateString(), e.getMessage());
+                                    create, e.getMessage());
                             throw dae;
                         }
                     } else {
@@ -95,6 +104,16 @@ public class JdbcMessageIdRepository extends AbstractJdbcMessageIdRepository<Str
         return jdbcTemplate.update(getInsertString(), processorName, key, new Timestamp(System.currentTimeMillis()));
     }
 
+    @Override
+    protected void insert(List<String> keys) {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        List<Object[]> batchArgs = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            batchArgs.add(new Object[]{processorName, key, now});
+        }
+        jdbcTemplate.batchUpdate(getInsertString(), batchArgs);
+    }
+
     @Override
     protected int delete(String key) {
         return jdbcTemplate.update(getDeleteString(), processorName, key);
@@ -0,0 +1,129 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.sql;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import org.apache.camel.CamelExecutionException;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.test.junit4.CamelTestSupport;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+public class SqlProducerBatchChunkTest extends CamelTestSupport {
+
+    private EmbeddedDatabase db;
+    private JdbcTemplate jdbcTemplate;
+
+    @Before
+    public void setUp() throws Exception {
+        db = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.DERBY).addScript("sql/createAndPopulateDatabase.sql").build();
+        jdbcTemplate = new JdbcTemplate(db);
+
+        super.setUp();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        super.tearDown();
+
+        db.shutdown();
+    }
+
+    @Test
+    public void testBatchChunks() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(1);
+        mock.expectedHeaderReceived(SqlConstants.SQL_UPDATE_COUNT, 25);
+        mock.expectedHeaderReceived(SqlConstants.SQL_BATCH_CHUNK_COUNT, 3);
+        mock.expectedHeaderReceived(SqlConstants.SQL_BATCH_ITEM_COUNT, 25);
+
+        template.sendBody("direct:start", new ProjectIterator(100, 25, -1));
+
+        assertMockEndpointsSatisfied();
+
+        assertEquals(Integer.valueOf(3 + 25), jdbcTemplate.queryForObject("select count(*) from projects", Integer.class));
+    }
+
+    @Test
+    public void testBatchChunksCommit() throws Exception {
+        // the last item is a duplicate key so the 3rd chunk fails
+        try {
+            template.sendBody("direct:commit", new ProjectIterator(100, 25, 1));
+            fail("Should have thrown exception");
+        } catch (CamelExecutionException e) {
+            // expected
+        }
+
+        // the first 2 chunks are committed
+        assertEquals(Integer.valueOf(3 + 20), jdbcTemplate.queryForObject("select count(*) from projects", Integer.class));
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            public void configure() {
+                getContext().getComponent("sql", SqlComponent.class).setDataSource(db);
+
+                from("direct:start")
+                    .to("sql:insert into projects values (#, #, #)?batch=true&batchChunkSize=10")
+                    .to("mock:result");
+
+                from("direct:commit")
+                    .to("sql:insert into projects values (#, #, #)?batch=true&batchChunkSize=10&batchChunkCommit=true")
+                    .to("mock:result");
+            }
+        };
+    }
+
+    /**
+     * Lazily creates the rows to insert, as a streaming source would do.
+     */
+    private static final class ProjectIterator implements Iterator<List<Object>> {
+        private final int startId;
+        private final int size;
+        private final int lastId;
+        private int index;
+
+        ProjectIterator(int startId, int size, int lastId) {
+            this.startId = startId;
+            this.size = size;
+            this.lastId = lastId;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < size;
+        }
+
+        @Override
+        public List<Object> next() {
+            index++;
+            int id = index == size && lastId > 0 ? lastId : startId + index;
+            return Arrays.<Object>asList(id, "Project" + index, "ASF");
+        }
+    }
+}
@@ -0,0 +1,67 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.aggregate.jdbc;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.impl.BinaryExchangeHolderCodec;
+import org.apache.camel.impl.DefaultExchange;
+import org.junit.Test;
+
+public class JdbcAggregateBinaryCodecTest extends AbstractJdbcAggregationTestSupport {
+
+    @Test
+    public void testBinaryCodec() {
+        repo.setExchangeHolderCodec(new BinaryExchangeHolderCodec());
+
+        Exchange exchange = new DefaultExchange(context);
+        exchange.getIn().setBody("Hello World");
+        exchange.getIn().setHeader("name", "Olivier");
+        exchange.getIn().setHeader("number", 123);
+        exchange.getIn().setHeader("amount", 45.6d);
+        repo.add(context, "foo", exchange);
+
+        Exchange actual = repo.get(context, "foo");
+        assertEquals("Hello World", actual.getIn().getBody());
+        assertEquals("Olivier", actual.getIn().getHeader("name"));
+        assertEquals(123, actual.getIn().getHeader("number"));
+        assertEquals(45.6d, actual.getIn().getHeader("amount"));
+        assertSame(context, actual.getContext());
+    }
+
+    @Test
+    public void testMigrateFromJavaSerialization() {
+        // store using Java serialization
+        Exchange exchange = new DefaultExchange(context);
+        exchange.getIn().setBody("Hello World");
+        exchange.getIn().setHeader("number", 123);
+        repo.add(context, "bar", exchange);
+
+        // which can still be read when using the binary codec
+        repo.setExchangeHolderCodec(new BinaryExchangeHolderCodec());
+        Exchange actual = repo.get(context, "bar");
+        assertEquals("Hello World", actual.getIn().getBody());
+        assertEquals(123, actual.getIn().getHeader("number"));
+
+        // and is stored using the binary codec when updated
+        actual.getIn().setBody("Bye World");
+        repo.add(context, "bar", actual);
+
+        actual = repo.get(context, "bar");
+        assertEquals("Bye World", actual.getIn().getBody());
+        assertEquals(123, actual.getIn().getHeader("number"));
+    }
+}
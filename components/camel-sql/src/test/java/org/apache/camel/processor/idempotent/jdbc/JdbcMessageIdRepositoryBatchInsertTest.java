@@ -0,0 +1,169 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.idempotent.jdbc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.sql.DataSource;
+
+import org.apache.camel.EndpointInject;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.test.spring.CamelSpringTestSupport;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.context.support.AbstractApplicationContext;
+import org.springframework.context.support.ClassPathXmlApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+public class JdbcMessageIdRepositoryBatchInsertTest extends CamelSpringTestSupport {
+
+    protected static final String SELECT_ALL_STRING = "SELECT messageId FROM BATCH_MESSAGEPROCESSED WHERE processorName = ?";
+    protected static final String PROCESSOR_NAME = "myProcessorName";
+
+    protected DataSource dataSource;
+    protected JdbcTemplate jdbcTemplate;
+    protected JdbcMessageIdRepository repo;
+
+    @EndpointInject(uri = "mock:result")
+    protected MockEndpoint resultEndpoint;
+
+    @EndpointInject(uri = "mock:error")
+    protected MockEndpoint errorEndpoint;
+
+    @Override
+    @Before
+    public void setUp() throws Exception {
+        super.setUp();
+
+        dataSource = context.getRegistry().lookupByNameAndType("dataSource", DataSource.class);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.afterPropertiesSet();
+        repo = context.getRegistry().lookupByNameAndType("messageIdRepository", JdbcMessageIdRepository.class);
+    }
+
+    @Test
+    public void testDuplicateMessagesAreFilteredOut() throws Exception {
+        resultEndpoint.expectedBodiesReceived("one", "two", "three");
+        errorEndpoint.expectedMessageCount(0);
+
+        template.sendBodyAndHeader("direct:start", "one", "messageId", "1");
+        template.sendBodyAndHeader("direct:start", "two", "messageId", "2");
+        template.sendBodyAndHeader("direct:start", "one", "messageId", "1");
+        template.sendBodyAndHeader("direct:start", "two", "messageId", "2");
+        template.sendBodyAndHeader("direct:start", "one", "messageId", "1");
+        template.sendBodyAndHeader("direct:start", "three", "messageId", "3");
+
+        assertMockEndpointsSatisfied();
+
+        List<String> receivedMessageIds = jdbcTemplate.queryForList(SELECT_ALL_STRING, String.class, PROCESSOR_NAME);
+        assertEquals(3, receivedMessageIds.size());
+        assertTrue(receivedMessageIds.contains("1"));
+        assertTrue(receivedMessageIds.contains("2"));
+        assertTrue(receivedMessageIds.contains("3"));
+    }
+
+    @Test
+    public void testDuplicateKeyNotInCache() throws Exception {
+        // insert a key which the local cache does not know about
+        jdbcTemplate.update("INSERT INTO BATCH_MESSAGEPROCESSED (processorName, messageId) VALUES (?, ?)", PROCESSOR_NAME, "4");
+
+        assertTrue(repo.add("5"));
+        assertFalse("Duplicate key should be regarded as already exists", repo.add("4"));
+        assertTrue(repo.contains("4"));
+        assertTrue(repo.remove("4"));
+        assertFalse(repo.contains("4"));
+        assertTrue(repo.add("4"));
+    }
+
+    @Test
+    public void testConcurrentAdd() throws Exception {
+        final int keys = 50;
+        ExecutorService executor = Executors.newFixedThreadPool(10);
+        try {
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                futures.add(executor.submit(new Callable<Integer>() {
+                    public Integer call() throws Exception {
+                        int added = 0;
+                        for (int j = 0; j < keys; j++) {
+                            if (repo.add("key-" + j)) {
+                                added++;
+                            }
+                        }
+                        return added;
+                    }
+                }));
+            }
+
+            int added = 0;
+            for (Future<Integer> future : futures) {
+                added += future.get();
+            }
+            // each key should only be added once
+            assertEquals(keys, added);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<String> receivedMessageIds = jdbcTemplate.queryForList(SELECT_ALL_STRING, String.class, PROCESSOR_NAME);
+        assertEquals(keys, receivedMessageIds.size());
+    }
+
+    @Test
+    public void testDefaultTableHasPrimaryKey() throws Exception {
+        JdbcMessageIdRepository defaultRepo = new JdbcMessageIdRepository(dataSource, PROCESSOR_NAME);
+        defaultRepo.setBatchInsert(true);
+        defaultRepo.start();
+        try {
+            assertTrue(defaultRepo.add("1"));
+            assertFalse("Duplicate key should be regarded as already exists", defaultRepo.add("1"));
+        } finally {
+            defaultRepo.stop();
+        }
+    }
+
+    @Test
+    public void testBatchNotPartOfCallerTransaction() throws Exception {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+
+        transactionTemplate.execute(status -> {
+            assertTrue(repo.add("6"));
+            // a duplicate key must not break the transaction of the caller
+            assertFalse(repo.add("6"));
+            jdbcTemplate.update("INSERT INTO BATCH_MESSAGEPROCESSED (processorName, messageId) VALUES (?, ?)", PROCESSOR_NAME, "7");
+            status.setRollbackOnly();
+            return null;
+        });
+
+        // the key is added even though the caller rolled back
+        List<String> receivedMessageIds = jdbcTemplate.queryForList(SELECT_ALL_STRING, String.class, PROCESSOR_NAME);
+        assertTrue(receivedMessageIds.contains("6"));
+        assertFalse(receivedMessageIds.contains("7"));
+    }
+
+    @Override
+    protected AbstractApplicationContext createApplicationContext() {
+        return new ClassPathXmlApplicationContext("org/apache/camel/processor/idempotent/jdbc/batch-spring.xml");
+    }
+}
@@ -0,0 +1,132 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.itest.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Endpoint;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.impl.DefaultConsumer;
+import org.apache.camel.impl.PooledExchangeFactory;
+import org.junit.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Tests the default {@link org.apache.camel.spi.ExchangeFactory} compared to the pooled.
+ * <p/>
+ * The GC profiler is used to report the allocations per routed message (see <tt>gc.alloc.rate.norm</tt> in the output).
+ */
+public class ExchangeFactoryTest {
+
+    @Test
+    public void launchBenchmark() throws Exception {
+        Options opt = new OptionsBuilder()
+                // Specify which benchmarks to run.
+                // You can be more specific if you'd like to run only one benchmark per test.
+                .include(this.getClass().getName() + ".*")
+                // Set the following options as needed
+                .mode(Mode.AverageTime)
+                .timeUnit(TimeUnit.NANOSECONDS)
+                .warmupTime(TimeValue.seconds(1))
+                .warmupIterations(2)
+                .measurementTime(TimeValue.seconds(5))
+                .measurementIterations(3)
+                .threads(1)
+                .forks(1)
+                .shouldFailOnError(true)
+                .shouldDoGC(true)
+                .addProfiler(GCProfiler.class)
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    // The JMH samples are the best documentation for how to use it
+    // http://hg.openjdk.java.net/code-tools/jmh/file/tip/jmh-samples/src/main/java/org/openjdk/jmh/samples/
+    @State(Scope.Thread)
+    public static class BenchmarkState {
+        @Param({"false", "true"})
+        boolean pooled;
+
+        CamelContext camel;
+        Endpoint endpoint;
+        DefaultConsumer consumer;
+
+        @Setup(Level.Trial)
+        public void initialize() throws Exception {
+            camel = new DefaultCamelContext();
+            if (pooled) {
+                camel.setExchangeFactory(new PooledExchangeFactory());
+            }
+            camel.addRoutes(new RouteBuilder() {
+                @Override
+                public void configure() throws Exception {
+                    from("direct:start").routeId("start")
+                        .setHeader("foo", constant("bar"));
+                }
+            });
+            camel.start();
+
+            endpoint = camel.getEndpoint("direct:start");
+            consumer = (DefaultConsumer) camel.getRoute("start").getConsumer();
+        }
+
+        @TearDown(Level.Trial)
+        public void close() {
+            try {
+                camel.stop();
+            } catch (Exception e) {
+                // ignore
+            }
+        }
+    }
+
+    @Benchmark
+    public void createExchange(BenchmarkState state, Blackhole bh) {
+        Exchange exchange = state.endpoint.createExchange();
+        exchange.getIn().setHeader("counter", 1);
+        exchange.getIn().setBody("Hello World");
+        bh.consume(exchange.getExchangeId());
+        state.consumer.releaseExchange(exchange);
+    }
+
+    @Benchmark
+    public void routeExchange(BenchmarkState state, Blackhole bh) throws Exception {
+        // route the exchange as a consumer would do, and then release it
+        Exchange exchange = state.endpoint.createExchange();
+        exchange.getIn().setBody("Hello World");
+        state.consumer.getProcessor().process(exchange);
+        bh.consume(exchange.getIn().getHeader("foo"));
+        state.consumer.releaseExchange(exchange);
+    }
+}
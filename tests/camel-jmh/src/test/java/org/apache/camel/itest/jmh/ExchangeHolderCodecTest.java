@@ -0,0 +1,167 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.itest.jmh;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.impl.BinaryExchangeHolderCodec;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.impl.DefaultExchange;
+import org.apache.camel.impl.DefaultExchangeHolder;
+import org.apache.camel.spi.ExchangeHolderCodec;
+import org.apache.camel.util.CamelObjectInputStream;
+import org.junit.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Tests encoding and decoding a {@link DefaultExchangeHolder} as done by the aggregation repositories,
+ * using Java serialization and the {@link BinaryExchangeHolderCodec}.
+ */
+public class ExchangeHolderCodecTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ExchangeHolderCodecTest.class);
+
+    @Test
+    public void launchBenchmark() throws Exception {
+        Options opt = new OptionsBuilder()
+                // Specify which benchmarks to run.
+                // You can be more specific if you'd like to run only one benchmark per test.
+                .include(this.getClass().getName() + ".*")
+                // Set the following options as needed
+                .mode(Mode.Throughput)
+                .timeUnit(TimeUnit.MILLISECONDS)
+                .warmupTime(TimeValue.seconds(1))
+                .warmupIterations(2)
+                .measurementTime(TimeValue.seconds(2))
+                .measurementIterations(2)
+                .threads(1)
+                .forks(1)
+                .shouldFailOnError(true)
+                .shouldDoGC(true)
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    // The JMH samples are the best documentation for how to use it
+    // http://hg.openjdk.java.net/code-tools/jmh/file/tip/jmh-samples/src/main/java/org/openjdk/jmh/samples/
+    @State(Scope.Benchmark)
+    public static class BenchmarkState {
+        @Param({"java", "binary"})
+        String type;
+
+        CamelContext camel;
+        ExchangeHolderCodec codec;
+        DefaultExchangeHolder holder;
+        byte[] data;
+
+        @Setup(Level.Trial)
+        public void initialize() throws Exception {
+            camel = new DefaultCamelContext();
+            camel.start();
+
+            if ("binary".equals(type)) {
+                codec = new BinaryExchangeHolderCodec();
+            } else {
+                codec = new JavaSerializationCodec();
+            }
+
+            Exchange exchange = new DefaultExchange(camel);
+            exchange.getIn().setBody("Hello World from an aggregated exchange");
+            exchange.getIn().setHeader("orderId", 123456);
+            exchange.getIn().setHeader("customer", "Camel Rider");
+            exchange.getIn().setHeader("amount", 123.45d);
+            exchange.getIn().setHeader("express", true);
+            exchange.getIn().setHeader("created", new Date());
+            exchange.setProperty(Exchange.AGGREGATED_SIZE, 5);
+            exchange.setProperty(Exchange.AGGREGATED_CORRELATION_KEY, "order-123456");
+            holder = DefaultExchangeHolder.marshal(exchange);
+
+            data = codec.encode(holder);
+            LOG.info("Encoded exchange using {} codec to {} bytes", type, data.length);
+        }
+
+        @TearDown(Level.Trial)
+        public void close() {
+            try {
+                camel.stop();
+            } catch (Exception e) {
+                // ignore
+            }
+        }
+    }
+
+    @Benchmark
+    public void encode(BenchmarkState state, Blackhole bh) throws Exception {
+        bh.consume(state.codec.encode(state.holder));
+    }
+
+    @Benchmark
+    public void decode(BenchmarkState state, Blackhole bh) throws Exception {
+        bh.consume(state.codec.decode(state.camel, state.data));
+    }
+
+    /**
+     * Java serialization as used by the aggregation repositories when no codec is configured.
+     */
+    private static final class JavaSerializationCodec implements ExchangeHolderCodec {
+
+        @Override
+        public byte[] encode(DefaultExchangeHolder holder) throws IOException {
+            ByteArrayOutputStream bos = new ByteArrayOutputStream();
+            try (ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+                oos.writeObject(holder);
+            }
+            return bos.toByteArray();
+        }
+
+        @Override
+        public boolean canDecode(byte[] data) {
+            return true;
+        }
+
+        @Override
+        public DefaultExchangeHolder decode(CamelContext camelContext, byte[] data) throws IOException, ClassNotFoundException {
+            try (ObjectInputStream ois = new CamelObjectInputStream(new ByteArrayInputStream(data), camelContext)) {
+                return (DefaultExchangeHolder) ois.readObject();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,117 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.itest.jmh;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.processor.idempotent.ConcurrentMemoryIdempotentRepository;
+import org.apache.camel.processor.idempotent.MemoryIdempotentRepository;
+import org.apache.camel.spi.IdempotentRepository;
+import org.junit.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Tests the memory based {@link IdempotentRepository} implementations with an increasing number of threads
+ */
+public class IdempotentRepositoryTest {
+
+    @Test
+    public void launchBenchmark() throws Exception {
+        for (int threads : new int[]{1, 4, 16, 32, 64}) {
+            Options opt = new OptionsBuilder()
+                    // Specify which benchmarks to run.
+                    // You can be more specific if you'd like to run only one benchmark per test.
+                    .include(this.getClass().getName() + ".*")
+                    // Set the following options as needed
+                    .mode(Mode.Throughput)
+                    .timeUnit(TimeUnit.MILLISECONDS)
+                    .warmupTime(TimeValue.seconds(1))
+                    .warmupIterations(2)
+                    .measurementTime(TimeValue.seconds(2))
+                    .measurementIterations(2)
+                    .threads(threads)
+                    .forks(1)
+                    .shouldFailOnError(true)
+                    .shouldDoGC(true)
+                    .build();
+
+            new Runner(opt).run();
+        }
+    }
+
+    // The JMH samples are the best documentation for how to use it
+    // http://hg.openjdk.java.net/code-tools/jmh/file/tip/jmh-samples/src/main/java/org/openjdk/jmh/samples/
+    @State(Scope.Benchmark)
+    public static class BenchmarkState {
+        @Param({"memory", "concurrent"})
+        String type;
+
+        IdempotentRepository<String> repo;
+        String[] keys;
+
+        @Setup(Level.Trial)
+        public void initialize() throws Exception {
+            if ("memory".equals(type)) {
+                repo = MemoryIdempotentRepository.memoryIdempotentRepository(10000);
+            } else {
+                repo = ConcurrentMemoryIdempotentRepository.concurrentMemoryIdempotentRepository(10000);
+            }
+            repo.start();
+
+            // use twice as many keys as the cache can hold so there are both hits, misses and evictions
+            keys = new String[20000];
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = "key-" + i;
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void close() {
+            try {
+                repo.stop();
+            } catch (Exception e) {
+                // ignore
+            }
+        }
+    }
+
+    @Benchmark
+    public void add(BenchmarkState state, Blackhole bh) {
+        String key = state.keys[ThreadLocalRandom.current().nextInt(state.keys.length)];
+        bh.consume(state.repo.add(key));
+    }
+
+    @Benchmark
+    public void contains(BenchmarkState state, Blackhole bh) {
+        String key = state.keys[ThreadLocalRandom.current().nextInt(state.keys.length)];
+        bh.consume(state.repo.contains(key));
+    }
+
+}
@@ -20,6 +20,8 @@ import java.util.concurrent.TimeUnit;
 
 import org.apache.camel.CamelContext;
 import org.apache.camel.Exchange;
+import org.apache.camel.Expression;
+import org.apache.camel.Predicate;
 import org.apache.camel.impl.DefaultCamelContext;
 import org.apache.camel.impl.DefaultExchange;
 import org.apache.camel.spi.Language;
@@ -28,6 +30,7 @@ import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.Level;
 import org.openjdk.jmh.annotations.Measurement;
 import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
@@ -39,7 +42,7 @@ import org.openjdk.jmh.runner.options.OptionsBuilder;
 import org.openjdk.jmh.runner.options.TimeValue;
 
 /**
- * Tests a Simple expression
+ * Tests a Simple expression, and the Simple language in interpreted vs compiled mode
  */
 public class SimpleExpressionTest {
 
@@ -109,4 +112,106 @@ public class SimpleExpressionTest {
         bh.consume(out);
     }
 
+    // the simple language in interpreted vs compiled mode
+    @State(Scope.Thread)
+    public static class CompiledBenchmarkState {
+        @Param({"false", "true"})
+        boolean compiled;
+
+        CamelContext camel;
+        Exchange exchange;
+        Expression header;
+        Expression ognl;
+        Predicate predicate;
+
+        @Setup(Level.Trial)
+        public void initialize() {
+            camel = new DefaultCamelContext();
+            camel.getGlobalOptions().put(Exchange.SIMPLE_COMPILED, Boolean.toString(compiled));
+            try {
+                camel.start();
+                exchange = new DefaultExchange(camel);
+                exchange.getIn().setHeader("foo", "bar");
+                exchange.getIn().setBody(new Customer("Donald", new Address("Duckburg")));
+
+                Language simple = camel.resolveLanguage("simple");
+                header = simple.createExpression("Hello ${header.foo}");
+                ognl = simple.createExpression("${body.address.city}");
+                predicate = simple.createPredicate("${header.foo} == 'bar'");
+            } catch (Exception e) {
+                // ignore
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void close() {
+            try {
+                camel.stop();
+            } catch (Exception e) {
+                // ignore
+            }
+        }
+
+    }
+
+    @Benchmark
+    @Measurement(batchSize = 1000)
+    public void headerExpression(CompiledBenchmarkState state, Blackhole bh) {
+        String out = state.header.evaluate(state.exchange, String.class);
+        if (!out.equals("Hello bar")) {
+            throw new IllegalArgumentException("Evaluation failed");
+        }
+        bh.consume(out);
+    }
+
+    @Benchmark
+    @Measurement(batchSize = 1000)
+    public void ognlExpression(CompiledBenchmarkState state, Blackhole bh) {
+        String out = state.ognl.evaluate(state.exchange, String.class);
+        if (!out.equals("Duckburg")) {
+            throw new IllegalArgumentException("Evaluation failed");
+        }
+        bh.consume(out);
+    }
+
+    @Benchmark
+    @Measurement(batchSize = 1000)
+    public void predicate(CompiledBenchmarkState state, Blackhole bh) {
+        boolean out = state.predicate.matches(state.exchange);
+        if (!out) {
+            throw new IllegalArgumentException("Evaluation failed");
+        }
+        bh.consume(out);
+    }
+
+    public static final class Customer {
+        private final String name;
+        private final Address address;
+
+        public Customer(String name, Address address) {
+            this.name = name;
+            this.address = address;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Address getAddress() {
+            return address;
+        }
+    }
+
+    public static final class Address {
+        private final String city;
+
+        public Address(String city) {
+            this.city = city;
+        }
+
+        public String getCity() {
+            return city;
+        }
+    }
+
 }
@@ -0,0 +1,145 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.itest.jmh;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.component.sql.SqlComponent;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.junit.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+/**
+ * Tests the SQL producer in batch mode inserting a large number of rows from a streaming iterator,
+ * using a single batch compared to executing the batch in chunks.
+ */
+public class SqlBatchChunkTest {
+
+    private static final int ROWS = 100000;
+
+    @Test
+    public void launchBenchmark() throws Exception {
+        Options opt = new OptionsBuilder()
+                // Specify which benchmarks to run.
+                // You can be more specific if you'd like to run only one benchmark per test.
+                .include(this.getClass().getName() + ".*")
+                // Set the following options as needed
+                .mode(Mode.SingleShotTime)
+                .timeUnit(TimeUnit.MILLISECONDS)
+                .warmupIterations(2)
+                .measurementIterations(5)
+                .threads(1)
+                .forks(1)
+                .shouldFailOnError(true)
+                .shouldDoGC(true)
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    // The JMH samples are the best documentation for how to use it
+    // http://hg.openjdk.java.net/code-tools/jmh/file/tip/jmh-samples/src/main/java/org/openjdk/jmh/samples/
+    @State(Scope.Benchmark)
+    public static class BenchmarkState {
+        @Param({"0", "1000"})
+        int batchChunkSize;
+
+        EmbeddedDatabase db;
+        JdbcTemplate jdbcTemplate;
+        CamelContext camel;
+        ProducerTemplate producer;
+        String uri;
+
+        @Setup(Level.Trial)
+        public void initialize() throws Exception {
+            db = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.DERBY).build();
+            jdbcTemplate = new JdbcTemplate(db);
+            jdbcTemplate.execute("create table benchmark (id integer primary key, name varchar(20))");
+
+            camel = new DefaultCamelContext();
+            camel.getComponent("sql", SqlComponent.class).setDataSource(db);
+            camel.start();
+            producer = camel.createProducerTemplate();
+            uri = "sql:insert into benchmark values (#, #)?batch=true&batchChunkSize=" + batchChunkSize;
+        }
+
+        @Setup(Level.Iteration)
+        public void clear() {
+            jdbcTemplate.execute("delete from benchmark");
+        }
+
+        @TearDown(Level.Trial)
+        public void close() {
+            try {
+                producer.stop();
+                camel.stop();
+            } catch (Exception e) {
+                // ignore
+            }
+            db.shutdown();
+        }
+    }
+
+    @Benchmark
+    public void insert(BenchmarkState state, Blackhole bh) {
+        bh.consume(state.producer.requestBody(state.uri, new RowIterator(ROWS)));
+    }
+
+    /**
+     * Lazily creates the rows to insert, as a streaming source would do.
+     */
+    private static final class RowIterator implements Iterator<List<Object>> {
+        private final int size;
+        private int index;
+
+        RowIterator(int size) {
+            this.size = size;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < size;
+        }
+
+        @Override
+        public List<Object> next() {
+            index++;
+            return Arrays.<Object>asList(index, "row-" + index);
+        }
+    }
+
+}
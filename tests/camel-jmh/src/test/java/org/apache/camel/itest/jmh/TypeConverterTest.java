@@ -20,6 +20,8 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 import org.w3c.dom.Document;
@@ -77,6 +79,7 @@ public class TypeConverterTest {
         String someIntegerString = String.valueOf(someInteger);
         String xmlAsString;
         byte[] xmlAsBytes;
+        List<String> someList = new ArrayList<>();
 
         CamelContext camel;
 
@@ -91,6 +94,8 @@ public class TypeConverterTest {
 
             xmlAsString = IOHelper.loadText(getClass().getClassLoader().getResourceAsStream("sample_soap.xml"));
             xmlAsBytes = xmlAsString.getBytes(StandardCharsets.UTF_8);
+            someList.add("Hello");
+            someList.add("World");
         }
 
         @TearDown(Level.Trial)
@@ -151,4 +156,18 @@ public class TypeConverterTest {
         String string = state.camel.getTypeConverter().convertTo(String.class, state.xmlAsBytes);
         bh.consume(string);
     }
+
+    @Benchmark
+    public void typeConvertListToArray(BenchmarkCamelContextState state, Blackhole bh) {
+        // uses a type converter from the registry (not an optimised core converter)
+        Object[] array = state.camel.getTypeConverter().convertTo(Object[].class, state.someList);
+        bh.consume(array);
+    }
+
+    @Benchmark
+    public void typeConvertMiss(BenchmarkCamelContextState state, Blackhole bh) {
+        // there is no type converter for this conversion, so its a miss
+        BenchmarkCamelContextState miss = state.camel.getTypeConverter().convertTo(BenchmarkCamelContextState.class, state.someInteger);
+        bh.consume(miss);
+    }
 }